@@ -3,6 +3,7 @@ package com.psicoagenda.api.controller;
 import com.psicoagenda.application.dto.request.AdminAppointmentRequest;
 import com.psicoagenda.application.dto.request.UpdateAppointmentStatusRequest;
 import com.psicoagenda.application.dto.response.AppointmentResponse;
+import com.psicoagenda.application.dto.response.CursorPage;
 import com.psicoagenda.application.service.AppointmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,16 +28,15 @@ public class AdminAppointmentController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar agendamentos", description = "Lista agendamentos em um período")
-    public ResponseEntity<List<AppointmentResponse>> getAppointments(
+    @Operation(summary = "Listar agendamentos", description = "Lista agendamentos em um período, paginados por cursor")
+    public ResponseEntity<CursorPage<AppointmentResponse>> getAppointments(
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
-        @RequestParam(defaultValue = "false") boolean includeAll
+        @RequestParam(defaultValue = "false") boolean includeAll,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit
     ) {
-        if (includeAll) {
-            return ResponseEntity.ok(appointmentService.getAppointmentsInRange(start, end));
-        }
-        return ResponseEntity.ok(appointmentService.getActiveAppointmentsInRange(start, end));
+        return ResponseEntity.ok(appointmentService.getAppointmentsInRange(start, end, includeAll, cursor, limit));
     }
 
     @GetMapping("/upcoming")
@@ -1,23 +1,32 @@
 package com.psicoagenda.api.controller;
 
 import com.psicoagenda.application.dto.response.DashboardResponse;
+import com.psicoagenda.application.dto.response.PeriodStatsResponse;
+import com.psicoagenda.application.exception.ValidationException;
+import com.psicoagenda.application.service.DailyStatsService;
 import com.psicoagenda.application.service.DashboardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/admin/dashboard")
 @Tag(name = "Admin - Dashboard", description = "Dashboard administrativo")
 public class AdminDashboardController {
 
     private final DashboardService dashboardService;
+    private final DailyStatsService dailyStatsService;
 
-    public AdminDashboardController(DashboardService dashboardService) {
+    public AdminDashboardController(DashboardService dashboardService, DailyStatsService dailyStatsService) {
         this.dashboardService = dashboardService;
+        this.dailyStatsService = dailyStatsService;
     }
 
     @GetMapping
@@ -25,4 +34,16 @@ public class AdminDashboardController {
     public ResponseEntity<DashboardResponse> getDashboard() {
         return ResponseEntity.ok(dashboardService.getDashboard());
     }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Estatísticas do período", description = "Totais de atendimentos e receita entre start (inclusive) e end (exclusive)")
+    public ResponseEntity<PeriodStatsResponse> getPeriodStats(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end
+    ) {
+        if (!end.isAfter(start)) {
+            throw new ValidationException("A data final deve ser posterior à data inicial");
+        }
+        return ResponseEntity.ok(PeriodStatsResponse.from(start, end, dailyStatsService.getTotals(start, end)));
+    }
 }
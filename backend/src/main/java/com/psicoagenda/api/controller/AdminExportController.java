@@ -0,0 +1,83 @@
+package com.psicoagenda.api.controller;
+
+import com.psicoagenda.application.exception.ValidationException;
+import com.psicoagenda.application.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/admin/exports")
+@Tag(name = "Admin - Exportações", description = "Exportação de dados para contabilidade")
+public class AdminExportController {
+
+    private static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType GZIP = new MediaType("application", "gzip");
+
+    private final ExportService exportService;
+
+    public AdminExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/appointments")
+    @Operation(summary = "Exportar agendamentos", description = "CSV dos agendamentos entre start (inclusive) e end (exclusive)")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+        @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        validateRange(start, end);
+        return stream("agendamentos", start, end, gzip,
+            out -> exportService.writeAppointments(start.atStartOfDay(), end.atStartOfDay(), out));
+    }
+
+    @GetMapping("/payments")
+    @Operation(summary = "Exportar pagamentos", description = "CSV dos pagamentos dos atendimentos entre start (inclusive) e end (exclusive)")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+        @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        validateRange(start, end);
+        return stream("pagamentos", start, end, gzip,
+            out -> exportService.writePayments(start.atStartOfDay(), end.atStartOfDay(), out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, LocalDate start, LocalDate end, boolean gzip,
+                                                         StreamingResponseBody body) {
+        String filename = name + "_" + start + "_" + end + (gzip ? ".csv.gz" : ".csv");
+        StreamingResponseBody response = !gzip ? body : out -> {
+            // Compressed as it is written, nothing is buffered beyond the deflater window
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+            body.writeTo(compressed);
+            // finish() rather than close(): the container owns the response stream
+            compressed.finish();
+        };
+
+        return ResponseEntity.ok()
+            .contentType(gzip ? GZIP : CSV)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString())
+            .body(response);
+    }
+
+    private void validateRange(LocalDate start, LocalDate end) {
+        if (!end.isAfter(start)) {
+            throw new ValidationException("A data final deve ser posterior à data inicial");
+        }
+    }
+}
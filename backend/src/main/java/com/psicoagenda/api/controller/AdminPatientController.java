@@ -1,6 +1,8 @@
 package com.psicoagenda.api.controller;
 
+import com.psicoagenda.application.dto.response.CursorPage;
 import com.psicoagenda.application.dto.response.PatientResponse;
+import com.psicoagenda.application.dto.response.PatientSuggestionResponse;
 import com.psicoagenda.application.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -22,15 +24,33 @@ public class AdminPatientController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar pacientes", description = "Lista todos os pacientes ativos")
-    public ResponseEntity<List<PatientResponse>> getAllPatients() {
-        return ResponseEntity.ok(patientService.getAllActivePatients());
+    @Operation(summary = "Listar pacientes", description = "Lista os pacientes ativos, sem dados de contato, paginados por cursor")
+    public ResponseEntity<CursorPage<PatientResponse>> getAllPatients(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(patientService.getActivePatients(cursor, limit));
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Buscar pacientes", description = "Busca pacientes por nome")
-    public ResponseEntity<List<PatientResponse>> searchPatients(@RequestParam String name) {
-        return ResponseEntity.ok(patientService.searchPatients(name));
+    @Operation(summary = "Buscar pacientes",
+               description = "Busca pacientes por nome, sem diferenciar acentos, paginada por cursor")
+    public ResponseEntity<CursorPage<PatientResponse>> searchPatients(
+        @RequestParam String name,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(patientService.searchPatients(name, cursor, limit));
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Sugestões de pacientes",
+               description = "Sugere pacientes ativos pelo início das palavras do nome, para preenchimento automático")
+    public ResponseEntity<List<PatientSuggestionResponse>> autocomplete(
+        @RequestParam String q,
+        @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(patientService.autocomplete(q, limit));
     }
 
     @GetMapping("/{id}")
@@ -1,8 +1,10 @@
 package com.psicoagenda.api.controller;
 
 import com.psicoagenda.application.dto.request.PaymentUpdateRequest;
+import com.psicoagenda.application.dto.response.CursorPage;
 import com.psicoagenda.application.dto.response.PaymentResponse;
 import com.psicoagenda.application.service.PaymentService;
+import com.psicoagenda.domain.enums.PaymentMethod;
 import com.psicoagenda.domain.enums.PaymentStatus;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,15 +29,22 @@ public class AdminPaymentController {
     }
 
     @GetMapping("/pending")
-    @Operation(summary = "Pagamentos pendentes", description = "Lista pagamentos não realizados")
-    public ResponseEntity<List<PaymentResponse>> getPendingPayments() {
-        return ResponseEntity.ok(paymentService.getPendingPayments());
+    @Operation(summary = "Pagamentos pendentes", description = "Lista pagamentos não realizados, paginados por cursor")
+    public ResponseEntity<CursorPage<PaymentResponse>> getPendingPayments(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(paymentService.getPendingPayments(cursor, limit));
     }
 
     @GetMapping("/status/{status}")
-    @Operation(summary = "Pagamentos por status", description = "Lista pagamentos por status")
-    public ResponseEntity<List<PaymentResponse>> getPaymentsByStatus(@PathVariable PaymentStatus status) {
-        return ResponseEntity.ok(paymentService.getPaymentsByStatus(status));
+    @Operation(summary = "Pagamentos por status", description = "Lista pagamentos por status, paginados por cursor")
+    public ResponseEntity<CursorPage<PaymentResponse>> getPaymentsByStatus(
+        @PathVariable PaymentStatus status,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(paymentService.getPaymentsByStatus(status, cursor, limit));
     }
 
     @GetMapping("/range")
@@ -72,9 +81,10 @@ public class AdminPaymentController {
     @Operation(summary = "Marcar como pago", description = "Marca um pagamento como pago")
     public ResponseEntity<PaymentResponse> markAsPaid(
         @PathVariable UUID appointmentId,
-        @RequestParam(required = false) String receiptNumber
+        @RequestParam(required = false) String receiptNumber,
+        @RequestParam(required = false) PaymentMethod paymentMethod
     ) {
-        return ResponseEntity.ok(paymentService.markAsPaid(appointmentId, receiptNumber));
+        return ResponseEntity.ok(paymentService.markAsPaid(appointmentId, receiptNumber, paymentMethod));
     }
 
     @PostMapping("/appointment/{appointmentId}/waive")
@@ -87,7 +97,7 @@ public class AdminPaymentController {
     }
 
     @GetMapping("/generate-receipt-number")
-    @Operation(summary = "Gerar número de recibo", description = "Gera um número de recibo sequencial")
+    @Operation(summary = "Próximo número de recibo", description = "Mostra o próximo número de recibo do ano; o número é atribuído ao marcar o pagamento como pago")
     public ResponseEntity<String> generateReceiptNumber() {
         return ResponseEntity.ok(paymentService.generateReceiptNumber());
     }
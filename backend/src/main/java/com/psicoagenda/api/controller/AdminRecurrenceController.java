@@ -3,6 +3,7 @@ package com.psicoagenda.api.controller;
 import com.psicoagenda.application.dto.request.RecurringSeriesRequest;
 import com.psicoagenda.application.dto.response.AppointmentResponse;
 import com.psicoagenda.application.dto.response.ConflictCheckResponse;
+import com.psicoagenda.application.dto.response.CursorPage;
 import com.psicoagenda.application.dto.response.RecurringSeriesResponse;
 import com.psicoagenda.application.service.RecurrenceService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,7 +12,6 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -26,9 +26,12 @@ public class AdminRecurrenceController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar séries", description = "Lista todas as séries recorrentes ativas")
-    public ResponseEntity<List<RecurringSeriesResponse>> getAllSeries() {
-        return ResponseEntity.ok(recurrenceService.getAllActiveSeries());
+    @Operation(summary = "Listar séries", description = "Lista as séries recorrentes ativas, paginadas por cursor")
+    public ResponseEntity<CursorPage<RecurringSeriesResponse>> getAllSeries(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(recurrenceService.getActiveSeries(cursor, limit));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,55 @@
+package com.psicoagenda.api.controller;
+
+import com.psicoagenda.application.dto.response.FinancialReportResponse;
+import com.psicoagenda.application.dto.response.OccupancyResponse;
+import com.psicoagenda.application.service.FinancialReportService;
+import com.psicoagenda.application.service.OccupancyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/admin/reports")
+@Tag(name = "Admin - Relatórios", description = "Relatórios financeiros")
+public class AdminReportController {
+
+    private final FinancialReportService financialReportService;
+    private final OccupancyService occupancyService;
+
+    public AdminReportController(FinancialReportService financialReportService, OccupancyService occupancyService) {
+        this.financialReportService = financialReportService;
+        this.occupancyService = occupancyService;
+    }
+
+    @GetMapping("/financial")
+    @Operation(summary = "Relatório financeiro",
+               description = "Receita por mês, tipo de sessão e forma de pagamento, recebíveis por idade e saldos por paciente. " +
+                             "Padrão: do início do ano até o mês atual")
+    public ResponseEntity<FinancialReportResponse> getFinancialReport(
+        @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+        @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to
+    ) {
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.withMonth(1);
+        return ResponseEntity.ok(financialReportService.getFinancialReport(start, end));
+    }
+
+    @GetMapping("/occupancy")
+    @Operation(summary = "Mapa de ocupação",
+               description = "Ocupação por dia da semana e hora entre from (inclusive) e to (exclusive), " +
+                             "com taxas de cancelamento e falta")
+    public ResponseEntity<OccupancyResponse> getOccupancy(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(occupancyService.getOccupancy(from, to));
+    }
+}
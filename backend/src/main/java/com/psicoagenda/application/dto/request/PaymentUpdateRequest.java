@@ -1,5 +1,6 @@
 package com.psicoagenda.application.dto.request;
 
+import com.psicoagenda.domain.enums.PaymentMethod;
 import com.psicoagenda.domain.enums.PaymentStatus;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -13,6 +14,8 @@ public record PaymentUpdateRequest(
 
     LocalDateTime paidAt,
 
+    PaymentMethod paymentMethod,
+
     BigDecimal amount,
 
     @Size(max = 100, message = "Número do recibo deve ter no máximo 100 caracteres")
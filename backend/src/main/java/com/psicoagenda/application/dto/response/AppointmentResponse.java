@@ -3,6 +3,7 @@ package com.psicoagenda.application.dto.response;
 import com.psicoagenda.domain.entity.Appointment;
 import com.psicoagenda.domain.enums.AppointmentStatus;
 import com.psicoagenda.domain.enums.PaymentStatus;
+import com.psicoagenda.domain.repository.projection.AppointmentSummary;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -62,6 +63,45 @@ public record AppointmentResponse(
         );
     }
 
+    /**
+     * List view of an appointment: the patient carries no contact data
+     */
+    public static AppointmentResponse from(AppointmentSummary summary) {
+        PaymentInfo paymentInfo = null;
+        if (summary.paymentId() != null) {
+            paymentInfo = new PaymentInfo(
+                summary.paymentId(),
+                summary.paymentStatus(),
+                summary.paymentAmount(),
+                summary.paidAt(),
+                summary.receiptNumber()
+            );
+        }
+
+        return new AppointmentResponse(
+            summary.appointmentId(),
+            PatientResponse.summary(
+                summary.patientId(),
+                summary.patientName(),
+                summary.patientActive(),
+                summary.patientAnonymized(),
+                summary.patientCreatedAt()
+            ),
+            SessionTypeResponse.from(summary.sessionType()),
+            summary.recurringSeriesId(),
+            summary.startDateTime(),
+            summary.endDateTime(),
+            summary.status(),
+            summary.sessionLink(),
+            summary.cancellationToken(),
+            summary.cancelledAt(),
+            summary.cancelledBy(),
+            summary.cancellationReason(),
+            paymentInfo,
+            summary.createdAt()
+        );
+    }
+
     public static AppointmentResponse fromWithoutToken(Appointment entity) {
         AppointmentResponse full = from(entity);
         return new AppointmentResponse(
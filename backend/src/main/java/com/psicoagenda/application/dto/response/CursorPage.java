@@ -0,0 +1,81 @@
+package com.psicoagenda.application.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.psicoagenda.application.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is opaque to clients: pass it
+ * back unchanged to get the following page; it is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+    private static final String INVALID_CURSOR = "Cursor de paginação inválido";
+
+    @JsonProperty("hasMore")
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Encode the sort key of the last item into an opaque cursor
+     */
+    public static String encodeCursor(Object... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (Object key : keys) {
+            if (!raw.isEmpty()) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into its sort key; the parser gets the parts in the order they were encoded
+     * @throws ValidationException if the cursor was not produced by {@link #encodeCursor}
+     */
+    public static <K> K decodeCursor(String cursor, int expectedParts, Function<String[], K> parser) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The last part may itself contain the separator
+            String[] parts = raw.split(Pattern.quote(SEPARATOR), expectedParts);
+            if (parts.length != expectedParts) {
+                throw new ValidationException(INVALID_CURSOR);
+            }
+            return parser.apply(parts);
+        } catch (RuntimeException e) {
+            if (e instanceof ValidationException) {
+                throw e;
+            }
+            throw new ValidationException(INVALID_CURSOR);
+        }
+    }
+
+    /**
+     * Build a page from rows fetched with a limit of {@code pageSize + 1}: the extra row only
+     * signals that a next page exists
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int pageSize,
+                                          Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+
+    /**
+     * Clamp a requested page size to [1, max]
+     */
+    public static int pageSize(int requested, int max) {
+        return Math.max(1, Math.min(requested, max));
+    }
+}
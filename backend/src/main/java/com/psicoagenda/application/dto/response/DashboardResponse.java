@@ -1,13 +1,29 @@
 package com.psicoagenda.application.dto.response;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 public record DashboardResponse(
     List<AppointmentResponse> todayAppointments,
     List<AppointmentResponse> upcomingAppointments,
-    Statistics statistics
+    Statistics statistics,
+    Instant generatedAt,
+    long cacheAgeMs
 ) {
+    public DashboardResponse(List<AppointmentResponse> todayAppointments,
+                             List<AppointmentResponse> upcomingAppointments,
+                             Statistics statistics) {
+        this(List.copyOf(todayAppointments), List.copyOf(upcomingAppointments), statistics, Instant.now(), 0);
+    }
+
+    /**
+     * Same data, stamped with when it was computed and how old it is now
+     */
+    public DashboardResponse withCacheAge(Instant generatedAt, long cacheAgeMs) {
+        return new DashboardResponse(todayAppointments, upcomingAppointments, statistics, generatedAt, cacheAgeMs);
+    }
+
     public record Statistics(
         long totalAppointmentsToday,
         long totalAppointmentsThisWeek,
@@ -0,0 +1,52 @@
+package com.psicoagenda.application.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+public record FinancialReportResponse(
+    YearMonth from,
+    YearMonth to,
+    BigDecimal totalRevenue,
+    List<MonthRevenue> months,
+    List<RevenueShare> bySessionType,
+    List<RevenueShare> byPaymentMethod,
+    BigDecimal totalReceivables,
+    List<AgingBucket> receivablesAging,
+    List<PatientBalance> patientBalances,
+    LocalDateTime generatedAt
+) {
+    public record MonthRevenue(
+        YearMonth month,
+        BigDecimal revenue,
+        long payments,
+        BigDecimal cumulativeRevenue,
+        BigDecimal previousYearRevenue
+    ) {}
+
+    public record RevenueShare(
+        String key,
+        BigDecimal revenue,
+        long payments,
+        BigDecimal share
+    ) {}
+
+    public record AgingBucket(
+        String range,
+        long payments,
+        BigDecimal amount,
+        BigDecimal share
+    ) {}
+
+    public record PatientBalance(
+        long rank,
+        UUID patientId,
+        String patientName,
+        long sessions,
+        BigDecimal outstanding,
+        int oldestDays,
+        BigDecimal cumulativeShare
+    ) {}
+}
@@ -0,0 +1,32 @@
+package com.psicoagenda.application.dto.response;
+
+import com.psicoagenda.domain.enums.DayOfWeekEnum;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record OccupancyResponse(
+    LocalDate from,
+    LocalDate to,
+    long availableMinutes,
+    long bookedMinutes,
+    long occupiedMinutes,
+    double utilization,
+    List<Cell> cells
+) {
+    /**
+     * One weekday × hour cell. Occupied minutes are booked minutes inside free availability;
+     * booked minutes beyond them fell outside the availability grid.
+     */
+    public record Cell(
+        DayOfWeekEnum dayOfWeek,
+        int hour,
+        long availableMinutes,
+        long bookedMinutes,
+        long occupiedMinutes,
+        double utilization,
+        int appointments,
+        double cancellationRate,
+        double noShowRate
+    ) {}
+}
@@ -26,6 +26,14 @@ public record PatientResponse(
         );
     }
 
+    /**
+     * Patient reference for list views, without contact data
+     */
+    public static PatientResponse summary(UUID id, String name, boolean active, boolean anonymized,
+                                          LocalDateTime createdAt) {
+        return new PatientResponse(id, name, null, null, active, anonymized, createdAt);
+    }
+
     public static PatientResponse fromPublic(Patient entity) {
         // For public responses, mask contact info
         return new PatientResponse(
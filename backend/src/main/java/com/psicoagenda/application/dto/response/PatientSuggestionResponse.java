@@ -0,0 +1,8 @@
+package com.psicoagenda.application.dto.response;
+
+import java.util.UUID;
+
+public record PatientSuggestionResponse(
+    UUID id,
+    String name
+) {}
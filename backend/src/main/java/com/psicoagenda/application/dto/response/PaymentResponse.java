@@ -1,6 +1,7 @@
 package com.psicoagenda.application.dto.response;
 
 import com.psicoagenda.domain.entity.Payment;
+import com.psicoagenda.domain.enums.PaymentMethod;
 import com.psicoagenda.domain.enums.PaymentStatus;
 
 import java.math.BigDecimal;
@@ -13,6 +14,7 @@ public record PaymentResponse(
     PaymentStatus status,
     BigDecimal amount,
     LocalDateTime paidAt,
+    PaymentMethod paymentMethod,
     String receiptNumber,
     String notes,
     AppointmentResponse appointment
@@ -24,6 +26,7 @@ public record PaymentResponse(
             entity.getStatus(),
             entity.getAmount(),
             entity.getPaidAt(),
+            entity.getPaymentMethod(),
             entity.getReceiptNumber(),
             entity.getNotes(),
             null
@@ -37,6 +40,7 @@ public record PaymentResponse(
             entity.getStatus(),
             entity.getAmount(),
             entity.getPaidAt(),
+            entity.getPaymentMethod(),
             entity.getReceiptNumber(),
             entity.getNotes(),
             AppointmentResponse.fromWithoutToken(entity.getAppointment())
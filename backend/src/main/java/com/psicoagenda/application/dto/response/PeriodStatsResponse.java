@@ -0,0 +1,30 @@
+package com.psicoagenda.application.dto.response;
+
+import com.psicoagenda.domain.repository.projection.DailyStatsTotals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record PeriodStatsResponse(
+    LocalDate start,
+    LocalDate end,
+    long booked,
+    long cancelled,
+    long cancelledLate,
+    long noShow,
+    BigDecimal revenuePaid,
+    BigDecimal revenuePending
+) {
+    public static PeriodStatsResponse from(LocalDate start, LocalDate end, DailyStatsTotals totals) {
+        return new PeriodStatsResponse(
+            start,
+            end,
+            totals.booked(),
+            totals.cancelled(),
+            totals.cancelledLate(),
+            totals.noShow(),
+            totals.revenuePaid(),
+            totals.revenuePending()
+        );
+    }
+}
@@ -6,6 +6,7 @@ import com.psicoagenda.application.dto.request.RescheduleRequest;
 import com.psicoagenda.application.dto.request.UpdateAppointmentStatusRequest;
 import com.psicoagenda.application.dto.response.AppointmentResponse;
 import com.psicoagenda.application.dto.response.BookingConfirmationResponse;
+import com.psicoagenda.application.dto.response.CursorPage;
 import com.psicoagenda.application.exception.BusinessException;
 import com.psicoagenda.application.exception.ConflictException;
 import com.psicoagenda.application.exception.ResourceNotFoundException;
@@ -20,11 +21,14 @@ import com.psicoagenda.domain.enums.PaymentStatus;
 import com.psicoagenda.domain.repository.AppointmentRepository;
 import com.psicoagenda.domain.repository.PaymentRepository;
 import com.psicoagenda.domain.repository.SessionTypeRepository;
+import com.psicoagenda.domain.repository.projection.AppointmentSummary;
 import com.psicoagenda.infrastructure.audit.AuditService;
+import com.psicoagenda.infrastructure.notification.NotificationScheduleService;
 import com.psicoagenda.infrastructure.notification.NotificationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -46,7 +50,9 @@ public class AppointmentService {
     private final ConsentService consentService;
     private final AvailabilityService availabilityService;
     private final NotificationService notificationService;
+    private final NotificationScheduleService notificationScheduleService;
     private final AuditService auditService;
+    private final DailyStatsService dailyStatsService;
 
     @Value("${app.booking.cancellation-hours:24}")
     private int cancellationHours;
@@ -58,7 +64,9 @@ public class AppointmentService {
                               ConsentService consentService,
                               AvailabilityService availabilityService,
                               NotificationService notificationService,
-                              AuditService auditService) {
+                              NotificationScheduleService notificationScheduleService,
+                              AuditService auditService,
+                              DailyStatsService dailyStatsService) {
         this.appointmentRepository = appointmentRepository;
         this.sessionTypeRepository = sessionTypeRepository;
         this.paymentRepository = paymentRepository;
@@ -66,23 +74,28 @@ public class AppointmentService {
         this.consentService = consentService;
         this.availabilityService = availabilityService;
         this.notificationService = notificationService;
+        this.notificationScheduleService = notificationScheduleService;
         this.auditService = auditService;
+        this.dailyStatsService = dailyStatsService;
     }
 
+    /**
+     * Appointments starting in [start, end) in chronological order, one page at a time
+     */
     @Transactional(readOnly = true)
-    public List<AppointmentResponse> getAppointmentsInRange(LocalDateTime start, LocalDateTime end) {
-        return appointmentRepository.findAllAppointmentsInRange(start, end)
-            .stream()
-            .map(AppointmentResponse::from)
-            .collect(Collectors.toList());
-    }
-
-    @Transactional(readOnly = true)
-    public List<AppointmentResponse> getActiveAppointmentsInRange(LocalDateTime start, LocalDateTime end) {
-        return appointmentRepository.findAppointmentsInRange(start, end)
-            .stream()
-            .map(AppointmentResponse::from)
-            .collect(Collectors.toList());
+    public CursorPage<AppointmentResponse> getAppointmentsInRange(LocalDateTime start, LocalDateTime end,
+                                                                  boolean includeCancelled,
+                                                                  String cursor, int limit) {
+        int pageSize = CursorPage.pageSize(limit, CursorPage.MAX_PAGE_SIZE);
+        // The first page starts at the range start itself
+        StartKey after = cursor == null || cursor.isBlank()
+            ? new StartKey(start, new UUID(0, 0))
+            : CursorPage.decodeCursor(cursor, 2, parts -> new StartKey(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1])));
+
+        List<AppointmentSummary> rows = appointmentRepository.findSummaryPageInRange(
+            start, end, includeCancelled, after.start(), after.id(), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, AppointmentResponse::from,
+            row -> CursorPage.encodeCursor(row.startDateTime(), row.appointmentId()));
     }
 
     @Transactional(readOnly = true)
@@ -157,10 +170,13 @@ public class AppointmentService {
             .amount(sessionType.getPrice())
             .build();
         paymentRepository.save(payment);
+        dailyStatsService.record(null, DailyStatsService.Snapshot.of(appointment, payment));
 
         log.info("Created public booking: {} for patient {}", appointment.getId(), patient.getId());
         auditService.logCreate("Appointment", appointment.getId(), appointment);
 
+        notificationScheduleService.scheduleReminders(appointment);
+
         // Send confirmation notification
         notificationService.sendNotification(appointment, NotificationTrigger.BOOKING_CONFIRMATION);
 
@@ -230,10 +246,13 @@ public class AppointmentService {
             .amount(sessionType.getPrice())
             .build();
         paymentRepository.save(payment);
+        dailyStatsService.record(null, DailyStatsService.Snapshot.of(appointment, payment));
 
         log.info("Admin created appointment: {} for patient {}", appointment.getId(), patient.getId());
         auditService.logCreate("Appointment", appointment.getId(), appointment);
 
+        notificationScheduleService.scheduleReminders(appointment);
+
         return AppointmentResponse.from(appointment);
     }
 
@@ -245,6 +264,7 @@ public class AppointmentService {
             .orElseThrow(() -> new ResourceNotFoundException("Agendamento", "id", id));
 
         AppointmentStatus oldStatus = appointment.getStatus();
+        DailyStatsService.Snapshot before = DailyStatsService.Snapshot.of(appointment);
 
         appointment.setStatus(request.status());
 
@@ -259,10 +279,14 @@ public class AppointmentService {
         }
 
         appointment = appointmentRepository.save(appointment);
+        dailyStatsService.record(before, DailyStatsService.Snapshot.of(appointment));
         log.info("Updated appointment {} status from {} to {}", id, oldStatus, request.status());
 
         auditService.logUpdate("Appointment", id, oldStatus.name(), request.status().name());
 
+        // Drops the reminders when the appointment is no longer active
+        notificationScheduleService.scheduleReminders(appointment);
+
         return AppointmentResponse.from(appointment);
     }
 
@@ -281,6 +305,7 @@ public class AppointmentService {
 
         AppointmentStatus newStatus = withinWindow ?
             AppointmentStatus.CANCELLED : AppointmentStatus.CANCELLED_LATE;
+        DailyStatsService.Snapshot before = DailyStatsService.Snapshot.of(appointment);
 
         appointment.setStatus(newStatus);
         appointment.setCancelledAt(LocalDateTime.now());
@@ -288,10 +313,13 @@ public class AppointmentService {
         appointment.setCancellationReason(reason);
 
         appointmentRepository.save(appointment);
+        dailyStatsService.record(before, DailyStatsService.Snapshot.of(appointment));
         log.info("Patient cancelled appointment {} ({})", appointment.getId(), newStatus);
 
         auditService.logUpdate("Appointment", appointment.getId(), "CONFIRMED", newStatus.name());
 
+        notificationScheduleService.cancelReminders(appointment.getId());
+
         // Notify about cancellation
         notificationService.sendNotification(appointment, NotificationTrigger.CANCELLATION);
     }
@@ -321,6 +349,7 @@ public class AppointmentService {
 
         // Update appointment
         LocalDateTime oldStart = appointment.getStartDateTime();
+        DailyStatsService.Snapshot before = DailyStatsService.Snapshot.of(appointment);
         appointment.setStartDateTime(request.newStartDateTime());
         appointment.setEndDateTime(request.newStartDateTime().plusMinutes(duration));
 
@@ -329,12 +358,15 @@ public class AppointmentService {
         appointment.setCancellationToken(newToken);
 
         appointment = appointmentRepository.save(appointment);
+        dailyStatsService.record(before, DailyStatsService.Snapshot.of(appointment));
         log.info("Rescheduled appointment {} from {} to {}",
             appointment.getId(), oldStart, request.newStartDateTime());
 
         auditService.logUpdate("Appointment", appointment.getId(),
             "startDateTime: " + oldStart, "startDateTime: " + request.newStartDateTime());
 
+        notificationScheduleService.scheduleReminders(appointment);
+
         // Notify about reschedule
         notificationService.sendNotification(appointment, NotificationTrigger.RESCHEDULE);
 
@@ -361,4 +393,6 @@ public class AppointmentService {
             .map(AppointmentResponse::from)
             .collect(Collectors.toList());
     }
+
+    private record StartKey(LocalDateTime start, UUID id) {}
 }
@@ -7,11 +7,11 @@ import com.psicoagenda.application.exception.ResourceNotFoundException;
 import com.psicoagenda.application.exception.ValidationException;
 import com.psicoagenda.domain.entity.Availability;
 import com.psicoagenda.domain.entity.Block;
-import com.psicoagenda.domain.entity.Appointment;
 import com.psicoagenda.domain.enums.DayOfWeekEnum;
 import com.psicoagenda.domain.repository.AvailabilityRepository;
 import com.psicoagenda.domain.repository.AppointmentRepository;
 import com.psicoagenda.domain.repository.BlockRepository;
+import com.psicoagenda.domain.repository.projection.AppointmentInterval;
 import com.psicoagenda.infrastructure.audit.AuditService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -140,7 +140,7 @@ public class AvailabilityService {
         // Get all appointments for the day
         LocalDateTime dayStart = date.atStartOfDay();
         LocalDateTime dayEnd = date.plusDays(1).atStartOfDay();
-        List<Appointment> appointments = appointmentRepository.findAppointmentsInRange(dayStart, dayEnd);
+        List<AppointmentInterval> appointments = appointmentRepository.findBookedIntervalsInRange(dayStart, dayEnd);
 
         // Get blocks for the day
         List<Block> blocks = blockRepository.findBlocksInRange(dayStart, dayEnd);
@@ -161,7 +161,7 @@ public class AvailabilityService {
 
                 // Check if slot conflicts with existing appointments
                 boolean conflictsWithAppointment = appointments.stream()
-                    .anyMatch(apt -> apt.getStartDateTime().isBefore(slotEnd) && apt.getEndDateTime().isAfter(slotStart));
+                    .anyMatch(apt -> apt.startDateTime().isBefore(slotEnd) && apt.endDateTime().isAfter(slotStart));
 
                 // Check if slot conflicts with blocks
                 boolean conflictsWithBlock = blocks.stream()
@@ -0,0 +1,213 @@
+package com.psicoagenda.application.service;
+
+import com.psicoagenda.domain.entity.Block;
+import com.psicoagenda.domain.enums.DayOfWeekEnum;
+import com.psicoagenda.domain.enums.NotificationTrigger;
+import com.psicoagenda.domain.enums.NotificationType;
+import com.psicoagenda.domain.repository.AppointmentRepository;
+import com.psicoagenda.domain.repository.AvailabilityRepository;
+import com.psicoagenda.domain.repository.BlockRepository;
+import com.psicoagenda.domain.repository.projection.AgendaEntry;
+import com.psicoagenda.infrastructure.notification.NotificationContentSource;
+import com.psicoagenda.infrastructure.notification.NotificationService;
+import com.psicoagenda.infrastructure.notification.NotificationTemplateService;
+import com.psicoagenda.infrastructure.notification.NotificationTemplateService.RenderedNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the practitioner's agenda for a day and emails it as a single digest.
+ * <p>
+ * Appointments, patients and payments come from one projection query; free gaps are the
+ * day's availability minus appointments and blocks. Sending goes through
+ * {@link NotificationService} like any other email (rate limit, circuit breaker, log and
+ * retries); the digest is rebuilt on each attempt.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DailyDigestService implements NotificationContentSource {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyDigestService.class);
+
+    private static final Duration MIN_GAP = Duration.ofMinutes(30);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final AppointmentRepository appointmentRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final BlockRepository blockRepository;
+    private final NotificationTemplateService templateService;
+    private final NotificationService notificationService;
+
+    @Value("${app.notifications.digest.recipient}")
+    private String recipient;
+
+    @Value("${app.notifications.from-name}")
+    private String fromName;
+
+    public DailyDigestService(AppointmentRepository appointmentRepository,
+                              AvailabilityRepository availabilityRepository,
+                              BlockRepository blockRepository,
+                              NotificationTemplateService templateService,
+                              NotificationService notificationService) {
+        this.appointmentRepository = appointmentRepository;
+        this.availabilityRepository = availabilityRepository;
+        this.blockRepository = blockRepository;
+        this.templateService = templateService;
+        this.notificationService = notificationService;
+    }
+
+    public DailyDigest buildDigest(LocalDate date) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = date.plusDays(1).atStartOfDay();
+
+        List<AgendaEntry> appointments = appointmentRepository.findAgendaInRange(dayStart, dayEnd);
+        List<AgendaEntry> unpaid = appointments.stream().filter(AgendaEntry::isUnpaid).toList();
+
+        List<TimeRange> busy = new ArrayList<>();
+        for (AgendaEntry entry : appointments) {
+            busy.add(TimeRange.clipped(entry.startDateTime(), entry.endDateTime(), date));
+        }
+        for (Block block : blockRepository.findBlocksInRange(dayStart, dayEnd)) {
+            busy.add(TimeRange.clipped(block.getStartDateTime(), block.getEndDateTime(), date));
+        }
+
+        List<TimeRange> windows = availabilityRepository
+            .findByDayOfWeekAndActiveTrue(DayOfWeekEnum.fromJavaDayOfWeek(date.getDayOfWeek()))
+            .stream()
+            .map(a -> new TimeRange(a.getStartTime(), a.getEndTime()))
+            .toList();
+
+        return new DailyDigest(date, appointments, unpaid, findGaps(windows, busy));
+    }
+
+    /**
+     * Send the digest for the given day to the configured recipient, once
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void sendDigest(LocalDate date) {
+        notificationService.sendForDate(NotificationTrigger.DAILY_DIGEST, date);
+    }
+
+    @Override
+    public NotificationTrigger getTrigger() {
+        return NotificationTrigger.DAILY_DIGEST;
+    }
+
+    @Override
+    public NotificationType getChannel() {
+        return NotificationType.EMAIL;
+    }
+
+    @Override
+    public String getRecipient() {
+        return recipient;
+    }
+
+    @Override
+    public RenderedNotification render(LocalDate date) {
+        DailyDigest digest = buildDigest(date);
+        log.info("Daily digest for {}: {} appointments, {} unpaid, {} gaps",
+            date, digest.appointments().size(), digest.unpaid().size(), digest.gaps().size());
+        return templateService.render(NotificationTrigger.DAILY_DIGEST, templateModel(digest));
+    }
+
+    private List<TimeRange> findGaps(List<TimeRange> windows, List<TimeRange> busy) {
+        List<TimeRange> sortedBusy = busy.stream().sorted(Comparator.comparing(TimeRange::start)).toList();
+        List<TimeRange> gaps = new ArrayList<>();
+
+        for (TimeRange window : windows.stream().sorted(Comparator.comparing(TimeRange::start)).toList()) {
+            LocalTime cursor = window.start();
+            for (TimeRange taken : sortedBusy) {
+                if (!taken.end().isAfter(cursor) || !taken.start().isBefore(window.end())) {
+                    continue;
+                }
+                addGap(gaps, cursor, taken.start());
+                if (taken.end().isAfter(cursor)) {
+                    cursor = taken.end();
+                }
+            }
+            addGap(gaps, cursor, window.end());
+        }
+        return gaps;
+    }
+
+    private void addGap(List<TimeRange> gaps, LocalTime start, LocalTime end) {
+        if (Duration.between(start, end).compareTo(MIN_GAP) >= 0) {
+            gaps.add(new TimeRange(start, end));
+        }
+    }
+
+    private Map<String, String> templateModel(DailyDigest digest) {
+        StringBuilder agendaText = new StringBuilder();
+        StringBuilder agendaHtml = new StringBuilder();
+        for (AgendaEntry entry : digest.appointments()) {
+            String line = entry.startDateTime().format(TIME_FORMATTER) + "-" + entry.endDateTime().format(TIME_FORMATTER)
+                + " " + entry.patientName() + " (" + entry.sessionTypeName() + ")"
+                + (entry.isUnpaid() ? " - pagamento pendente" : "");
+            agendaText.append("- ").append(line).append('\n');
+            agendaHtml.append("<li>").append(HtmlUtils.htmlEscape(line)).append("</li>");
+        }
+
+        StringBuilder gapsText = new StringBuilder();
+        StringBuilder gapsHtml = new StringBuilder();
+        for (TimeRange gap : digest.gaps()) {
+            String line = gap.start().format(TIME_FORMATTER) + "-" + gap.end().format(TIME_FORMATTER);
+            gapsText.append("- ").append(line).append('\n');
+            gapsHtml.append("<li>").append(line).append("</li>");
+        }
+
+        BigDecimal unpaidTotal = digest.unpaid().stream()
+            .map(AgendaEntry::amount)
+            .filter(amount -> amount != null)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        Map<String, String> model = new HashMap<>();
+        model.put("data", digest.date().format(DATE_FORMATTER));
+        model.put("total", String.valueOf(digest.appointments().size()));
+        model.put("pendentes", String.valueOf(digest.unpaid().size()));
+        model.put("valor_pendente", unpaidTotal.toPlainString());
+        model.put("agenda", digest.appointments().isEmpty() ? "Nenhum atendimento agendado.\n" : agendaText.toString());
+        model.put("agenda_html", digest.appointments().isEmpty()
+            ? "<p>Nenhum atendimento agendado.</p>" : "<ul>" + agendaHtml + "</ul>");
+        model.put("lacunas", digest.gaps().isEmpty() ? "Nenhum horario livre.\n" : gapsText.toString());
+        model.put("lacunas_html", digest.gaps().isEmpty()
+            ? "<p>Nenhum horário livre.</p>" : "<ul>" + gapsHtml + "</ul>");
+        model.put("remetente", fromName);
+        return model;
+    }
+
+    public record DailyDigest(LocalDate date,
+                              List<AgendaEntry> appointments,
+                              List<AgendaEntry> unpaid,
+                              List<TimeRange> gaps) {}
+
+    public record TimeRange(LocalTime start, LocalTime end) {
+
+        /**
+         * The part of a date-time range that falls on the given day
+         */
+        static TimeRange clipped(LocalDateTime start, LocalDateTime end, LocalDate date) {
+            LocalTime from = start.toLocalDate().isBefore(date) ? LocalTime.MIN : start.toLocalTime();
+            LocalTime to = end.toLocalDate().isAfter(date) ? LocalTime.MAX : end.toLocalTime();
+            return new TimeRange(from, to);
+        }
+    }
+}
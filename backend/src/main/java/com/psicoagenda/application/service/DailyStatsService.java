@@ -0,0 +1,165 @@
+package com.psicoagenda.application.service;
+
+import com.psicoagenda.domain.entity.Appointment;
+import com.psicoagenda.domain.entity.Payment;
+import com.psicoagenda.domain.enums.AppointmentStatus;
+import com.psicoagenda.domain.enums.PaymentStatus;
+import com.psicoagenda.domain.repository.DailyStatsRepository;
+import com.psicoagenda.domain.repository.projection.DailyStatsTotals;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the {@code daily_stats} rollup.
+ * <p>
+ * Services take a {@link Snapshot} of an appointment and its payment before changing them and
+ * another one after; the difference is added to the affected days in the same transaction.
+ * Each appointment counts once on its start date, in the bucket of its status; an unpaid
+ * payment counts as pending revenue on the appointment date and a paid one as revenue on its
+ * payment date. The nightly repair recounts everything and fixes any drift.
+ */
+@Service
+@Transactional
+public class DailyStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyStatsService.class);
+
+    private final DailyStatsRepository dailyStatsRepository;
+    private final DashboardSnapshotCache dashboardCache;
+
+    public DailyStatsService(DailyStatsRepository dailyStatsRepository, DashboardSnapshotCache dashboardCache) {
+        this.dailyStatsRepository = dailyStatsRepository;
+        this.dashboardCache = dashboardCache;
+    }
+
+    /**
+     * Record the change of one appointment; {@code before} is null for a new appointment
+     */
+    public void record(Snapshot before, Snapshot after) {
+        record(before != null ? List.of(before) : List.of(), after != null ? List.of(after) : List.of());
+    }
+
+    /**
+     * Record the changes of several appointments at once, one upsert per affected day
+     */
+    public void record(Collection<Snapshot> before, Collection<Snapshot> after) {
+        List<Delta> deltas = diff(before, after);
+        for (Delta delta : deltas) {
+            dailyStatsRepository.addDelta(delta.date(), delta.booked(), delta.cancelled(),
+                delta.cancelledLate(), delta.noShow(), delta.revenuePaid(), delta.revenuePending());
+        }
+        // Every appointment and payment transition passes here, also ones that change no counter
+        dashboardCache.invalidate();
+    }
+
+    /**
+     * Totals over [start, end), read from at most one row per day
+     */
+    @Transactional(readOnly = true)
+    public DailyStatsTotals getTotals(LocalDate start, LocalDate end) {
+        return dailyStatsRepository.sumInRange(start, end);
+    }
+
+    /**
+     * Recount the rollup from appointments and payments
+     * @return number of days that were corrected
+     */
+    public int repair() {
+        dailyStatsRepository.lockForRepair();
+        int corrected = dailyStatsRepository.repairFromSource() + dailyStatsRepository.deleteWithoutSource();
+        if (corrected > 0) {
+            log.warn("Daily stats repair corrected {} days", corrected);
+        } else {
+            log.info("Daily stats repair found no drift");
+        }
+        return corrected;
+    }
+
+    /**
+     * Per-day difference between two sets of snapshots, days without change left out
+     */
+    public static List<Delta> diff(Collection<Snapshot> before, Collection<Snapshot> after) {
+        Map<LocalDate, Delta> deltas = new TreeMap<>();
+        before.forEach(snapshot -> snapshot.contribute(deltas, -1));
+        after.forEach(snapshot -> snapshot.contribute(deltas, 1));
+        return deltas.values().stream().filter(delta -> !delta.isZero()).toList();
+    }
+
+    /**
+     * The fields of an appointment and its payment that the rollup depends on
+     */
+    public record Snapshot(LocalDate date,
+                           AppointmentStatus status,
+                           PaymentStatus paymentStatus,
+                           BigDecimal amount,
+                           LocalDateTime paidAt) {
+
+        public static Snapshot of(Appointment appointment, Payment payment) {
+            return new Snapshot(
+                appointment.getStartDateTime().toLocalDate(),
+                appointment.getStatus(),
+                payment != null ? payment.getStatus() : null,
+                payment != null ? payment.getAmount() : null,
+                payment != null ? payment.getPaidAt() : null
+            );
+        }
+
+        public static Snapshot of(Appointment appointment) {
+            return of(appointment, appointment.getPayment());
+        }
+
+        void contribute(Map<LocalDate, Delta> deltas, int sign) {
+            Delta day = deltas.computeIfAbsent(date, Delta::zero);
+            deltas.put(date, switch (status) {
+                case SCHEDULED, CONFIRMED, ATTENDED -> day.plus(sign, 0, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO);
+                case CANCELLED -> day.plus(0, sign, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO);
+                case CANCELLED_LATE -> day.plus(0, 0, sign, 0, BigDecimal.ZERO, BigDecimal.ZERO);
+                case NO_SHOW -> day.plus(0, 0, 0, sign, BigDecimal.ZERO, BigDecimal.ZERO);
+            });
+
+            if (paymentStatus == PaymentStatus.UNPAID && amount != null) {
+                deltas.put(date, deltas.get(date)
+                    .plus(0, 0, 0, 0, BigDecimal.ZERO, amount.multiply(BigDecimal.valueOf(sign))));
+            } else if (paymentStatus == PaymentStatus.PAID && amount != null) {
+                LocalDate paidDate = paidAt != null ? paidAt.toLocalDate() : date;
+                deltas.put(paidDate, deltas.computeIfAbsent(paidDate, Delta::zero)
+                    .plus(0, 0, 0, 0, amount.multiply(BigDecimal.valueOf(sign)), BigDecimal.ZERO));
+            }
+        }
+    }
+
+    public record Delta(LocalDate date,
+                        int booked,
+                        int cancelled,
+                        int cancelledLate,
+                        int noShow,
+                        BigDecimal revenuePaid,
+                        BigDecimal revenuePending) {
+
+        static Delta zero(LocalDate date) {
+            return new Delta(date, 0, 0, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+
+        Delta plus(int booked, int cancelled, int cancelledLate, int noShow,
+                   BigDecimal revenuePaid, BigDecimal revenuePending) {
+            return new Delta(date, this.booked + booked, this.cancelled + cancelled,
+                this.cancelledLate + cancelledLate, this.noShow + noShow,
+                this.revenuePaid.add(revenuePaid), this.revenuePending.add(revenuePending));
+        }
+
+        boolean isZero() {
+            return booked == 0 && cancelled == 0 && cancelledLate == 0 && noShow == 0
+                && revenuePaid.signum() == 0 && revenuePending.signum() == 0;
+        }
+    }
+}
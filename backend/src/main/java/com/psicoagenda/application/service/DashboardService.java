@@ -3,77 +3,83 @@ package com.psicoagenda.application.service;
 import com.psicoagenda.application.dto.response.AppointmentResponse;
 import com.psicoagenda.application.dto.response.DashboardResponse;
 import com.psicoagenda.domain.repository.AppointmentRepository;
-import com.psicoagenda.domain.repository.PaymentRepository;
-import com.psicoagenda.domain.enums.PaymentStatus;
+import com.psicoagenda.domain.repository.projection.DashboardTotals;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.temporal.TemporalAdjusters;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Admin dashboard: counters come from one aggregate query, so the cost does not grow with
+ * the week's volume; only today's and the next appointments are materialized. The result is
+ * served from {@link DashboardSnapshotCache} between appointment and payment changes.
+ */
 @Service
-@Transactional(readOnly = true)
 public class DashboardService {
 
+    private static final int UPCOMING_LIMIT = 5;
+
     private final AppointmentRepository appointmentRepository;
-    private final PaymentRepository paymentRepository;
+    private final DashboardSnapshotCache snapshotCache;
+    private final TransactionTemplate readOnlyTransaction;
 
     public DashboardService(AppointmentRepository appointmentRepository,
-                            PaymentRepository paymentRepository) {
+                            DashboardSnapshotCache snapshotCache,
+                            PlatformTransactionManager transactionManager) {
         this.appointmentRepository = appointmentRepository;
-        this.paymentRepository = paymentRepository;
+        this.snapshotCache = snapshotCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     public DashboardResponse getDashboard() {
+        // Only a cache miss opens a transaction
+        return snapshotCache.get(() -> readOnlyTransaction.execute(status -> loadDashboard()));
+    }
+
+    private DashboardResponse loadDashboard() {
         LocalDate today = LocalDate.now();
         LocalDateTime todayStart = today.atStartOfDay();
         LocalDateTime todayEnd = today.plusDays(1).atStartOfDay();
+        LocalDate weekStart = today.with(DayOfWeek.MONDAY);
+        LocalDate monthStart = today.with(TemporalAdjusters.firstDayOfMonth());
 
         // Today's appointments
         List<AppointmentResponse> todayAppointments = appointmentRepository
-            .findAppointmentsInRange(todayStart, todayEnd)
+            .findActiveSummariesInRange(todayStart, todayEnd)
             .stream()
             .map(AppointmentResponse::from)
             .collect(Collectors.toList());
 
-        // Upcoming appointments (next 5)
+        // Upcoming appointments
         List<AppointmentResponse> upcomingAppointments = appointmentRepository
-            .findNextAppointments(5)
+            .findNextAppointments(UPCOMING_LIMIT)
             .stream()
             .map(AppointmentResponse::from)
             .collect(Collectors.toList());
 
         // Statistics
-        long totalToday = todayAppointments.size();
-
-        // This week
-        LocalDate weekStart = today.with(java.time.DayOfWeek.MONDAY);
-        LocalDate weekEnd = weekStart.plusDays(7);
-        long totalThisWeek = appointmentRepository
-            .findAppointmentsInRange(weekStart.atStartOfDay(), weekEnd.atStartOfDay())
-            .size();
-
-        // Pending payments
-        long pendingPayments = paymentRepository.countByStatus(PaymentStatus.UNPAID);
-
-        // Revenue this month
-        LocalDate monthStart = today.with(TemporalAdjusters.firstDayOfMonth());
-        LocalDate monthEnd = today.with(TemporalAdjusters.lastDayOfMonth()).plusDays(1);
-        BigDecimal revenueThisMonth = paymentRepository.sumPaidInRange(
+        DashboardTotals totals = appointmentRepository.getDashboardTotals(
+            todayStart,
+            todayEnd,
+            weekStart.atStartOfDay(),
+            weekStart.plusWeeks(1).atStartOfDay(),
             monthStart.atStartOfDay(),
-            monthEnd.atStartOfDay()
+            monthStart.plusMonths(1).atStartOfDay()
         );
 
         DashboardResponse.Statistics stats = new DashboardResponse.Statistics(
-            totalToday,
-            totalThisWeek,
-            pendingPayments,
-            revenueThisMonth != null ? revenueThisMonth : BigDecimal.ZERO
+            totals.getTodayCount(),
+            totals.getWeekCount(),
+            totals.getPendingPayments(),
+            totals.getRevenue() != null ? totals.getRevenue() : BigDecimal.ZERO
         );
 
         return new DashboardResponse(todayAppointments, upcomingAppointments, stats);
@@ -0,0 +1,118 @@
+package com.psicoagenda.application.service;
+
+import com.psicoagenda.application.dto.response.DashboardResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Holds the last computed {@link DashboardResponse} for a short TTL.
+ * <p>
+ * A miss is loaded by one caller while concurrent callers wait for the same result, so several
+ * admin tabs cost one computation. Appointment and payment transitions bump a generation once
+ * their transaction commits; a snapshot or a load started under an older generation is never
+ * served afterwards, so changes show up on the next request rather than after the TTL.
+ */
+@Component
+public class DashboardSnapshotCache {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${app.dashboard.cache-ttl-ms:30000}")
+    private long ttlMillis;
+
+    private volatile Snapshot current;
+
+    // Guarded by this
+    private Load inFlight;
+
+    /**
+     * The cached dashboard, loading it if missing, expired or invalidated
+     */
+    public DashboardResponse get(Supplier<DashboardResponse> loader) {
+        Snapshot snapshot = current;
+        if (isFresh(snapshot)) {
+            return snapshot.withAge();
+        }
+
+        Load load;
+        boolean leader = false;
+        synchronized (this) {
+            long currentGeneration = generation.get();
+            if (inFlight == null || inFlight.generation() != currentGeneration) {
+                inFlight = new Load(currentGeneration, new CompletableFuture<>());
+                leader = true;
+            }
+            load = inFlight;
+        }
+
+        if (leader) {
+            try {
+                Snapshot loaded = new Snapshot(loader.get(), Instant.now(), load.generation());
+                // A commit during the load makes it stale: hand it to the waiting callers, do not keep it
+                if (generation.get() == load.generation()) {
+                    current = loaded;
+                }
+                load.result().complete(loaded);
+            } catch (Throwable e) {
+                // Errors too: callers waiting on this load would otherwise block forever
+                load.result().completeExceptionally(e);
+                throw e;
+            } finally {
+                synchronized (this) {
+                    if (inFlight == load) {
+                        inFlight = null;
+                    }
+                }
+            }
+        }
+
+        try {
+            return load.result().join().withAge();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Drop the cached dashboard once the current transaction commits
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                }
+            });
+        } else {
+            generation.incrementAndGet();
+        }
+    }
+
+    private boolean isFresh(Snapshot snapshot) {
+        return snapshot != null
+            && snapshot.generation() == generation.get()
+            && Duration.between(snapshot.generatedAt(), Instant.now()).toMillis() < ttlMillis;
+    }
+
+    private record Snapshot(DashboardResponse response, Instant generatedAt, long generation) {
+
+        DashboardResponse withAge() {
+            return response.withCacheAge(generatedAt, Duration.between(generatedAt, Instant.now()).toMillis());
+        }
+    }
+
+    private record Load(long generation, CompletableFuture<Snapshot> result) {}
+}
@@ -0,0 +1,208 @@
+package com.psicoagenda.application.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * CSV exports of appointments and payments for accounting.
+ * <p>
+ * Rows go from a forward-only cursor straight to the output stream: the query runs in a
+ * read-only transaction with a fetch size, so the Postgres driver pulls the result in chunks
+ * instead of buffering it, and memory stays flat whatever the range. Files use the Brazilian
+ * spreadsheet conventions ({@code ;} separator, decimal comma, UTF-8 with BOM). Patient
+ * contact data is not exported.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    private static final char SEPARATOR = ';';
+    private static final char BOM = '\uFEFF';
+    // Leading characters that make spreadsheets evaluate a cell as a formula
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private static final String APPOINTMENTS_SQL =
+        "SELECT a.start_datetime, a.end_datetime, a.status, p.name AS patient_name, st.name AS session_type, " +
+        "pay.amount, pay.status AS payment_status, pay.paid_at, pay.receipt_number " +
+        "FROM appointment a " +
+        "JOIN patient p ON p.id = a.patient_id " +
+        "JOIN session_type st ON st.id = a.session_type_id " +
+        "LEFT JOIN payment pay ON pay.appointment_id = a.id " +
+        "WHERE a.start_datetime >= ? AND a.start_datetime < ? " +
+        "ORDER BY a.start_datetime, a.id";
+
+    private static final String PAYMENTS_SQL =
+        "SELECT a.start_datetime, p.name AS patient_name, st.name AS session_type, " +
+        "pay.amount, pay.status, pay.paid_at, pay.receipt_number, pay.notes " +
+        "FROM payment pay " +
+        "JOIN appointment a ON a.id = pay.appointment_id " +
+        "JOIN patient p ON p.id = a.patient_id " +
+        "JOIN session_type st ON st.id = a.session_type_id " +
+        "WHERE a.start_datetime >= ? AND a.start_datetime < ? " +
+        "ORDER BY a.start_datetime, a.id";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.exports.fetch-size:500}") int fetchSize) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Appointments starting in [start, end), with their payment
+     */
+    public void writeAppointments(LocalDateTime start, LocalDateTime end, OutputStream out) throws IOException {
+        export("appointments", APPOINTMENTS_SQL, start, end, out,
+            new String[] {"Início", "Fim", "Status", "Paciente", "Tipo de sessão",
+                          "Valor", "Pagamento", "Pago em", "Recibo"},
+            (resultSet, row) -> row
+                .dateTime(resultSet.getTimestamp("start_datetime"))
+                .dateTime(resultSet.getTimestamp("end_datetime"))
+                .text(resultSet.getString("status"))
+                .text(resultSet.getString("patient_name"))
+                .text(resultSet.getString("session_type"))
+                .decimal(resultSet.getBigDecimal("amount"))
+                .text(resultSet.getString("payment_status"))
+                .dateTime(resultSet.getTimestamp("paid_at"))
+                .text(resultSet.getString("receipt_number")));
+    }
+
+    /**
+     * Payments of the appointments starting in [start, end)
+     */
+    public void writePayments(LocalDateTime start, LocalDateTime end, OutputStream out) throws IOException {
+        export("payments", PAYMENTS_SQL, start, end, out,
+            new String[] {"Atendimento", "Paciente", "Tipo de sessão", "Valor", "Status",
+                          "Pago em", "Recibo", "Observações"},
+            (resultSet, row) -> row
+                .dateTime(resultSet.getTimestamp("start_datetime"))
+                .text(resultSet.getString("patient_name"))
+                .text(resultSet.getString("session_type"))
+                .decimal(resultSet.getBigDecimal("amount"))
+                .text(resultSet.getString("status"))
+                .dateTime(resultSet.getTimestamp("paid_at"))
+                .text(resultSet.getString("receipt_number"))
+                .text(resultSet.getString("notes")));
+    }
+
+    private void export(String name, String sql, LocalDateTime start, LocalDateTime end, OutputStream out,
+                        String[] header, RowMapper mapper) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CsvRow row = new CsvRow(writer);
+        writer.write(BOM);
+        for (String column : header) {
+            row.text(column);
+        }
+        row.end();
+
+        long[] count = {0};
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                streamingJdbcTemplate.query(sql, resultSet -> {
+                    mapper.map(resultSet, row);
+                    row.end();
+                    count[0]++;
+                }, Timestamp.valueOf(start), Timestamp.valueOf(end)));
+        } catch (UncheckedIOException e) {
+            // Client went away mid-download; the transaction is already rolled back
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} {} rows for [{}, {})", count[0], name, start, end);
+    }
+
+    @FunctionalInterface
+    private interface RowMapper {
+        void map(ResultSet resultSet, CsvRow row) throws SQLException;
+    }
+
+    /**
+     * Writes one CSV line at a time, quoting fields only when needed. Text that a spreadsheet
+     * would run as a formula (patient names come from the public booking form) is prefixed
+     * with {@code '} so it is shown as typed.
+     */
+    private static final class CsvRow {
+
+        private final Writer writer;
+        private boolean first = true;
+
+        CsvRow(Writer writer) {
+            this.writer = writer;
+        }
+
+        CsvRow text(String value) {
+            separate();
+            if (value != null) {
+                boolean formula = !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0;
+                String field = formula ? "'" + value : value;
+                boolean quote = formula || field.indexOf(SEPARATOR) >= 0 || field.indexOf('"') >= 0
+                    || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0;
+                write(quote ? '"' + field.replace("\"", "\"\"") + '"' : field);
+            }
+            return this;
+        }
+
+        CsvRow decimal(BigDecimal value) {
+            separate();
+            if (value != null) {
+                write(value.toPlainString().replace('.', ','));
+            }
+            return this;
+        }
+
+        CsvRow dateTime(Timestamp value) {
+            separate();
+            if (value != null) {
+                write(value.toLocalDateTime().format(DATE_TIME_FORMATTER));
+            }
+            return this;
+        }
+
+        void end() {
+            write("\r\n");
+            first = true;
+        }
+
+        private void separate() {
+            if (!first) {
+                write(String.valueOf(SEPARATOR));
+            }
+            first = false;
+        }
+
+        private void write(String value) {
+            try {
+                writer.write(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.psicoagenda.application.service;
+
+import com.psicoagenda.application.dto.response.FinancialReportResponse;
+import com.psicoagenda.application.dto.response.FinancialReportResponse.AgingBucket;
+import com.psicoagenda.application.dto.response.FinancialReportResponse.MonthRevenue;
+import com.psicoagenda.application.dto.response.FinancialReportResponse.PatientBalance;
+import com.psicoagenda.application.dto.response.FinancialReportResponse.RevenueShare;
+import com.psicoagenda.application.exception.ValidationException;
+import com.psicoagenda.domain.repository.PaymentRepository;
+import com.psicoagenda.domain.repository.projection.AgingRow;
+import com.psicoagenda.domain.repository.projection.RevenueRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Financial report: paid revenue per month, session type and payment method, receivables
+ * aging and the patients owing the most, all aggregated in Postgres.
+ * <p>
+ * Revenue of closed months only changes when a payment of that month is edited, so each
+ * closed month's figures are kept in memory and only the months missing from the cache (in
+ * practice the current one) are queried. Edits evict their month on this node; the TTL bounds
+ * how long another node may serve the old figures. Receivables are always computed live.
+ */
+@Service
+@Transactional(readOnly = true)
+public class FinancialReportService {
+
+    private static final int MAX_MONTHS = 60;
+    private static final int PATIENT_BALANCE_LIMIT = 20;
+    private static final String UNSPECIFIED_METHOD = "UNSPECIFIED";
+    private static final String[] AGING_RANGES = {"0-30", "31-60", "61-90", "90+"};
+
+    private final PaymentRepository paymentRepository;
+
+    private final Map<YearMonth, CachedMonth> closedMonths = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Value("${app.reports.closed-month-ttl-ms:3600000}")
+    private long closedMonthTtlMillis;
+
+    public FinancialReportService(PaymentRepository paymentRepository) {
+        this.paymentRepository = paymentRepository;
+    }
+
+    public FinancialReportResponse getFinancialReport(YearMonth from, YearMonth to) {
+        if (to.isBefore(from)) {
+            throw new ValidationException("O mês final deve ser igual ou posterior ao mês inicial");
+        }
+        if (ChronoUnit.MONTHS.between(from, to) >= MAX_MONTHS) {
+            throw new ValidationException("O relatório pode abranger no máximo " + MAX_MONTHS + " meses");
+        }
+
+        // One extra year back so every month has its year-over-year comparison
+        Map<YearMonth, MonthFigures> figures = loadMonths(from.minusYears(1), to);
+
+        List<MonthRevenue> months = new ArrayList<>();
+        Map<String, Totals> bySessionType = new HashMap<>();
+        Map<String, Totals> byPaymentMethod = new HashMap<>();
+        BigDecimal cumulative = BigDecimal.ZERO;
+        long payments = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            MonthFigures current = figures.get(month);
+            cumulative = cumulative.add(current.revenue());
+            payments += current.payments();
+            months.add(new MonthRevenue(month, current.revenue(), current.payments(), cumulative,
+                figures.get(month.minusYears(1)).revenue()));
+            current.bySessionType().forEach((key, totals) -> bySessionType.merge(key, totals, Totals::plus));
+            current.byPaymentMethod().forEach((key, totals) -> byPaymentMethod.merge(key, totals, Totals::plus));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AgingBucket> aging = new ArrayList<>();
+        BigDecimal receivables = BigDecimal.ZERO;
+        for (AgingRow row : paymentRepository.findReceivablesAging(now)) {
+            receivables = receivables.add(row.getAmount());
+            aging.add(new AgingBucket(AGING_RANGES[row.getBucket()], row.getPayments(), row.getAmount(),
+                scaleShare(row.getShare())));
+        }
+
+        List<PatientBalance> balances = paymentRepository.findPatientBalances(now, PATIENT_BALANCE_LIMIT)
+            .stream()
+            .map(row -> new PatientBalance(row.getRank(), row.getPatientId(), row.getPatientName(),
+                row.getSessions(), row.getOutstanding(), row.getOldestDays(), scaleShare(row.getCumulativeShare())))
+            .toList();
+
+        return new FinancialReportResponse(
+            from,
+            to,
+            cumulative,
+            months,
+            shares(bySessionType, cumulative),
+            shares(byPaymentMethod, cumulative),
+            receivables,
+            aging,
+            balances,
+            now
+        );
+    }
+
+    /**
+     * Forget the cached figures of the month a payment was paid in, once the transaction commits
+     */
+    public void evictMonth(LocalDateTime paidAt) {
+        if (paidAt == null) {
+            return;
+        }
+        YearMonth month = YearMonth.from(paidAt);
+        Runnable evict = () -> {
+            evictions.incrementAndGet();
+            closedMonths.remove(month);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    private Map<YearMonth, MonthFigures> loadMonths(YearMonth from, YearMonth to) {
+        YearMonth currentMonth = YearMonth.now();
+        Map<YearMonth, MonthFigures> figures = new TreeMap<>();
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            CachedMonth cached = month.isBefore(currentMonth) ? closedMonths.get(month) : null;
+            if (cached != null && cached.isFresh(closedMonthTtlMillis)) {
+                figures.put(month, cached.figures());
+            } else {
+                missing.add(month);
+            }
+        }
+        if (missing.isEmpty()) {
+            return figures;
+        }
+
+        long evictionsBefore = evictions.get();
+        YearMonth first = missing.get(0);
+        YearMonth last = missing.get(missing.size() - 1);
+        Map<YearMonth, MonthFigures> loaded = aggregate(paymentRepository.findMonthlyRevenue(
+            first.atDay(1).atStartOfDay(), last.plusMonths(1).atDay(1).atStartOfDay()));
+
+        // An edit committed while querying may not be in the result: serve it, but do not cache it
+        boolean cacheable = evictions.get() == evictionsBefore;
+        for (YearMonth month : missing) {
+            MonthFigures monthFigures = loaded.getOrDefault(month, MonthFigures.EMPTY);
+            figures.put(month, monthFigures);
+            if (cacheable && month.isBefore(currentMonth)) {
+                closedMonths.put(month, new CachedMonth(monthFigures, Instant.now()));
+            }
+        }
+        return figures;
+    }
+
+    private static Map<YearMonth, MonthFigures> aggregate(List<RevenueRow> rows) {
+        Map<YearMonth, BigDecimal> revenue = new HashMap<>();
+        Map<YearMonth, Long> payments = new HashMap<>();
+        Map<YearMonth, Map<String, Totals>> bySessionType = new HashMap<>();
+        Map<YearMonth, Map<String, Totals>> byPaymentMethod = new HashMap<>();
+
+        for (RevenueRow row : rows) {
+            YearMonth month = YearMonth.of(row.getYear(), row.getMonth());
+            Totals totals = new Totals(row.getRevenue(), row.getPayments());
+            switch (row.getDimension()) {
+                case "SESSION_TYPE" -> bySessionType.computeIfAbsent(month, m -> new HashMap<>())
+                    .put(row.getKey(), totals);
+                case "PAYMENT_METHOD" -> byPaymentMethod.computeIfAbsent(month, m -> new HashMap<>())
+                    .put(row.getKey() != null ? row.getKey() : UNSPECIFIED_METHOD, totals);
+                default -> {
+                    revenue.put(month, row.getRevenue());
+                    payments.put(month, row.getPayments());
+                }
+            }
+        }
+
+        Map<YearMonth, MonthFigures> figures = new HashMap<>();
+        revenue.forEach((month, total) -> figures.put(month, new MonthFigures(
+            total,
+            payments.get(month),
+            Map.copyOf(bySessionType.getOrDefault(month, Map.of())),
+            Map.copyOf(byPaymentMethod.getOrDefault(month, Map.of())))));
+        return figures;
+    }
+
+    private static List<RevenueShare> shares(Map<String, Totals> totalsByKey, BigDecimal total) {
+        return totalsByKey.entrySet().stream()
+            .sorted(Map.Entry.<String, Totals>comparingByValue(Comparator.comparing(Totals::revenue)).reversed())
+            .map(entry -> new RevenueShare(entry.getKey(), entry.getValue().revenue(), entry.getValue().payments(),
+                total.signum() == 0 ? BigDecimal.ZERO : entry.getValue().revenue().divide(total, 4, RoundingMode.HALF_UP)))
+            .toList();
+    }
+
+    private static BigDecimal scaleShare(BigDecimal share) {
+        return share != null ? share.setScale(4, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+
+    private record Totals(BigDecimal revenue, long payments) {
+
+        Totals plus(Totals other) {
+            return new Totals(revenue.add(other.revenue()), payments + other.payments());
+        }
+    }
+
+    private record MonthFigures(BigDecimal revenue,
+                                long payments,
+                                Map<String, Totals> bySessionType,
+                                Map<String, Totals> byPaymentMethod) {
+
+        static final MonthFigures EMPTY = new MonthFigures(BigDecimal.ZERO, 0, Map.of(), Map.of());
+    }
+
+    private record CachedMonth(MonthFigures figures, Instant loadedAt) {
+
+        boolean isFresh(long ttlMillis) {
+            return Duration.between(loadedAt, Instant.now()).toMillis() < ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.psicoagenda.application.service;
+
+import com.psicoagenda.domain.enums.AppointmentStatus;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Weekday × hour occupancy over a date range, computed on primitive arrays.
+ * <p>
+ * Every instant is a minute offset from the start of the range, and interval sets are kept as
+ * sorted {@code long}s packing {@code start << 32 | end}, so a multi-year range is a few sorts
+ * and linear merges over int-sized values with no per-interval objects. Free time is the
+ * weekly availability laid over each day minus blocks; an appointment holds its slot unless
+ * it was cancelled in time, and the part of it inside free time counts as occupied.
+ */
+public final class OccupancyGrid {
+
+    public static final int HOURS = 24;
+    public static final int CELLS = 7 * HOURS;
+
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int MINUTES_PER_DAY = 24 * MINUTES_PER_HOUR;
+
+    private final long[] availableMinutes = new long[CELLS];
+    private final long[] bookedMinutes = new long[CELLS];
+    private final long[] occupiedMinutes = new long[CELLS];
+    private final int[] appointments = new int[CELLS];
+    private final int[] cancelled = new int[CELLS];
+    private final int[] noShows = new int[CELLS];
+
+    private OccupancyGrid() {}
+
+    public static Builder builder(LocalDate from, LocalDate to) {
+        return new Builder(from, to);
+    }
+
+    /**
+     * Cell index of a weekday and hour, as used by the accessors
+     */
+    public static int cell(DayOfWeek dayOfWeek, int hour) {
+        return (dayOfWeek.getValue() - 1) * HOURS + hour;
+    }
+
+    public long availableMinutes(int cell) {
+        return availableMinutes[cell];
+    }
+
+    public long bookedMinutes(int cell) {
+        return bookedMinutes[cell];
+    }
+
+    public long occupiedMinutes(int cell) {
+        return occupiedMinutes[cell];
+    }
+
+    public int appointments(int cell) {
+        return appointments[cell];
+    }
+
+    /**
+     * Cancellations, in time or late
+     */
+    public int cancelled(int cell) {
+        return cancelled[cell];
+    }
+
+    public int noShows(int cell) {
+        return noShows[cell];
+    }
+
+    public static final class Builder {
+
+        private final LocalDateTime origin;
+        private final int days;
+        private final int originDay;
+        private final int rangeMinutes;
+
+        private final long[][] weeklyWindows = new long[7][];
+        private final LongList blocks = new LongList();
+        private final LongList held = new LongList();
+        private final OccupancyGrid grid = new OccupancyGrid();
+
+        private Builder(LocalDate from, LocalDate to) {
+            this.origin = from.atStartOfDay();
+            this.days = (int) ChronoUnit.DAYS.between(from, to);
+            this.originDay = from.getDayOfWeek().getValue() - 1;
+            this.rangeMinutes = days * MINUTES_PER_DAY;
+            Arrays.setAll(weeklyWindows, day -> new long[0]);
+        }
+
+        /**
+         * A weekly availability window
+         */
+        public Builder availability(DayOfWeek dayOfWeek, LocalTime start, LocalTime end) {
+            int startMinute = start.getHour() * MINUTES_PER_HOUR + start.getMinute();
+            // A window ending at midnight runs to the end of the day
+            int endMinute = end.equals(LocalTime.MIDNIGHT) ? MINUTES_PER_DAY : end.getHour() * MINUTES_PER_HOUR + end.getMinute();
+            if (endMinute > startMinute) {
+                long[] windows = weeklyWindows[dayOfWeek.getValue() - 1];
+                long[] grown = Arrays.copyOf(windows, windows.length + 1);
+                grown[windows.length] = pack(startMinute, endMinute);
+                Arrays.sort(grown);
+                weeklyWindows[dayOfWeek.getValue() - 1] = grown;
+            }
+            return this;
+        }
+
+        public Builder block(LocalDateTime start, LocalDateTime end) {
+            addClipped(blocks, minute(start), minute(end));
+            return this;
+        }
+
+        public Builder appointment(LocalDateTime start, LocalDateTime end, AppointmentStatus status) {
+            int startMinute = minute(start);
+            if (startMinute >= 0 && startMinute < rangeMinutes) {
+                int cell = cellOf(startMinute);
+                grid.appointments[cell]++;
+                switch (status) {
+                    case CANCELLED, CANCELLED_LATE -> grid.cancelled[cell]++;
+                    case NO_SHOW -> grid.noShows[cell]++;
+                    default -> { }
+                }
+            }
+            // A late cancellation or a no-show still kept the slot from being booked by someone else
+            if (status != AppointmentStatus.CANCELLED) {
+                int endMinute = minute(end);
+                spread(grid.bookedMinutes, Math.max(startMinute, 0), Math.min(endMinute, rangeMinutes));
+                addClipped(held, startMinute, endMinute);
+            }
+            return this;
+        }
+
+        public OccupancyGrid build() {
+            long[] free = subtract(availabilityOverRange(), merge(blocks));
+            for (long interval : free) {
+                spread(grid.availableMinutes, start(interval), end(interval));
+            }
+            for (long interval : intersect(merge(held), free)) {
+                spread(grid.occupiedMinutes, start(interval), end(interval));
+            }
+            return grid;
+        }
+
+        private long[] availabilityOverRange() {
+            LongList windows = new LongList();
+            for (int day = 0; day < days; day++) {
+                int dayStart = day * MINUTES_PER_DAY;
+                for (long window : weeklyWindows[(originDay + day) % 7]) {
+                    windows.add(pack(dayStart + start(window), dayStart + end(window)));
+                }
+            }
+            // Already in order: days ascend and each day's windows are sorted
+            return mergeSorted(windows.toArray());
+        }
+
+        private void spread(long[] cells, int start, int end) {
+            int minute = start;
+            while (minute < end) {
+                int hourEnd = Math.min(end, (minute / MINUTES_PER_HOUR + 1) * MINUTES_PER_HOUR);
+                cells[cellOf(minute)] += hourEnd - minute;
+                minute = hourEnd;
+            }
+        }
+
+        private int cellOf(int minute) {
+            int day = (originDay + minute / MINUTES_PER_DAY) % 7;
+            return day * HOURS + (minute % MINUTES_PER_DAY) / MINUTES_PER_HOUR;
+        }
+
+        private int minute(LocalDateTime dateTime) {
+            long minutes = Duration.between(origin, dateTime).toMinutes();
+            return (int) Math.max(-1, Math.min(minutes, rangeMinutes + 1L));
+        }
+
+        private void addClipped(LongList intervals, int start, int end) {
+            int clippedStart = Math.max(start, 0);
+            int clippedEnd = Math.min(end, rangeMinutes);
+            if (clippedEnd > clippedStart) {
+                intervals.add(pack(clippedStart, clippedEnd));
+            }
+        }
+    }
+
+    private static long[] merge(LongList intervals) {
+        long[] sorted = intervals.toArray();
+        Arrays.sort(sorted);
+        return mergeSorted(sorted);
+    }
+
+    private static long[] mergeSorted(long[] sorted) {
+        int size = 0;
+        for (long interval : sorted) {
+            if (size > 0 && start(interval) <= end(sorted[size - 1])) {
+                long last = sorted[size - 1];
+                sorted[size - 1] = pack(start(last), Math.max(end(last), end(interval)));
+            } else {
+                sorted[size++] = interval;
+            }
+        }
+        return Arrays.copyOf(sorted, size);
+    }
+
+    private static long[] subtract(long[] intervals, long[] removed) {
+        LongList result = new LongList();
+        int next = 0;
+        for (long interval : intervals) {
+            int start = start(interval);
+            int end = end(interval);
+            while (next < removed.length && end(removed[next]) <= start) {
+                next++;
+            }
+            for (int i = next; i < removed.length && start(removed[i]) < end; i++) {
+                if (start(removed[i]) > start) {
+                    result.add(pack(start, start(removed[i])));
+                }
+                start = Math.max(start, end(removed[i]));
+            }
+            if (start < end) {
+                result.add(pack(start, end));
+            }
+        }
+        return result.toArray();
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        LongList result = new LongList();
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            int start = Math.max(start(a[i]), start(b[j]));
+            int end = Math.min(end(a[i]), end(b[j]));
+            if (start < end) {
+                result.add(pack(start, end));
+            }
+            if (end(a[i]) < end(b[j])) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result.toArray();
+    }
+
+    private static long pack(int start, int end) {
+        return ((long) start << 32) | end;
+    }
+
+    private static int start(long interval) {
+        return (int) (interval >>> 32);
+    }
+
+    private static int end(long interval) {
+        return (int) interval;
+    }
+
+    /**
+     * Growable {@code long[]} without boxing
+     */
+    static final class LongList {
+
+        private long[] values = new long[64];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
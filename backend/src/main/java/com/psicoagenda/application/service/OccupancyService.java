@@ -0,0 +1,101 @@
+package com.psicoagenda.application.service;
+
+import com.psicoagenda.application.dto.response.OccupancyResponse;
+import com.psicoagenda.application.exception.ValidationException;
+import com.psicoagenda.domain.entity.Availability;
+import com.psicoagenda.domain.entity.Block;
+import com.psicoagenda.domain.enums.DayOfWeekEnum;
+import com.psicoagenda.domain.repository.AppointmentRepository;
+import com.psicoagenda.domain.repository.AvailabilityRepository;
+import com.psicoagenda.domain.repository.BlockRepository;
+import com.psicoagenda.domain.repository.projection.AppointmentInterval;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilization heatmap by weekday and hour, for tuning the availability grid.
+ * <p>
+ * The current weekly availability is applied to the whole range, since past grids are not
+ * kept; blocks and appointments are the real ones.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OccupancyService {
+
+    private static final long MAX_DAYS = 366L * 10;
+
+    private final AppointmentRepository appointmentRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final BlockRepository blockRepository;
+
+    public OccupancyService(AppointmentRepository appointmentRepository,
+                            AvailabilityRepository availabilityRepository,
+                            BlockRepository blockRepository) {
+        this.appointmentRepository = appointmentRepository;
+        this.availabilityRepository = availabilityRepository;
+        this.blockRepository = blockRepository;
+    }
+
+    /**
+     * Occupancy over the days in [from, to)
+     */
+    public OccupancyResponse getOccupancy(LocalDate from, LocalDate to) {
+        if (!to.isAfter(from)) {
+            throw new ValidationException("A data final deve ser posterior à data inicial");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_DAYS) {
+            throw new ValidationException("O período pode abranger no máximo 10 anos");
+        }
+
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.atStartOfDay();
+        OccupancyGrid.Builder builder = OccupancyGrid.builder(from, to);
+        for (Availability availability : availabilityRepository.findByActiveTrue()) {
+            builder.availability(availability.getDayOfWeek().toJavaDayOfWeek(),
+                availability.getStartTime(), availability.getEndTime());
+        }
+        for (Block block : blockRepository.findBlocksInRange(start, end)) {
+            builder.block(block.getStartDateTime(), block.getEndDateTime());
+        }
+        for (AppointmentInterval appointment : appointmentRepository.findIntervalsInRange(start, end)) {
+            builder.appointment(appointment.startDateTime(), appointment.endDateTime(), appointment.status());
+        }
+        OccupancyGrid grid = builder.build();
+
+        List<OccupancyResponse.Cell> cells = new ArrayList<>(OccupancyGrid.CELLS);
+        long available = 0;
+        long booked = 0;
+        long occupied = 0;
+        for (DayOfWeekEnum day : DayOfWeekEnum.values()) {
+            for (int hour = 0; hour < OccupancyGrid.HOURS; hour++) {
+                int cell = OccupancyGrid.cell(day.toJavaDayOfWeek(), hour);
+                available += grid.availableMinutes(cell);
+                booked += grid.bookedMinutes(cell);
+                occupied += grid.occupiedMinutes(cell);
+                cells.add(new OccupancyResponse.Cell(
+                    day,
+                    hour,
+                    grid.availableMinutes(cell),
+                    grid.bookedMinutes(cell),
+                    grid.occupiedMinutes(cell),
+                    ratio(grid.occupiedMinutes(cell), grid.availableMinutes(cell)),
+                    grid.appointments(cell),
+                    ratio(grid.cancelled(cell), grid.appointments(cell)),
+                    ratio(grid.noShows(cell), grid.appointments(cell))
+                ));
+            }
+        }
+
+        return new OccupancyResponse(from, to, available, booked, occupied, ratio(occupied, available), cells);
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole == 0 ? 0 : Math.round(part * 10_000.0 / whole) / 10_000.0;
+    }
+}
@@ -0,0 +1,213 @@
+package com.psicoagenda.application.service;
+
+import com.psicoagenda.application.dto.response.PatientSuggestionResponse;
+import com.psicoagenda.domain.repository.PatientRepository;
+import com.psicoagenda.domain.repository.projection.PatientName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Process-local prefix index of active patient names for admin type-ahead.
+ * <p>
+ * Every accent-folded name token is a key in a sorted map ({@code token \0 patientId}), so a
+ * prefix lookup is one range scan with no database round trip. Reads are lock-free; writes
+ * come from {@link PatientService} and the retention job and are applied once their
+ * transaction commits. The whole index is rebuilt at startup and periodically, which also
+ * picks up changes made on other nodes; writes landing during a rebuild are replayed onto it.
+ */
+@Component
+public class PatientAutocompleteIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PatientAutocompleteIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final char KEY_SEPARATOR = '\0';
+    private static final int MAX_SCANNED_TOKENS = 5000;
+
+    private final PatientRepository patientRepository;
+
+    private volatile Index index = new Index();
+
+    // Writes made while a rebuild reads the table, replayed onto the rebuilt index
+    private List<Consumer<Index>> writesDuringRebuild;
+
+    public PatientAutocompleteIndex(PatientRepository patientRepository) {
+        this.patientRepository = patientRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.patients.autocomplete.rebuild-interval-ms:600000}",
+               initialDelayString = "${app.patients.autocomplete.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (this) {
+            writesDuringRebuild = new ArrayList<>();
+        }
+
+        Index rebuilt = new Index();
+        List<PatientName> names;
+        try {
+            names = patientRepository.findActiveNames();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                writesDuringRebuild = null;
+            }
+            throw e;
+        }
+        for (PatientName patient : names) {
+            rebuilt.add(patient.id(), patient.name());
+        }
+
+        synchronized (this) {
+            writesDuringRebuild.forEach(write -> write.accept(rebuilt));
+            writesDuringRebuild = null;
+            index = rebuilt;
+        }
+        log.debug("Patient autocomplete index rebuilt with {} patients", names.size());
+    }
+
+    /**
+     * Index or re-index a patient once the current transaction commits
+     */
+    public void put(UUID patientId, String name) {
+        afterCommit(() -> write(target -> {
+            target.remove(patientId);
+            target.add(patientId, name);
+        }));
+    }
+
+    /**
+     * Drop a patient from the index once the current transaction commits
+     */
+    public void remove(UUID patientId) {
+        afterCommit(() -> write(target -> target.remove(patientId)));
+    }
+
+    /**
+     * Patients having a name token starting with each word of the query
+     */
+    public List<PatientSuggestionResponse> search(String query, int limit) {
+        String[] queryTokens = tokenize(query);
+        if (queryTokens.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        // Scan the range of the longest (most selective) word, check the others per candidate
+        String probe = Arrays.stream(queryTokens).max((a, b) -> a.length() - b.length()).orElseThrow();
+        Index current = index;
+        ConcurrentNavigableMap<String, UUID> range =
+            current.tokens.subMap(probe, true, probe + Character.MAX_VALUE, false);
+
+        List<PatientSuggestionResponse> results = new ArrayList<>(limit);
+        Set<UUID> seen = new HashSet<>();
+        int scanned = 0;
+        for (UUID patientId : range.values()) {
+            if (results.size() >= limit || ++scanned > MAX_SCANNED_TOKENS) {
+                break;
+            }
+            Entry entry = current.entries.get(patientId);
+            if (entry != null && seen.add(patientId) && entry.matchesAll(queryTokens)) {
+                results.add(new PatientSuggestionResponse(patientId, entry.name()));
+            }
+        }
+        return results;
+    }
+
+    public int size() {
+        return index.entries.size();
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(TOKEN_SEPARATORS.split(folded.toLowerCase(Locale.ROOT)))
+            .filter(token -> !token.isEmpty())
+            .distinct()
+            .toArray(String[]::new);
+    }
+
+    private synchronized void write(Consumer<Index> write) {
+        write.accept(index);
+        if (writesDuringRebuild != null) {
+            writesDuringRebuild.add(write);
+        }
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private record Entry(String name, String[] tokens) {
+
+        boolean matchesAll(String[] queryTokens) {
+            for (String queryToken : queryTokens) {
+                boolean matched = false;
+                for (String token : tokens) {
+                    if (token.startsWith(queryToken)) {
+                        matched = true;
+                        break;
+                    }
+                }
+                if (!matched) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Index {
+
+        private final ConcurrentNavigableMap<String, UUID> tokens = new ConcurrentSkipListMap<>();
+        private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+        void add(UUID patientId, String name) {
+            String[] nameTokens = tokenize(name);
+            entries.put(patientId, new Entry(name, nameTokens));
+            for (String token : nameTokens) {
+                tokens.put(token + KEY_SEPARATOR + patientId, patientId);
+            }
+        }
+
+        void remove(UUID patientId) {
+            Entry entry = entries.remove(patientId);
+            if (entry != null) {
+                for (String token : entry.tokens()) {
+                    tokens.remove(token + KEY_SEPARATOR + patientId);
+                }
+            }
+        }
+    }
+}
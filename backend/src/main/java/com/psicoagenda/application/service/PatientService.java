@@ -1,18 +1,23 @@
 package com.psicoagenda.application.service;
 
+import com.psicoagenda.application.dto.response.CursorPage;
 import com.psicoagenda.application.dto.response.PatientResponse;
+import com.psicoagenda.application.dto.response.PatientSuggestionResponse;
 import com.psicoagenda.application.exception.ResourceNotFoundException;
 import com.psicoagenda.domain.entity.Patient;
 import com.psicoagenda.domain.repository.PatientRepository;
+import com.psicoagenda.domain.repository.projection.PatientSearchHit;
 import com.psicoagenda.infrastructure.audit.AuditService;
+import com.psicoagenda.infrastructure.encryption.BlindIndexService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -20,28 +25,78 @@ public class PatientService {
 
     private static final Logger log = LoggerFactory.getLogger(PatientService.class);
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int MAX_AUTOCOMPLETE_SIZE = 20;
+
     private final PatientRepository patientRepository;
     private final AuditService auditService;
+    private final BlindIndexService blindIndexService;
+    private final PatientAutocompleteIndex autocompleteIndex;
 
-    public PatientService(PatientRepository patientRepository, AuditService auditService) {
+    public PatientService(PatientRepository patientRepository,
+                          AuditService auditService,
+                          BlindIndexService blindIndexService,
+                          PatientAutocompleteIndex autocompleteIndex) {
         this.patientRepository = patientRepository;
         this.auditService = auditService;
+        this.blindIndexService = blindIndexService;
+        this.autocompleteIndex = autocompleteIndex;
+    }
+
+    /**
+     * Active patients by name, one page at a time
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PatientResponse> getActivePatients(String cursor, int limit) {
+        int pageSize = CursorPage.pageSize(limit, CursorPage.MAX_PAGE_SIZE);
+        NameKey after = cursor == null || cursor.isBlank()
+            ? new NameKey("", new UUID(0, 0))
+            : CursorPage.decodeCursor(cursor, 2, parts -> new NameKey(parts[1], UUID.fromString(parts[0])));
+
+        List<Patient> patients = patientRepository.findActivePage(
+            after.name(), after.id(), PageRequest.of(0, pageSize + 1));
+        // Name last in the cursor: it may contain the separator. Contact data is left sealed,
+        // the admin opens a patient to see it.
+        return CursorPage.of(patients, pageSize,
+            patient -> PatientResponse.summary(patient.getId(), patient.getName(), patient.isActive(),
+                patient.isAnonymized(), patient.getCreatedAt()),
+            patient -> CursorPage.encodeCursor(patient.getId(), patient.getName()));
     }
 
+    /**
+     * Accent-insensitive, typo-tolerant name search, best matches first, one page at a time
+     */
     @Transactional(readOnly = true)
-    public List<PatientResponse> getAllActivePatients() {
-        return patientRepository.findByActiveTrue()
-            .stream()
-            .map(PatientResponse::from)
-            .collect(Collectors.toList());
+    public CursorPage<PatientResponse> searchPatients(String name, String cursor, int limit) {
+        String query = name == null ? "" : name.trim();
+        if (query.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        int pageSize = CursorPage.pageSize(limit, MAX_SEARCH_PAGE_SIZE);
+
+        // First page starts above the highest possible score
+        SearchKey after = cursor == null || cursor.isBlank()
+            ? new SearchKey(2f, new UUID(0, 0))
+            : CursorPage.decodeCursor(cursor, 2, parts -> new SearchKey(Float.parseFloat(parts[0]), UUID.fromString(parts[1])));
+
+        // One extra row tells whether there is a next page
+        List<PatientSearchHit> hits = patientRepository.searchByName(
+            query, escapeLike(query), after.score(), after.id(), pageSize + 1);
+        return CursorPage.of(hits, pageSize,
+            hit -> PatientResponse.summary(hit.getId(), hit.getName(), hit.isActive(), hit.isAnonymized(), hit.getCreatedAt()),
+            hit -> CursorPage.encodeCursor(hit.getScore(), hit.getId()));
     }
 
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Type-ahead suggestions from the in-memory name index
+     */
     @Transactional(readOnly = true)
-    public List<PatientResponse> searchPatients(String name) {
-        return patientRepository.findByNameContainingIgnoreCaseAndActiveTrue(name)
-            .stream()
-            .map(PatientResponse::from)
-            .collect(Collectors.toList());
+    public List<PatientSuggestionResponse> autocomplete(String query, int limit) {
+        return autocompleteIndex.search(query, Math.max(1, Math.min(limit, MAX_AUTOCOMPLETE_SIZE)));
     }
 
     @Transactional(readOnly = true)
@@ -52,8 +107,11 @@ public class PatientService {
     }
 
     public Patient findOrCreatePatient(String name, String phone, String email) {
-        // Try to find existing patient by phone
-        return patientRepository.findByPhoneAndActiveTrue(phone)
+        // Try to find existing patient by phone, then by email (encrypted columns are matched by blind index)
+        return Optional.ofNullable(blindIndexService.phoneIndex(phone))
+            .flatMap(patientRepository::findFirstByPhoneBidxAndActiveTrueOrderByCreatedAtAsc)
+            .or(() -> Optional.ofNullable(blindIndexService.emailIndex(email))
+                .flatMap(patientRepository::findFirstByEmailBidxAndActiveTrueOrderByCreatedAtAsc))
             .orElseGet(() -> {
                 Patient newPatient = Patient.builder()
                     .name(name)
@@ -64,6 +122,7 @@ public class PatientService {
 
                 newPatient = patientRepository.save(newPatient);
                 log.info("Created new patient: {}", newPatient.getId());
+                autocompleteIndex.put(newPatient.getId(), newPatient.getName());
 
                 auditService.logCreate("Patient", newPatient.getId(), newPatient);
 
@@ -83,6 +142,9 @@ public class PatientService {
 
         patient = patientRepository.save(patient);
         log.info("Updated patient: {}", id);
+        if (patient.isActive() && !patient.isAnonymized()) {
+            autocompleteIndex.put(id, patient.getName());
+        }
 
         auditService.logUpdate("Patient", patient.getId(), oldState, patient);
 
@@ -97,6 +159,7 @@ public class PatientService {
         patientRepository.save(patient);
 
         log.info("Deactivated patient: {}", id);
+        autocompleteIndex.remove(id);
         auditService.logUpdate("Patient", id, patient, patient);
     }
 
@@ -109,4 +172,8 @@ public class PatientService {
             .anonymized(original.isAnonymized())
             .build();
     }
+
+    private record SearchKey(float score, UUID id) {}
+
+    private record NameKey(String name, UUID id) {}
 }
@@ -1,14 +1,19 @@
 package com.psicoagenda.application.service;
 
 import com.psicoagenda.application.dto.request.PaymentUpdateRequest;
+import com.psicoagenda.application.dto.response.CursorPage;
 import com.psicoagenda.application.dto.response.PaymentResponse;
+import com.psicoagenda.application.exception.BusinessException;
+import com.psicoagenda.application.exception.ConflictException;
 import com.psicoagenda.application.exception.ResourceNotFoundException;
 import com.psicoagenda.domain.entity.Payment;
+import com.psicoagenda.domain.enums.PaymentMethod;
 import com.psicoagenda.domain.enums.PaymentStatus;
 import com.psicoagenda.domain.repository.PaymentRepository;
 import com.psicoagenda.infrastructure.audit.AuditService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,10 +31,20 @@ public class PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final AuditService auditService;
-
-    public PaymentService(PaymentRepository paymentRepository, AuditService auditService) {
+    private final DailyStatsService dailyStatsService;
+    private final FinancialReportService financialReportService;
+    private final ReceiptNumberService receiptNumberService;
+
+    public PaymentService(PaymentRepository paymentRepository,
+                          AuditService auditService,
+                          DailyStatsService dailyStatsService,
+                          FinancialReportService financialReportService,
+                          ReceiptNumberService receiptNumberService) {
         this.paymentRepository = paymentRepository;
         this.auditService = auditService;
+        this.dailyStatsService = dailyStatsService;
+        this.financialReportService = financialReportService;
+        this.receiptNumberService = receiptNumberService;
     }
 
     @Transactional(readOnly = true)
@@ -46,17 +61,28 @@ public class PaymentService {
         return PaymentResponse.from(payment);
     }
 
+    /**
+     * Payments with the given status, most recent appointment first, one page at a time
+     */
     @Transactional(readOnly = true)
-    public List<PaymentResponse> getPaymentsByStatus(PaymentStatus status) {
-        return paymentRepository.findByStatusWithDetails(status)
-            .stream()
-            .map(PaymentResponse::fromWithAppointment)
-            .collect(Collectors.toList());
+    public CursorPage<PaymentResponse> getPaymentsByStatus(PaymentStatus status, String cursor, int limit) {
+        int pageSize = CursorPage.pageSize(limit, CursorPage.MAX_PAGE_SIZE);
+        // Descending order: the first page starts above any real appointment
+        AppointmentKey after = cursor == null || cursor.isBlank()
+            ? new AppointmentKey(LocalDateTime.of(9999, 12, 31, 0, 0), new UUID(-1L, -1L))
+            : CursorPage.decodeCursor(cursor, 2,
+                parts -> new AppointmentKey(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1])));
+
+        List<Payment> payments = paymentRepository.findPageByStatusWithDetails(
+            status, after.start(), after.id(), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(payments, pageSize, PaymentResponse::fromWithAppointment,
+            payment -> CursorPage.encodeCursor(
+                payment.getAppointment().getStartDateTime(), payment.getAppointment().getId()));
     }
 
     @Transactional(readOnly = true)
-    public List<PaymentResponse> getPendingPayments() {
-        return getPaymentsByStatus(PaymentStatus.UNPAID);
+    public CursorPage<PaymentResponse> getPendingPayments(String cursor, int limit) {
+        return getPaymentsByStatus(PaymentStatus.UNPAID, cursor, limit);
     }
 
     @Transactional(readOnly = true)
@@ -72,6 +98,8 @@ public class PaymentService {
             .orElseThrow(() -> new ResourceNotFoundException("Pagamento", "id", id));
 
         PaymentStatus oldStatus = payment.getStatus();
+        DailyStatsService.Snapshot before = DailyStatsService.Snapshot.of(payment.getAppointment(), payment);
+        financialReportService.evictMonth(payment.getPaidAt());
 
         payment.setStatus(request.status());
 
@@ -81,19 +109,26 @@ public class PaymentService {
             payment.setPaidAt(null);
         }
 
+        if (request.paymentMethod() != null) {
+            payment.setPaymentMethod(request.paymentMethod());
+        }
+
         if (request.amount() != null) {
             payment.setAmount(request.amount());
         }
 
         if (request.receiptNumber() != null) {
-            payment.setReceiptNumber(request.receiptNumber());
+            setManualReceiptNumber(payment, request.receiptNumber());
         }
+        assignReceiptNumber(payment);
 
         if (request.notes() != null) {
             payment.setNotes(request.notes());
         }
 
         payment = paymentRepository.save(payment);
+        dailyStatsService.record(before, DailyStatsService.Snapshot.of(payment.getAppointment(), payment));
+        financialReportService.evictMonth(payment.getPaidAt());
         log.info("Updated payment {} status from {} to {}", id, oldStatus, request.status());
 
         auditService.logUpdate("Payment", id, oldStatus.name(), request.status().name());
@@ -101,17 +136,25 @@ public class PaymentService {
         return PaymentResponse.from(payment);
     }
 
-    public PaymentResponse markAsPaid(UUID appointmentId, String receiptNumber) {
+    public PaymentResponse markAsPaid(UUID appointmentId, String receiptNumber, PaymentMethod paymentMethod) {
         Payment payment = paymentRepository.findByAppointmentId(appointmentId)
             .orElseThrow(() -> new ResourceNotFoundException("Pagamento", "appointmentId", appointmentId));
+        DailyStatsService.Snapshot before = DailyStatsService.Snapshot.of(payment.getAppointment(), payment);
+        // Marking again moves the payment out of the month it was first paid in
+        financialReportService.evictMonth(payment.getPaidAt());
 
         payment.setStatus(PaymentStatus.PAID);
         payment.setPaidAt(LocalDateTime.now());
         if (receiptNumber != null) {
-            payment.setReceiptNumber(receiptNumber);
+            setManualReceiptNumber(payment, receiptNumber);
+        }
+        if (paymentMethod != null) {
+            payment.setPaymentMethod(paymentMethod);
         }
+        assignReceiptNumber(payment);
 
         payment = paymentRepository.save(payment);
+        dailyStatsService.record(before, DailyStatsService.Snapshot.of(payment.getAppointment(), payment));
         log.info("Marked payment for appointment {} as paid", appointmentId);
 
         auditService.logUpdate("Payment", payment.getId(), "UNPAID", "PAID");
@@ -122,11 +165,14 @@ public class PaymentService {
     public PaymentResponse markAsWaived(UUID appointmentId, String reason) {
         Payment payment = paymentRepository.findByAppointmentId(appointmentId)
             .orElseThrow(() -> new ResourceNotFoundException("Pagamento", "appointmentId", appointmentId));
+        DailyStatsService.Snapshot before = DailyStatsService.Snapshot.of(payment.getAppointment(), payment);
+        financialReportService.evictMonth(payment.getPaidAt());
 
         payment.setStatus(PaymentStatus.WAIVED);
         payment.setNotes(reason);
 
         payment = paymentRepository.save(payment);
+        dailyStatsService.record(before, DailyStatsService.Snapshot.of(payment.getAppointment(), payment));
         log.info("Marked payment for appointment {} as waived", appointmentId);
 
         auditService.logUpdate("Payment", payment.getId(), "UNPAID", "WAIVED");
@@ -146,11 +192,39 @@ public class PaymentService {
     }
 
     /**
-     * Generate a simple receipt number (sequential for the year)
+     * The receipt number the next payment will get; numbers are only taken when a payment is marked paid
      */
+    @Transactional(readOnly = true)
     public String generateReceiptNumber() {
-        int year = LocalDateTime.now().getYear();
-        long count = paymentRepository.count();
-        return String.format("REC-%d-%05d", year, count + 1);
+        return receiptNumberService.peek(LocalDateTime.now().getYear());
     }
+
+    /**
+     * Use a receipt number issued outside the system. Numbers in the generated format would
+     * bypass the counter, so they are only accepted unchanged.
+     */
+    private void setManualReceiptNumber(Payment payment, String receiptNumber) {
+        if (receiptNumber.equals(payment.getReceiptNumber())) {
+            return;
+        }
+        if (ReceiptNumberService.isGenerated(receiptNumber)) {
+            throw new BusinessException("Números de recibo no formato REC-aaaa-nnnnn são atribuídos automaticamente");
+        }
+        if (paymentRepository.existsByReceiptNumberAndIdNot(receiptNumber, payment.getId())) {
+            throw new ConflictException("Número de recibo já utilizado em outro pagamento");
+        }
+        payment.setReceiptNumber(receiptNumber);
+    }
+
+    /**
+     * Give a paid payment without a receipt the next number of its payment year
+     */
+    private void assignReceiptNumber(Payment payment) {
+        if (payment.getStatus() == PaymentStatus.PAID
+                && (payment.getReceiptNumber() == null || payment.getReceiptNumber().isBlank())) {
+            payment.setReceiptNumber(receiptNumberService.next(payment.getPaidAt().getYear()));
+        }
+    }
+
+    private record AppointmentKey(LocalDateTime start, UUID id) {}
 }
@@ -0,0 +1,65 @@
+package com.psicoagenda.application.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.regex.Pattern;
+
+/**
+ * Sequential receipt numbers per year ({@code REC-2024-00042}).
+ * <p>
+ * The counter lives in {@code receipt_counter}, one row per year, bumped with an upsert that
+ * returns the new value. The row stays locked until the caller's transaction ends: concurrent
+ * payments wait for each other instead of reading the same value, and a rolled-back payment
+ * releases its number, so committed receipts have neither duplicates nor gaps. Numbers in this
+ * format are only ever handed out here; {@link PaymentService} rejects them as manual input.
+ */
+@Service
+public class ReceiptNumberService {
+
+    private static final Pattern GENERATED_FORMAT = Pattern.compile("REC-\\d{4}-\\d+");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReceiptNumberService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Take the next number of the year; must join the transaction that stores it
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String next(int year) {
+        Long number = jdbcTemplate.queryForObject(
+            "INSERT INTO receipt_counter (receipt_year, last_number) VALUES (?, 1) " +
+            "ON CONFLICT (receipt_year) DO UPDATE SET last_number = receipt_counter.last_number + 1 " +
+            "RETURNING last_number",
+            Long.class, year);
+        return format(year, number);
+    }
+
+    /**
+     * The number the next payment of the year would get, without taking it
+     */
+    @Transactional(readOnly = true)
+    public String peek(int year) {
+        Long last = jdbcTemplate.query(
+            "SELECT last_number FROM receipt_counter WHERE receipt_year = ?",
+            resultSet -> resultSet.next() ? resultSet.getLong(1) : 0L,
+            year);
+        return format(year, last + 1);
+    }
+
+    /**
+     * Whether the value looks like a number taken from the counter
+     */
+    static boolean isGenerated(String receiptNumber) {
+        return GENERATED_FORMAT.matcher(receiptNumber.trim()).matches();
+    }
+
+    static String format(int year, long number) {
+        return String.format("REC-%d-%05d", year, number);
+    }
+}
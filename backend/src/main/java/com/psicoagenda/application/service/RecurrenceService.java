@@ -3,6 +3,7 @@ package com.psicoagenda.application.service;
 import com.psicoagenda.application.dto.request.RecurringSeriesRequest;
 import com.psicoagenda.application.dto.response.AppointmentResponse;
 import com.psicoagenda.application.dto.response.ConflictCheckResponse;
+import com.psicoagenda.application.dto.response.CursorPage;
 import com.psicoagenda.application.dto.response.RecurringSeriesResponse;
 import com.psicoagenda.application.exception.ConflictException;
 import com.psicoagenda.application.exception.ResourceNotFoundException;
@@ -13,9 +14,11 @@ import com.psicoagenda.domain.enums.PaymentStatus;
 import com.psicoagenda.domain.enums.RecurrenceFrequency;
 import com.psicoagenda.domain.repository.*;
 import com.psicoagenda.infrastructure.audit.AuditService;
+import com.psicoagenda.infrastructure.notification.NotificationScheduleService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,7 +43,9 @@ public class RecurrenceService {
     private final BlockRepository blockRepository;
     private final AvailabilityRepository availabilityRepository;
     private final PatientService patientService;
+    private final NotificationScheduleService notificationScheduleService;
     private final AuditService auditService;
+    private final DailyStatsService dailyStatsService;
 
     @Value("${app.booking.max-advance-days:90}")
     private int maxAdvanceDays;
@@ -53,7 +58,9 @@ public class RecurrenceService {
                              BlockRepository blockRepository,
                              AvailabilityRepository availabilityRepository,
                              PatientService patientService,
-                             AuditService auditService) {
+                             NotificationScheduleService notificationScheduleService,
+                             AuditService auditService,
+                             DailyStatsService dailyStatsService) {
         this.recurringSeriesRepository = recurringSeriesRepository;
         this.appointmentRepository = appointmentRepository;
         this.sessionTypeRepository = sessionTypeRepository;
@@ -62,15 +69,23 @@ public class RecurrenceService {
         this.blockRepository = blockRepository;
         this.availabilityRepository = availabilityRepository;
         this.patientService = patientService;
+        this.notificationScheduleService = notificationScheduleService;
         this.auditService = auditService;
+        this.dailyStatsService = dailyStatsService;
     }
 
     @Transactional(readOnly = true)
-    public List<RecurringSeriesResponse> getAllActiveSeries() {
-        return recurringSeriesRepository.findAllActiveWithDetails()
-            .stream()
-            .map(RecurringSeriesResponse::from)
-            .collect(Collectors.toList());
+    public CursorPage<RecurringSeriesResponse> getActiveSeries(String cursor, int limit) {
+        int pageSize = CursorPage.pageSize(limit, CursorPage.MAX_PAGE_SIZE);
+        // Newest series first: the first page starts above any real start date
+        SeriesKey after = cursor == null || cursor.isBlank()
+            ? new SeriesKey(LocalDate.of(9999, 12, 31), new UUID(-1L, -1L))
+            : CursorPage.decodeCursor(cursor, 2, parts -> new SeriesKey(LocalDate.parse(parts[0]), UUID.fromString(parts[1])));
+
+        List<RecurringSeries> series = recurringSeriesRepository.findActivePageWithDetails(
+            after.startDate(), after.id(), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(series, pageSize, RecurringSeriesResponse::from,
+            s -> CursorPage.encodeCursor(s.getStartDate(), s.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -193,6 +208,7 @@ public class RecurrenceService {
         );
 
         List<Appointment> appointments = new ArrayList<>();
+        List<DailyStatsService.Snapshot> created = new ArrayList<>();
         for (LocalDateTime occurrence : occurrences) {
             Appointment appointment = Appointment.builder()
                 .patient(patient)
@@ -213,9 +229,13 @@ public class RecurrenceService {
                 .amount(sessionType.getPrice())
                 .build();
             paymentRepository.save(payment);
+            created.add(DailyStatsService.Snapshot.of(appointment, payment));
+
+            notificationScheduleService.scheduleReminders(appointment);
 
             appointments.add(appointment);
         }
+        dailyStatsService.record(List.of(), created);
 
         log.info("Created recurring series {} with {} appointments", series.getId(), appointments.size());
         auditService.logCreate("RecurringSeries", series.getId(), series);
@@ -238,16 +258,20 @@ public class RecurrenceService {
             throw new ValidationException("Este agendamento não faz parte de uma série recorrente");
         }
 
+        DailyStatsService.Snapshot before = DailyStatsService.Snapshot.of(appointment);
         appointment.setStatus(AppointmentStatus.CANCELLED);
         appointment.setCancelledAt(LocalDateTime.now());
         appointment.setCancelledBy("ADMIN");
         appointment.setCancellationReason(reason);
 
         appointment = appointmentRepository.save(appointment);
+        dailyStatsService.record(before, DailyStatsService.Snapshot.of(appointment));
         log.info("Cancelled occurrence {} from series {}", appointmentId, appointment.getRecurringSeries().getId());
 
         auditService.logUpdate("Appointment", appointmentId, "CONFIRMED", "CANCELLED");
 
+        notificationScheduleService.cancelReminders(appointmentId);
+
         return AppointmentResponse.from(appointment);
     }
 
@@ -262,13 +286,19 @@ public class RecurrenceService {
         List<Appointment> futureAppointments = appointmentRepository.findFutureAppointmentsBySeries(
             seriesId, LocalDateTime.now());
 
+        List<DailyStatsService.Snapshot> before = new ArrayList<>();
+        List<DailyStatsService.Snapshot> after = new ArrayList<>();
         for (Appointment appointment : futureAppointments) {
+            before.add(DailyStatsService.Snapshot.of(appointment));
             appointment.setStatus(AppointmentStatus.CANCELLED);
             appointment.setCancelledAt(LocalDateTime.now());
             appointment.setCancelledBy("ADMIN");
             appointment.setCancellationReason(reason != null ? reason : "Série cancelada");
             appointmentRepository.save(appointment);
+            after.add(DailyStatsService.Snapshot.of(appointment));
+            notificationScheduleService.cancelReminders(appointment.getId());
         }
+        dailyStatsService.record(before, after);
 
         // Deactivate the series
         series.setActive(false);
@@ -337,4 +367,6 @@ public class RecurrenceService {
             throw new ValidationException("O horário selecionado está fora do expediente configurado");
         }
     }
+
+    private record SeriesKey(LocalDate startDate, UUID id) {}
 }
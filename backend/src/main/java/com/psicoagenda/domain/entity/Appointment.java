@@ -11,7 +11,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "appointment", indexes = {
-    @Index(name = "idx_appointment_start", columnList = "start_datetime"),
+    @Index(name = "idx_appointment_start_id", columnList = "start_datetime, id"),
     @Index(name = "idx_appointment_patient", columnList = "patient_id"),
     @Index(name = "idx_appointment_status", columnList = "status"),
     @Index(name = "idx_appointment_cancellation_token", columnList = "cancellation_token")
@@ -0,0 +1,45 @@
+package com.psicoagenda.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One day of the statistics rollup; rows are only written through {@code DailyStatsRepository} upserts
+ */
+@Entity
+@Table(name = "daily_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyStats {
+
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Column(nullable = false)
+    private int booked;
+
+    @Column(nullable = false)
+    private int cancelled;
+
+    @Column(name = "cancelled_late", nullable = false)
+    private int cancelledLate;
+
+    @Column(name = "no_show", nullable = false)
+    private int noShow;
+
+    @Column(name = "revenue_paid", nullable = false, precision = 12, scale = 2)
+    private BigDecimal revenuePaid;
+
+    @Column(name = "revenue_pending", nullable = false, precision = 12, scale = 2)
+    private BigDecimal revenuePending;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
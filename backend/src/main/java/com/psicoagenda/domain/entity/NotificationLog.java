@@ -6,6 +6,7 @@ import com.psicoagenda.domain.enums.NotificationType;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
@@ -21,9 +22,17 @@ import java.time.LocalDateTime;
 public class NotificationLog extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "appointment_id", nullable = false)
+    @JoinColumn(name = "appointment_id")
     private Appointment appointment;
 
+    // Set instead of the appointment for notifications covering a date, e.g. the daily digest
+    @Column(name = "reference_date")
+    private LocalDate referenceDate;
+
+    // Appointment start the notification was sent for; a reschedule makes it stale
+    @Column(name = "scheduled_for")
+    private LocalDateTime scheduledFor;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "notification_type", nullable = false)
     private NotificationType notificationType;
@@ -45,4 +54,11 @@ public class NotificationLog extends BaseEntity {
 
     @Column(name = "recipient")
     private String recipient;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
 }
@@ -0,0 +1,36 @@
+package com.psicoagenda.domain.entity;
+
+import com.psicoagenda.domain.enums.NotificationTrigger;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A reminder precomputed for an appointment, due at a fixed instant.
+ * Rows are written when an appointment is created or rescheduled and
+ * removed on cancellation or once the reminder has been dispatched.
+ */
+@Entity
+@Table(name = "notification_schedule", indexes = {
+    @Index(name = "idx_notification_schedule_due", columnList = "due_at"),
+    @Index(name = "idx_notification_schedule_appointment", columnList = "appointment_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationSchedule extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "appointment_id", nullable = false)
+    private Appointment appointment;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "trigger_type", nullable = false)
+    private NotificationTrigger triggerType;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+}
@@ -1,7 +1,9 @@
 package com.psicoagenda.domain.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.psicoagenda.infrastructure.encryption.EncryptedStringConverter;
+import com.psicoagenda.infrastructure.encryption.PatientBlindIndexListener;
+import com.psicoagenda.infrastructure.encryption.SealedString;
+import com.psicoagenda.infrastructure.encryption.SealedStringConverter;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,7 +11,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "patient")
+@Table(name = "patient", indexes = {
+    @Index(name = "idx_patient_phone_bidx", columnList = "phone_bidx"),
+    @Index(name = "idx_patient_email_bidx", columnList = "email_bidx")
+})
+@EntityListeners(PatientBlindIndexListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,12 +26,26 @@ public class Patient extends BaseEntity {
     @Column(nullable = false)
     private String name;
 
+    // Encrypted at rest and only decrypted when read through getPhone()/getEmail()
     @Column(nullable = false)
-    @Convert(converter = EncryptedStringConverter.class)
-    private String phone;
+    @Convert(converter = SealedStringConverter.class)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private SealedString phone;
 
-    @Convert(converter = EncryptedStringConverter.class)
-    private String email;
+    @Convert(converter = SealedStringConverter.class)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private SealedString email;
+
+    // Keyed HMAC of the normalized phone/email, the only way to look them up by equality
+    @JsonIgnore
+    @Column(name = "phone_bidx", length = 64)
+    private String phoneBidx;
+
+    @JsonIgnore
+    @Column(name = "email_bidx", length = 64)
+    private String emailBidx;
 
     @Column(nullable = false)
     @Builder.Default
@@ -49,4 +69,33 @@ public class Patient extends BaseEntity {
     @OneToMany(mappedBy = "patient", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Consent> consents = new ArrayList<>();
+
+    public String getPhone() {
+        return SealedString.reveal(phone);
+    }
+
+    public void setPhone(String phone) {
+        this.phone = SealedString.of(phone);
+    }
+
+    public String getEmail() {
+        return SealedString.reveal(email);
+    }
+
+    public void setEmail(String email) {
+        this.email = SealedString.of(email);
+    }
+
+    public static class PatientBuilder {
+
+        public PatientBuilder phone(String phone) {
+            this.phone = SealedString.of(phone);
+            return this;
+        }
+
+        public PatientBuilder email(String email) {
+            this.email = SealedString.of(email);
+            return this;
+        }
+    }
 }
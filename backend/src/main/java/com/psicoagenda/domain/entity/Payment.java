@@ -1,5 +1,6 @@
 package com.psicoagenda.domain.entity;
 
+import com.psicoagenda.domain.enums.PaymentMethod;
 import com.psicoagenda.domain.enums.PaymentStatus;
 import jakarta.persistence.*;
 import lombok.*;
@@ -31,6 +32,10 @@ public class Payment extends BaseEntity {
     @Column(name = "paid_at")
     private LocalDateTime paidAt;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", length = 20)
+    private PaymentMethod paymentMethod;
+
     @Column(name = "receipt_number")
     private String receiptNumber;
 
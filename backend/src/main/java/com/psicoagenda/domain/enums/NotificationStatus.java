@@ -2,6 +2,9 @@ package com.psicoagenda.domain.enums;
 
 public enum NotificationStatus {
     PENDING,
+    // Claimed by a node that is handing it to the provider; next_attempt_at is the claim lease
+    SENDING,
     SENT,
-    FAILED
+    FAILED,
+    DEAD_LETTER
 }
@@ -5,5 +5,6 @@ public enum NotificationTrigger {
     REMINDER_24H,          // Lembrete 24h antes
     REMINDER_2H,           // Lembrete 2h antes
     CANCELLATION,          // Cancelamento
-    RESCHEDULE             // Reagendamento
+    RESCHEDULE,            // Reagendamento
+    DAILY_DIGEST           // Agenda do dia seguinte para o profissional
 }
@@ -0,0 +1,10 @@
+package com.psicoagenda.domain.enums;
+
+public enum PaymentMethod {
+    PIX,            // Pix
+    CASH,           // Dinheiro
+    CREDIT_CARD,    // Cartão de crédito
+    DEBIT_CARD,     // Cartão de débito
+    BANK_TRANSFER,  // Transferência/TED
+    OTHER           // Outro
+}
@@ -2,6 +2,11 @@ package com.psicoagenda.domain.repository;
 
 import com.psicoagenda.domain.entity.Appointment;
 import com.psicoagenda.domain.enums.AppointmentStatus;
+import com.psicoagenda.domain.repository.projection.AgendaEntry;
+import com.psicoagenda.domain.repository.projection.AppointmentInterval;
+import com.psicoagenda.domain.repository.projection.AppointmentSummary;
+import com.psicoagenda.domain.repository.projection.DashboardTotals;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,18 +20,72 @@ import java.util.UUID;
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, UUID> {
 
+    String SUMMARY_SELECT = "SELECT new com.psicoagenda.domain.repository.projection.AppointmentSummary(" +
+        "a.id, p.id, p.name, p.active, p.anonymized, p.createdAt, st, rs.id, " +
+        "a.startDateTime, a.endDateTime, a.status, a.sessionLink, a.cancellationToken, " +
+        "a.cancelledAt, a.cancelledBy, a.cancellationReason, " +
+        "pay.id, pay.status, pay.amount, pay.paidAt, pay.receiptNumber, a.createdAt) " +
+        "FROM Appointment a JOIN a.patient p JOIN a.sessionType st " +
+        "LEFT JOIN a.recurringSeries rs LEFT JOIN a.payment pay ";
+
     Optional<Appointment> findByCancellationToken(String cancellationToken);
 
-    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.sessionType " +
+    @Query("SELECT new com.psicoagenda.domain.repository.projection.AppointmentInterval(" +
+           "a.startDateTime, a.endDateTime, a.status) " +
+           "FROM Appointment a WHERE a.startDateTime >= :start AND a.startDateTime < :end")
+    List<AppointmentInterval> findIntervalsInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Today's and this week's active appointment counts, unpaid payments and the revenue
+     * paid in [monthStart, monthEnd), in a single round trip. The week range is one index
+     * scan; today's count is a filter over it, so today must fall inside the week.
+     */
+    @Query(value = "SELECT " +
+                   "COUNT(*) FILTER (WHERE a.start_datetime >= :todayStart AND a.start_datetime < :todayEnd) " +
+                   "    AS \"todayCount\", " +
+                   "COUNT(*) AS \"weekCount\", " +
+                   "(SELECT COUNT(*) FROM payment WHERE status = 'UNPAID') AS \"pendingPayments\", " +
+                   "(SELECT COALESCE(SUM(amount), 0) FROM payment " +
+                   " WHERE status = 'PAID' AND paid_at >= :monthStart AND paid_at < :monthEnd) AS \"revenue\" " +
+                   "FROM appointment a " +
+                   "WHERE a.start_datetime >= :weekStart AND a.start_datetime < :weekEnd " +
+                   "AND a.status NOT IN ('CANCELLED', 'CANCELLED_LATE')",
+           nativeQuery = true)
+    DashboardTotals getDashboardTotals(@Param("todayStart") LocalDateTime todayStart,
+                                       @Param("todayEnd") LocalDateTime todayEnd,
+                                       @Param("weekStart") LocalDateTime weekStart,
+                                       @Param("weekEnd") LocalDateTime weekEnd,
+                                       @Param("monthStart") LocalDateTime monthStart,
+                                       @Param("monthEnd") LocalDateTime monthEnd);
+
+    /**
+     * Time spans still taken by appointments starting in the range, for slot availability
+     */
+    @Query("SELECT new com.psicoagenda.domain.repository.projection.AppointmentInterval(" +
+           "a.startDateTime, a.endDateTime, a.status) " +
+           "FROM Appointment a WHERE a.startDateTime >= :start AND a.startDateTime < :end " +
+           "AND a.status NOT IN ('CANCELLED', 'CANCELLED_LATE')")
+    List<AppointmentInterval> findBookedIntervalsInRange(@Param("start") LocalDateTime start,
+                                                         @Param("end") LocalDateTime end);
+
+    @Query(SUMMARY_SELECT +
            "WHERE a.startDateTime >= :start AND a.startDateTime < :end " +
-           "AND a.status NOT IN ('CANCELLED', 'CANCELLED_LATE') " +
-           "ORDER BY a.startDateTime")
-    List<Appointment> findAppointmentsInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+           "AND (:includeCancelled = true OR a.status NOT IN ('CANCELLED', 'CANCELLED_LATE')) " +
+           "AND (a.startDateTime > :afterStart OR (a.startDateTime = :afterStart AND a.id > :afterId)) " +
+           "ORDER BY a.startDateTime, a.id")
+    List<AppointmentSummary> findSummaryPageInRange(@Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end,
+                                                    @Param("includeCancelled") boolean includeCancelled,
+                                                    @Param("afterStart") LocalDateTime afterStart,
+                                                    @Param("afterId") UUID afterId,
+                                                    Pageable pageable);
 
-    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.sessionType " +
+    @Query(SUMMARY_SELECT +
            "WHERE a.startDateTime >= :start AND a.startDateTime < :end " +
+           "AND a.status NOT IN ('CANCELLED', 'CANCELLED_LATE') " +
            "ORDER BY a.startDateTime")
-    List<Appointment> findAllAppointmentsInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    List<AppointmentSummary> findActiveSummariesInRange(@Param("start") LocalDateTime start,
+                                                        @Param("end") LocalDateTime end);
 
     @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM Appointment a " +
            "WHERE a.startDateTime < :end AND a.endDateTime > :start " +
@@ -49,11 +108,6 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
            "WHERE a.recurringSeries.id = :seriesId ORDER BY a.startDateTime")
     List<Appointment> findByRecurringSeriesId(@Param("seriesId") UUID seriesId);
 
-    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient " +
-           "WHERE a.status IN ('CONFIRMED', 'SCHEDULED') " +
-           "AND a.startDateTime BETWEEN :start AND :end")
-    List<Appointment> findUpcomingForReminders(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-
     List<Appointment> findByStatusIn(List<AppointmentStatus> statuses);
 
     @Query("SELECT a FROM Appointment a WHERE a.recurringSeries.id = :seriesId " +
@@ -66,9 +120,18 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
            "WHERE a.id = :id")
     Optional<Appointment> findByIdWithDetails(@Param("id") UUID id);
 
-    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.sessionType " +
+    @Query(SUMMARY_SELECT +
            "WHERE a.startDateTime >= CURRENT_TIMESTAMP " +
            "AND a.status IN ('CONFIRMED', 'SCHEDULED') " +
            "ORDER BY a.startDateTime LIMIT :limit")
-    List<Appointment> findNextAppointments(@Param("limit") int limit);
+    List<AppointmentSummary> findNextAppointments(@Param("limit") int limit);
+
+    @Query("SELECT new com.psicoagenda.domain.repository.projection.AgendaEntry(" +
+           "a.id, a.startDateTime, a.endDateTime, a.status, p.name, st.name, pay.status, " +
+           "COALESCE(pay.amount, st.price)) " +
+           "FROM Appointment a JOIN a.patient p JOIN a.sessionType st LEFT JOIN a.payment pay " +
+           "WHERE a.startDateTime >= :start AND a.startDateTime < :end " +
+           "AND a.status NOT IN ('CANCELLED', 'CANCELLED_LATE') " +
+           "ORDER BY a.startDateTime")
+    List<AgendaEntry> findAgendaInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 }
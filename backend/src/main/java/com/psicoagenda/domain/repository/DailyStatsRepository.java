@@ -0,0 +1,104 @@
+package com.psicoagenda.domain.repository;
+
+import com.psicoagenda.domain.entity.DailyStats;
+import com.psicoagenda.domain.repository.projection.DailyStatsTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Repository
+public interface DailyStatsRepository extends JpaRepository<DailyStats, LocalDate> {
+
+    // Each appointment's contribution to its start date, and each paid payment's to its payment date
+    String SOURCE_SELECT =
+        "SELECT stat_date, SUM(booked) AS booked, SUM(cancelled) AS cancelled, " +
+        "SUM(cancelled_late) AS cancelled_late, SUM(no_show) AS no_show, " +
+        "SUM(revenue_paid) AS revenue_paid, SUM(revenue_pending) AS revenue_pending " +
+        "FROM (" +
+        "  SELECT CAST(a.start_datetime AS DATE) AS stat_date, " +
+        "    CASE WHEN a.status IN ('SCHEDULED', 'CONFIRMED', 'ATTENDED') THEN 1 ELSE 0 END AS booked, " +
+        "    CASE WHEN a.status = 'CANCELLED' THEN 1 ELSE 0 END AS cancelled, " +
+        "    CASE WHEN a.status = 'CANCELLED_LATE' THEN 1 ELSE 0 END AS cancelled_late, " +
+        "    CASE WHEN a.status = 'NO_SHOW' THEN 1 ELSE 0 END AS no_show, " +
+        "    0 AS revenue_paid, " +
+        "    CASE WHEN p.status = 'UNPAID' THEN p.amount ELSE 0 END AS revenue_pending " +
+        "  FROM appointment a LEFT JOIN payment p ON p.appointment_id = a.id " +
+        "  UNION ALL " +
+        "  SELECT CAST(COALESCE(p.paid_at, a.start_datetime) AS DATE), 0, 0, 0, 0, p.amount, 0 " +
+        "  FROM payment p JOIN appointment a ON a.id = p.appointment_id " +
+        "  WHERE p.status = 'PAID'" +
+        ") contributions GROUP BY stat_date";
+
+    /**
+     * Add a delta to one day's counters, creating the row on first use
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_stats " +
+                   "(stat_date, booked, cancelled, cancelled_late, no_show, revenue_paid, revenue_pending, updated_at) " +
+                   "VALUES (:date, :booked, :cancelled, :cancelledLate, :noShow, :revenuePaid, :revenuePending, NOW()) " +
+                   "ON CONFLICT (stat_date) DO UPDATE SET " +
+                   "booked = daily_stats.booked + EXCLUDED.booked, " +
+                   "cancelled = daily_stats.cancelled + EXCLUDED.cancelled, " +
+                   "cancelled_late = daily_stats.cancelled_late + EXCLUDED.cancelled_late, " +
+                   "no_show = daily_stats.no_show + EXCLUDED.no_show, " +
+                   "revenue_paid = daily_stats.revenue_paid + EXCLUDED.revenue_paid, " +
+                   "revenue_pending = daily_stats.revenue_pending + EXCLUDED.revenue_pending, " +
+                   "updated_at = NOW()",
+           nativeQuery = true)
+    void addDelta(@Param("date") LocalDate date,
+                  @Param("booked") int booked,
+                  @Param("cancelled") int cancelled,
+                  @Param("cancelledLate") int cancelledLate,
+                  @Param("noShow") int noShow,
+                  @Param("revenuePaid") BigDecimal revenuePaid,
+                  @Param("revenuePending") BigDecimal revenuePending);
+
+    /**
+     * Block incremental updates until the repair commits. Writers that already changed an
+     * appointment but not yet the rollup then add their delta on top of the repaired values.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE daily_stats IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRepair();
+
+    /**
+     * Overwrite every day whose stored counters differ from a recount of appointments and payments
+     * @return number of days that had drifted
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_stats " +
+                   "(stat_date, booked, cancelled, cancelled_late, no_show, revenue_paid, revenue_pending, updated_at) " +
+                   "SELECT s.*, NOW() FROM (" + SOURCE_SELECT + ") s " +
+                   "ON CONFLICT (stat_date) DO UPDATE SET " +
+                   "booked = EXCLUDED.booked, cancelled = EXCLUDED.cancelled, " +
+                   "cancelled_late = EXCLUDED.cancelled_late, no_show = EXCLUDED.no_show, " +
+                   "revenue_paid = EXCLUDED.revenue_paid, revenue_pending = EXCLUDED.revenue_pending, " +
+                   "updated_at = NOW() " +
+                   "WHERE (daily_stats.booked, daily_stats.cancelled, daily_stats.cancelled_late, " +
+                   "       daily_stats.no_show, daily_stats.revenue_paid, daily_stats.revenue_pending) " +
+                   "IS DISTINCT FROM (EXCLUDED.booked, EXCLUDED.cancelled, EXCLUDED.cancelled_late, " +
+                   "       EXCLUDED.no_show, EXCLUDED.revenue_paid, EXCLUDED.revenue_pending)",
+           nativeQuery = true)
+    int repairFromSource();
+
+    /**
+     * Drop days that no longer have any appointment or payment
+     */
+    @Modifying
+    @Query(value = "DELETE FROM daily_stats d " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM (" + SOURCE_SELECT + ") s WHERE s.stat_date = d.stat_date)",
+           nativeQuery = true)
+    int deleteWithoutSource();
+
+    @Query("SELECT new com.psicoagenda.domain.repository.projection.DailyStatsTotals(" +
+           "COALESCE(SUM(d.booked), 0L), COALESCE(SUM(d.cancelled), 0L), " +
+           "COALESCE(SUM(d.cancelledLate), 0L), COALESCE(SUM(d.noShow), 0L), " +
+           "COALESCE(SUM(d.revenuePaid), 0), COALESCE(SUM(d.revenuePending), 0)) " +
+           "FROM DailyStats d WHERE d.statDate >= :start AND d.statDate < :end")
+    DailyStatsTotals sumInRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
@@ -3,9 +3,16 @@ package com.psicoagenda.domain.repository;
 import com.psicoagenda.domain.entity.NotificationLog;
 import com.psicoagenda.domain.enums.NotificationTrigger;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -13,5 +20,35 @@ public interface NotificationLogRepository extends JpaRepository<NotificationLog
 
     List<NotificationLog> findByAppointmentIdOrderByCreatedAtDesc(UUID appointmentId);
 
-    boolean existsByAppointmentIdAndTriggerType(UUID appointmentId, NotificationTrigger triggerType);
+    Optional<NotificationLog> findFirstByAppointmentIdAndTriggerTypeOrderByCreatedAtDesc(UUID appointmentId,
+                                                                                       NotificationTrigger triggerType);
+
+    boolean existsByTriggerTypeAndReferenceDate(NotificationTrigger triggerType, LocalDate referenceDate);
+
+    @Query("SELECT n FROM NotificationLog n LEFT JOIN FETCH n.appointment a LEFT JOIN FETCH a.patient WHERE n.id = :id")
+    Optional<NotificationLog> findByIdWithAppointment(@Param("id") UUID id);
+
+    /**
+     * Lock a batch of due retries; rows already locked by another node are skipped.
+     * SENDING rows are due once their claim lease has run out (the sending node went away).
+     */
+    @Query(value = "SELECT id FROM notification_log " +
+           "WHERE next_attempt_at <= :now AND status IN ('FAILED', 'PENDING', 'SENDING') " +
+           "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> lockDueRetryIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE NotificationLog n SET n.status = com.psicoagenda.domain.enums.NotificationStatus.SENDING, " +
+           "n.nextAttemptAt = :leaseUntil WHERE n.id IN :ids")
+    int claimForSending(@Param("ids") Collection<UUID> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Claim a deferred notification for sending
+     * @return 0 if it is no longer PENDING, e.g. the retry job claimed it first
+     */
+    @Modifying
+    @Query("UPDATE NotificationLog n SET n.status = com.psicoagenda.domain.enums.NotificationStatus.SENDING, " +
+           "n.nextAttemptAt = :leaseUntil " +
+           "WHERE n.id = :id AND n.status = com.psicoagenda.domain.enums.NotificationStatus.PENDING")
+    int claimPending(@Param("id") UUID id, @Param("leaseUntil") LocalDateTime leaseUntil);
 }
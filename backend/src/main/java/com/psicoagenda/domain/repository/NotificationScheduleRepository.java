@@ -0,0 +1,33 @@
+package com.psicoagenda.domain.repository;
+
+import com.psicoagenda.domain.entity.NotificationSchedule;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface NotificationScheduleRepository extends JpaRepository<NotificationSchedule, UUID> {
+
+    @Query("SELECT ns.id FROM NotificationSchedule ns WHERE ns.dueAt <= :now ORDER BY ns.dueAt")
+    List<UUID> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT ns FROM NotificationSchedule ns JOIN FETCH ns.appointment a JOIN FETCH a.patient " +
+           "WHERE ns.id = :id")
+    Optional<NotificationSchedule> findByIdWithAppointment(@Param("id") UUID id);
+
+    List<NotificationSchedule> findByDueAtBefore(LocalDateTime until);
+
+    List<NotificationSchedule> findByDueAtGreaterThanEqualAndDueAtBefore(LocalDateTime from, LocalDateTime until);
+
+    @Modifying
+    @Query("DELETE FROM NotificationSchedule ns WHERE ns.appointment.id = :appointmentId")
+    int deleteByAppointmentId(@Param("appointmentId") UUID appointmentId);
+}
@@ -1,6 +1,10 @@
 package com.psicoagenda.domain.repository;
 
 import com.psicoagenda.domain.entity.Patient;
+import com.psicoagenda.domain.repository.projection.PatientName;
+import com.psicoagenda.domain.repository.projection.PatientSearchHit;
+import com.psicoagenda.infrastructure.encryption.SealedString;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -14,17 +18,60 @@ import java.util.UUID;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, UUID> {
-    List<Patient> findByActiveTrue();
+    @Query("SELECT p FROM Patient p WHERE p.active = true " +
+           "AND (p.name > :afterName OR (p.name = :afterName AND p.id > :afterId)) " +
+           "ORDER BY p.name, p.id")
+    List<Patient> findActivePage(@Param("afterName") String afterName,
+                                 @Param("afterId") UUID afterId,
+                                 Pageable pageable);
 
-    List<Patient> findByNameContainingIgnoreCaseAndActiveTrue(String name);
+    /**
+     * Active patients whose accent-folded name matches the query, best matches first.
+     * Trigram word similarity catches typos and partial words; the LIKE branch keeps exact
+     * substrings that score low. Pages continue after (afterScore, afterId).
+     */
+    @Query(value = "SELECT p.id AS \"id\", p.name AS \"name\", p.active AS \"active\", " +
+                   "p.anonymized AS \"anonymized\", p.created_at AS \"createdAt\", m.score AS \"score\" " +
+                   "FROM patient p " +
+                   "CROSS JOIN LATERAL (SELECT word_similarity(immutable_unaccent(lower(:query)), " +
+                   "                                           immutable_unaccent(lower(p.name))) AS score) m " +
+                   "WHERE p.active = true " +
+                   "AND (immutable_unaccent(lower(:query)) <% immutable_unaccent(lower(p.name)) " +
+                   "     OR immutable_unaccent(lower(p.name)) LIKE '%' || immutable_unaccent(lower(:likeQuery)) || '%') " +
+                   "AND (m.score < :afterScore OR (m.score = :afterScore AND p.id > :afterId)) " +
+                   "ORDER BY m.score DESC, p.id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<PatientSearchHit> searchByName(@Param("query") String query,
+                                        @Param("likeQuery") String likeQuery,
+                                        @Param("afterScore") float afterScore,
+                                        @Param("afterId") UUID afterId,
+                                        @Param("limit") int limit);
 
-    Optional<Patient> findByPhoneAndActiveTrue(String phone);
+    @Query("SELECT new com.psicoagenda.domain.repository.projection.PatientName(p.id, p.name) " +
+           "FROM Patient p WHERE p.active = true AND p.anonymized = false")
+    List<PatientName> findActiveNames();
+
+    // Oldest first: rows duplicated before the blind index existed resolve to the original patient
+    Optional<Patient> findFirstByPhoneBidxAndActiveTrueOrderByCreatedAtAsc(String phoneBidx);
+
+    Optional<Patient> findFirstByEmailBidxAndActiveTrueOrderByCreatedAtAsc(String emailBidx);
+
+    @Query("SELECT p.id FROM Patient p WHERE p.phoneBidx IS NULL AND p.anonymized = false " +
+           "AND p.id > :afterId ORDER BY p.id")
+    List<UUID> findIdsWithoutBlindIndex(@Param("afterId") UUID afterId, Pageable pageable);
 
     @Query("SELECT p FROM Patient p WHERE p.anonymized = false AND p.createdAt < :cutoffDate AND NOT EXISTS " +
            "(SELECT 1 FROM Appointment a WHERE a.patient = p AND a.startDateTime >= :cutoffDate)")
     List<Patient> findPatientsForAnonymization(@Param("cutoffDate") LocalDateTime cutoffDate);
 
+    // Contact placeholders go through the converter like any other value, so they stay readable
     @Modifying
-    @Query("UPDATE Patient p SET p.name = 'Anonimizado', p.phone = 'XXX', p.email = 'XXX', p.anonymized = true WHERE p.id = :id")
-    void anonymizePatient(@Param("id") UUID id);
+    @Query("UPDATE Patient p SET p.name = 'Anonimizado', p.phone = :placeholder, p.email = :placeholder, " +
+           "p.phoneBidx = null, p.emailBidx = null, p.anonymized = true WHERE p.id = :id")
+    void anonymizePatient(@Param("id") UUID id, @Param("placeholder") SealedString placeholder);
+
+    default void anonymizePatient(UUID id) {
+        anonymizePatient(id, SealedString.of("XXX"));
+    }
 }
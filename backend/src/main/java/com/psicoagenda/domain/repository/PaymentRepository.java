@@ -2,6 +2,10 @@ package com.psicoagenda.domain.repository;
 
 import com.psicoagenda.domain.entity.Payment;
 import com.psicoagenda.domain.enums.PaymentStatus;
+import com.psicoagenda.domain.repository.projection.AgingRow;
+import com.psicoagenda.domain.repository.projection.PatientBalanceRow;
+import com.psicoagenda.domain.repository.projection.RevenueRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,11 +21,19 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
 
     Optional<Payment> findByAppointmentId(UUID appointmentId);
 
+    boolean existsByReceiptNumberAndIdNot(String receiptNumber, UUID id);
+
     List<Payment> findByStatus(PaymentStatus status);
 
-    @Query("SELECT p FROM Payment p JOIN FETCH p.appointment a JOIN FETCH a.patient " +
-           "WHERE p.status = :status ORDER BY a.startDateTime DESC")
-    List<Payment> findByStatusWithDetails(@Param("status") PaymentStatus status);
+    // Keyed on the appointment's (start, id): one payment per appointment, and its index drives the scan
+    @Query("SELECT p FROM Payment p JOIN FETCH p.appointment a JOIN FETCH a.patient JOIN FETCH a.sessionType " +
+           "WHERE p.status = :status " +
+           "AND (a.startDateTime < :afterStart OR (a.startDateTime = :afterStart AND a.id < :afterId)) " +
+           "ORDER BY a.startDateTime DESC, a.id DESC")
+    List<Payment> findPageByStatusWithDetails(@Param("status") PaymentStatus status,
+                                              @Param("afterStart") LocalDateTime afterStart,
+                                              @Param("afterId") UUID afterId,
+                                              Pageable pageable);
 
     @Query("SELECT p FROM Payment p JOIN FETCH p.appointment a JOIN FETCH a.patient " +
            "WHERE p.paidAt BETWEEN :start AND :end ORDER BY p.paidAt DESC")
@@ -37,4 +49,60 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
 
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = 'PAID' AND p.paidAt BETWEEN :start AND :end")
     java.math.BigDecimal sumPaidInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Receivables: unpaid sessions that already took place, cancellations within the deadline excluded
+    String RECEIVABLES_FROM = "FROM payment pay JOIN appointment a ON a.id = pay.appointment_id ";
+    String RECEIVABLES_WHERE =
+        "WHERE pay.status = 'UNPAID' AND a.start_datetime < :now AND a.status <> 'CANCELLED' ";
+
+    String PAID_MONTH = "date_trunc('month', pay.paid_at)";
+
+    /**
+     * Paid revenue per month in [start, end): the month total, per session type and per payment
+     * method, all from one scan through GROUPING SETS
+     */
+    @Query(value = "SELECT CAST(EXTRACT(YEAR FROM " + PAID_MONTH + ") AS INTEGER) AS \"year\", " +
+                   "CAST(EXTRACT(MONTH FROM " + PAID_MONTH + ") AS INTEGER) AS \"month\", " +
+                   "CASE WHEN GROUPING(st.name) = 0 THEN 'SESSION_TYPE' " +
+                   "     WHEN GROUPING(pay.payment_method) = 0 THEN 'PAYMENT_METHOD' " +
+                   "     ELSE 'TOTAL' END AS \"dimension\", " +
+                   "CASE WHEN GROUPING(st.name) = 0 THEN st.name ELSE pay.payment_method END AS \"key\", " +
+                   "SUM(pay.amount) AS \"revenue\", COUNT(*) AS \"payments\" " +
+                   "FROM payment pay " +
+                   "JOIN appointment a ON a.id = pay.appointment_id " +
+                   "JOIN session_type st ON st.id = a.session_type_id " +
+                   "WHERE pay.status = 'PAID' AND pay.paid_at >= :start AND pay.paid_at < :end " +
+                   "GROUP BY GROUPING SETS ((" + PAID_MONTH + "), (" + PAID_MONTH + ", st.name), " +
+                   "                       (" + PAID_MONTH + ", pay.payment_method)) " +
+                   "ORDER BY 1, 2",
+           nativeQuery = true)
+    List<RevenueRow> findMonthlyRevenue(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Receivables by age of the session (30/60/90 days), with each bucket's share of the total
+     */
+    @Query(value = "SELECT LEAST(CAST((CAST(:now AS DATE) - CAST(a.start_datetime AS DATE) - 1) / 30 AS INTEGER), 3) " +
+                   "    AS \"bucket\", " +
+                   "COUNT(*) AS \"payments\", SUM(pay.amount) AS \"amount\", " +
+                   "SUM(pay.amount) / NULLIF(SUM(SUM(pay.amount)) OVER (), 0) AS \"share\" " +
+                   RECEIVABLES_FROM + RECEIVABLES_WHERE +
+                   "GROUP BY 1 ORDER BY 1",
+           nativeQuery = true)
+    List<AgingRow> findReceivablesAging(@Param("now") LocalDateTime now);
+
+    /**
+     * Patients owing the most, ranked, with the running share of all receivables they account for
+     */
+    @Query(value = "SELECT pt.id AS \"patientId\", pt.name AS \"patientName\", " +
+                   "COUNT(*) AS \"sessions\", SUM(pay.amount) AS \"outstanding\", " +
+                   "CAST(CAST(:now AS DATE) - CAST(MIN(a.start_datetime) AS DATE) AS INTEGER) AS \"oldestDays\", " +
+                   "RANK() OVER (ORDER BY SUM(pay.amount) DESC) AS \"rank\", " +
+                   "SUM(SUM(pay.amount)) OVER (ORDER BY SUM(pay.amount) DESC, pt.id ROWS UNBOUNDED PRECEDING) " +
+                   "    / NULLIF(SUM(SUM(pay.amount)) OVER (), 0) AS \"cumulativeShare\" " +
+                   RECEIVABLES_FROM + "JOIN patient pt ON pt.id = a.patient_id " + RECEIVABLES_WHERE +
+                   "GROUP BY pt.id, pt.name " +
+                   "ORDER BY SUM(pay.amount) DESC, pt.id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<PatientBalanceRow> findPatientBalances(@Param("now") LocalDateTime now, @Param("limit") int limit);
 }
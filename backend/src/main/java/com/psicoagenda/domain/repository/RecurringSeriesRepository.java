@@ -1,11 +1,13 @@
 package com.psicoagenda.domain.repository;
 
 import com.psicoagenda.domain.entity.RecurringSeries;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,8 +18,13 @@ public interface RecurringSeriesRepository extends JpaRepository<RecurringSeries
 
     List<RecurringSeries> findByPatientIdAndActiveTrue(UUID patientId);
 
-    @Query("SELECT rs FROM RecurringSeries rs JOIN FETCH rs.patient JOIN FETCH rs.sessionType WHERE rs.active = true")
-    List<RecurringSeries> findAllActiveWithDetails();
+    @Query("SELECT rs FROM RecurringSeries rs JOIN FETCH rs.patient JOIN FETCH rs.sessionType " +
+           "WHERE rs.active = true " +
+           "AND (rs.startDate < :afterDate OR (rs.startDate = :afterDate AND rs.id < :afterId)) " +
+           "ORDER BY rs.startDate DESC, rs.id DESC")
+    List<RecurringSeries> findActivePageWithDetails(@Param("afterDate") LocalDate afterDate,
+                                                    @Param("afterId") UUID afterId,
+                                                    Pageable pageable);
 
     @Query("SELECT rs FROM RecurringSeries rs JOIN FETCH rs.patient JOIN FETCH rs.sessionType WHERE rs.id = :id")
     RecurringSeries findByIdWithDetails(@Param("id") UUID id);
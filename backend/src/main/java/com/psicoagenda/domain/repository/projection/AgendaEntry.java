@@ -0,0 +1,27 @@
+package com.psicoagenda.domain.repository.projection;
+
+import com.psicoagenda.domain.enums.AppointmentStatus;
+import com.psicoagenda.domain.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat appointment row for the daily agenda: appointment, patient, session type and payment
+ * read in one query without loading entities
+ */
+public record AgendaEntry(
+    UUID appointmentId,
+    LocalDateTime startDateTime,
+    LocalDateTime endDateTime,
+    AppointmentStatus status,
+    String patientName,
+    String sessionTypeName,
+    PaymentStatus paymentStatus,
+    BigDecimal amount
+) {
+    public boolean isUnpaid() {
+        return paymentStatus == null || paymentStatus == PaymentStatus.UNPAID;
+    }
+}
@@ -0,0 +1,20 @@
+package com.psicoagenda.domain.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Unpaid past sessions falling in one age bucket
+ */
+public interface AgingRow {
+
+    /**
+     * 0: up to 30 days, 1: 31-60, 2: 61-90, 3: over 90
+     */
+    int getBucket();
+
+    long getPayments();
+
+    BigDecimal getAmount();
+
+    BigDecimal getShare();
+}
@@ -0,0 +1,14 @@
+package com.psicoagenda.domain.repository.projection;
+
+import com.psicoagenda.domain.enums.AppointmentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Just the time span and outcome of an appointment, for occupancy analytics and free slots
+ */
+public record AppointmentInterval(
+    LocalDateTime startDateTime,
+    LocalDateTime endDateTime,
+    AppointmentStatus status
+) {}
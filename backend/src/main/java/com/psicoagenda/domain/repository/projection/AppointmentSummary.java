@@ -0,0 +1,38 @@
+package com.psicoagenda.domain.repository.projection;
+
+import com.psicoagenda.domain.entity.SessionType;
+import com.psicoagenda.domain.enums.AppointmentStatus;
+import com.psicoagenda.domain.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Appointment row for calendar and dashboard lists. Only the patient's non-sensitive columns
+ * are selected, so the encrypted phone/email are never read or decrypted.
+ */
+public record AppointmentSummary(
+    UUID appointmentId,
+    UUID patientId,
+    String patientName,
+    boolean patientActive,
+    boolean patientAnonymized,
+    LocalDateTime patientCreatedAt,
+    SessionType sessionType,
+    UUID recurringSeriesId,
+    LocalDateTime startDateTime,
+    LocalDateTime endDateTime,
+    AppointmentStatus status,
+    String sessionLink,
+    String cancellationToken,
+    LocalDateTime cancelledAt,
+    String cancelledBy,
+    String cancellationReason,
+    UUID paymentId,
+    PaymentStatus paymentStatus,
+    BigDecimal paymentAmount,
+    LocalDateTime paidAt,
+    String receiptNumber,
+    LocalDateTime createdAt
+) {}
@@ -0,0 +1,15 @@
+package com.psicoagenda.domain.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum of the daily statistics rollup over a date range
+ */
+public record DailyStatsTotals(
+    long booked,
+    long cancelled,
+    long cancelledLate,
+    long noShow,
+    BigDecimal revenuePaid,
+    BigDecimal revenuePending
+) {}
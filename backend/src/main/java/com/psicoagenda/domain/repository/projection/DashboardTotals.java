@@ -0,0 +1,17 @@
+package com.psicoagenda.domain.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Dashboard counters computed in one aggregate query
+ */
+public interface DashboardTotals {
+
+    long getTodayCount();
+
+    long getWeekCount();
+
+    long getPendingPayments();
+
+    BigDecimal getRevenue();
+}
@@ -0,0 +1,24 @@
+package com.psicoagenda.domain.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A patient's unpaid past sessions, ranked by amount owed
+ */
+public interface PatientBalanceRow {
+
+    UUID getPatientId();
+
+    String getPatientName();
+
+    long getSessions();
+
+    BigDecimal getOutstanding();
+
+    int getOldestDays();
+
+    long getRank();
+
+    BigDecimal getCumulativeShare();
+}
@@ -0,0 +1,8 @@
+package com.psicoagenda.domain.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Patient id and name only, for building in-memory name lookups without touching contact data
+ */
+public record PatientName(UUID id, String name) {}
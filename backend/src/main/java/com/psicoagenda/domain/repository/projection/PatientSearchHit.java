@@ -0,0 +1,22 @@
+package com.psicoagenda.domain.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Patient name search result with its relevance; contact columns are not selected
+ */
+public interface PatientSearchHit {
+
+    UUID getId();
+
+    String getName();
+
+    boolean isActive();
+
+    boolean isAnonymized();
+
+    LocalDateTime getCreatedAt();
+
+    float getScore();
+}
@@ -0,0 +1,27 @@
+package com.psicoagenda.domain.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Paid revenue of one month, either in total or for one session type or payment method
+ */
+public interface RevenueRow {
+
+    int getYear();
+
+    int getMonth();
+
+    /**
+     * TOTAL, SESSION_TYPE or PAYMENT_METHOD
+     */
+    String getDimension();
+
+    /**
+     * Session type name or payment method; null for the total and for payments without a method
+     */
+    String getKey();
+
+    BigDecimal getRevenue();
+
+    long getPayments();
+}
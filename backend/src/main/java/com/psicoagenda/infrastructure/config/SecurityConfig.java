@@ -60,6 +60,12 @@ public class SecurityConfig {
                 // Actuator health endpoint
                 .requestMatchers("/actuator/health").permitAll()
 
+                // Data key status and rotation, and the remaining actuator endpoints: admins only
+                .requestMatchers(HttpMethod.GET, "/actuator/encryption").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/actuator/encryption").hasRole("ADMIN")
+                .requestMatchers("/actuator/encryption/**").denyAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                 // Admin endpoints require authentication
                 .requestMatchers("/api/admin/**").authenticated()
 
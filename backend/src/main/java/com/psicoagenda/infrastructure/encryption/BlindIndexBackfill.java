@@ -0,0 +1,77 @@
+package com.psicoagenda.infrastructure.encryption;
+
+import com.psicoagenda.domain.entity.Patient;
+import com.psicoagenda.domain.repository.PatientRepository;
+import com.psicoagenda.infrastructure.scheduler.JobLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fills phone/email blind indexes for patients stored before the columns existed.
+ * Runs once at startup in keyset-paginated batches; rows written since are indexed
+ * by {@link PatientBlindIndexListener}.
+ */
+@Component
+public class BlindIndexBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(BlindIndexBackfill.class);
+
+    private static final int BATCH_SIZE = 200;
+
+    private final PatientRepository patientRepository;
+    private final BlindIndexService blindIndexService;
+    private final JobLock jobLock;
+    private final TransactionTemplate transactionTemplate;
+
+    public BlindIndexBackfill(PatientRepository patientRepository,
+                              BlindIndexService blindIndexService,
+                              JobLock jobLock,
+                              PlatformTransactionManager transactionManager) {
+        this.patientRepository = patientRepository;
+        this.blindIndexService = blindIndexService;
+        this.jobLock = jobLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            jobLock.runExclusively("blind-index-backfill", this::backfillAll);
+        } catch (Exception e) {
+            log.error("Blind index backfill failed", e);
+        }
+    }
+
+    private void backfillAll() {
+        UUID afterId = new UUID(0, 0);
+        int updated = 0;
+        while (true) {
+            List<UUID> ids = patientRepository.findIdsWithoutBlindIndex(afterId, PageRequest.of(0, BATCH_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            updated += transactionTemplate.execute(status -> {
+                List<Patient> patients = patientRepository.findAllById(ids);
+                for (Patient patient : patients) {
+                    patient.setPhoneBidx(blindIndexService.phoneIndex(patient.getPhone()));
+                    patient.setEmailBidx(blindIndexService.emailIndex(patient.getEmail()));
+                }
+                return patients.size();
+            });
+            afterId = ids.get(ids.size() - 1);
+        }
+
+        if (updated > 0) {
+            log.info("Blind index backfill completed. Indexed {} patients", updated);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.psicoagenda.infrastructure.encryption;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Deterministic keyed HMAC-SHA256 of normalized phone/email values.
+ * <p>
+ * Encrypted columns use a random IV and cannot be compared, so equality lookups go
+ * through these blind indexes instead. Values are normalized first (digits only for
+ * phones, trimmed lower case for emails) so formatting differences still match.
+ */
+@Service
+public class BlindIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(BlindIndexService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String KEY_DERIVATION_LABEL = "psicoagenda-blind-index";
+
+    private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(this::newMac);
+
+    @Value("${app.encryption.key}")
+    private String encryptionKey;
+
+    @Value("${app.encryption.blind-index-key:}")
+    private String blindIndexKey;
+
+    private SecretKeySpec secretKey;
+
+    @PostConstruct
+    public void init() {
+        try {
+            if (blindIndexKey != null && !blindIndexKey.isBlank()) {
+                secretKey = new SecretKeySpec(blindIndexKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+            } else {
+                // Derive a separate key so the index key is never the encryption key itself
+                Mac derivation = Mac.getInstance(ALGORITHM);
+                derivation.init(new SecretKeySpec(encryptionKey.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+                byte[] derived = derivation.doFinal(KEY_DERIVATION_LABEL.getBytes(StandardCharsets.UTF_8));
+                secretKey = new SecretKeySpec(derived, ALGORITHM);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not initialize blind index key", e);
+        }
+        log.info("Blind index service initialized");
+    }
+
+    public String phoneIndex(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = phone.replaceAll("\\D", "");
+        return digits.isEmpty() ? null : hmac(digits);
+    }
+
+    public String emailIndex(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return hmac(email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private String hmac(String normalized) {
+        Mac instance = mac.get();
+        byte[] digest = instance.doFinal(normalized.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(secretKey);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
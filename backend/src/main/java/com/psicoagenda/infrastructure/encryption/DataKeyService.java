@@ -0,0 +1,161 @@
+package com.psicoagenda.infrastructure.encryption;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the versioned data keys used by {@link EncryptionService}.
+ * <p>
+ * Data keys are random AES-256 keys stored in {@code data_key} wrapped with the key-encryption
+ * key ({@code app.encryption.kek}); only the wrapped form is persisted. Rotation adds a new
+ * version, which every node picks up on its next refresh (or as soon as it meets a ciphertext
+ * written with it). Old versions are kept so existing values stay readable.
+ */
+@Service
+public class DataKeyService {
+
+    private static final Logger log = LoggerFactory.getLogger(DataKeyService.class);
+
+    private static final String WRAP_ALGORITHM = "AESWrap";
+    private static final int MAX_ROTATE_ATTEMPTS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EncryptionService encryptionService;
+
+    @Value("${app.encryption.kek}")
+    private String kek;
+
+    private SecretKey keyEncryptionKey;
+
+    public DataKeyService(JdbcTemplate jdbcTemplate, EncryptionService encryptionService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.encryptionService = encryptionService;
+    }
+
+    @PostConstruct
+    public void init() throws GeneralSecurityException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(kek.getBytes(StandardCharsets.UTF_8));
+        this.keyEncryptionKey = new SecretKeySpec(digest, "AES");
+        encryptionService.setKeyReloader(this::reload);
+
+        reload();
+        if (encryptionService.getActiveKeyVersion() == EncryptionService.LEGACY_KEY_VERSION) {
+            // First start with key versioning: new values go to a wrapped data key from now on
+            try {
+                createVersion();
+            } catch (DuplicateKeyException e) {
+                // Another node created it first
+            }
+            reload();
+        }
+    }
+
+    /**
+     * Create a new data key version and make it the active one
+     * @return the new version
+     */
+    public synchronized int rotate() {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                int version = createVersion();
+                reload();
+                return version;
+            } catch (DuplicateKeyException e) {
+                // Another node rotated at the same moment and took the version: go after it
+                if (attempt == MAX_ROTATE_ATTEMPTS) {
+                    throw e;
+                }
+                log.info("Data key version taken by a concurrent rotation, retrying");
+            }
+        }
+    }
+
+    /**
+     * Reread the data keys so rotations made on other nodes take effect
+     */
+    @Scheduled(fixedDelayString = "${app.encryption.key-refresh-ms:60000}",
+               initialDelayString = "${app.encryption.key-refresh-ms:60000}")
+    public synchronized void reload() {
+        Map<Integer, SecretKey> keys = new HashMap<>();
+        jdbcTemplate.query("SELECT version, wrapped_key FROM data_key", resultSet -> {
+            keys.put(resultSet.getInt("version"), unwrap(resultSet.getString("wrapped_key")));
+        });
+
+        int previous = encryptionService.getActiveKeyVersion();
+        encryptionService.installDataKeys(keys);
+        if (encryptionService.getActiveKeyVersion() != previous) {
+            log.info("Active data key version is now {}", encryptionService.getActiveKeyVersion());
+        }
+    }
+
+    public List<DataKeyInfo> listKeys() {
+        int active = encryptionService.getActiveKeyVersion();
+        return jdbcTemplate.query("SELECT version, created_at FROM data_key ORDER BY version",
+            (resultSet, rowNum) -> new DataKeyInfo(
+                resultSet.getInt("version"),
+                resultSet.getTimestamp("created_at").toLocalDateTime(),
+                resultSet.getInt("version") == active));
+    }
+
+    private int createVersion() {
+        String wrapped = wrap(generateKey());
+        Integer version = jdbcTemplate.queryForObject(
+            "INSERT INTO data_key (version, wrapped_key, created_at) " +
+            "SELECT COALESCE(MAX(version), 0) + 1, ?, NOW() FROM data_key RETURNING version",
+            Integer.class, wrapped);
+        log.info("Created data key version {}", version);
+        return version;
+    }
+
+    private SecretKey generateKey() {
+        try {
+            KeyGenerator generator = KeyGenerator.getInstance("AES");
+            generator.init(256);
+            return generator.generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to generate data key", e);
+        }
+    }
+
+    private String wrap(SecretKey dataKey) {
+        try {
+            Cipher cipher = Cipher.getInstance(WRAP_ALGORITHM);
+            cipher.init(Cipher.WRAP_MODE, keyEncryptionKey);
+            return Base64.getEncoder().encodeToString(cipher.wrap(dataKey));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to wrap data key", e);
+        }
+    }
+
+    private SecretKey unwrap(String wrappedKey) {
+        try {
+            Cipher cipher = Cipher.getInstance(WRAP_ALGORITHM);
+            cipher.init(Cipher.UNWRAP_MODE, keyEncryptionKey);
+            return (SecretKey) cipher.unwrap(Base64.getDecoder().decode(wrappedKey), "AES", Cipher.SECRET_KEY);
+        } catch (GeneralSecurityException e) {
+            // Wrong KEK: refuse to start rather than write values nobody can read
+            throw new IllegalStateException("Failed to unwrap data key, check app.encryption.kek", e);
+        }
+    }
+
+    public record DataKeyInfo(int version, LocalDateTime createdAt, boolean active) {}
+}
@@ -0,0 +1,59 @@
+package com.psicoagenda.infrastructure.encryption;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-request memo of ciphertext to plaintext, so a patient repeated across the rows of one
+ * response is decrypted once. The cache exists only between {@link #open()} and
+ * {@link #close()} on the current thread (see {@link DecryptionCacheFilter}); outside a
+ * request every lookup goes straight to the decryptor and nothing is retained.
+ * Entries are evicted least recently used beyond {@link #MAX_ENTRIES}.
+ */
+public final class DecryptionCache {
+
+    static final int MAX_ENTRIES = 256;
+
+    private static final ThreadLocal<Map<String, String>> CACHE = new ThreadLocal<>();
+
+    private DecryptionCache() {
+    }
+
+    /**
+     * Start caching on the current thread; a cache that is already open is kept
+     */
+    public static void open() {
+        if (CACHE.get() == null) {
+            CACHE.set(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop every cached plaintext on the current thread
+     */
+    public static void close() {
+        CACHE.remove();
+    }
+
+    /**
+     * Decrypt through the cache if one is open on the current thread
+     */
+    public static String decrypt(String ciphertext, UnaryOperator<String> decryptor) {
+        Map<String, String> cache = CACHE.get();
+        if (cache == null) {
+            return decryptor.apply(ciphertext);
+        }
+        return cache.computeIfAbsent(ciphertext, decryptor);
+    }
+
+    static int size() {
+        Map<String, String> cache = CACHE.get();
+        return cache == null ? 0 : cache.size();
+    }
+}
@@ -0,0 +1,35 @@
+package com.psicoagenda.infrastructure.encryption;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Scopes the {@link DecryptionCache} to one request, so decrypted values never outlive it
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DecryptionCacheFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        DecryptionCache.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DecryptionCache.close();
+        }
+    }
+}
@@ -7,14 +7,17 @@ import org.springframework.context.annotation.Configuration;
 public class EncryptionConfig {
 
     private final EncryptionService encryptionService;
+    private final BlindIndexService blindIndexService;
 
-    public EncryptionConfig(EncryptionService encryptionService) {
+    public EncryptionConfig(EncryptionService encryptionService, BlindIndexService blindIndexService) {
         this.encryptionService = encryptionService;
+        this.blindIndexService = blindIndexService;
     }
 
     @PostConstruct
     public void init() {
         // Inject encryption service into the JPA converter
-        EncryptedStringConverter.setEncryptionService(encryptionService);
+        SealedStringConverter.setEncryptionService(encryptionService);
+        PatientBlindIndexListener.setBlindIndexService(blindIndexService);
     }
 }
@@ -0,0 +1,46 @@
+package com.psicoagenda.infrastructure.encryption;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/encryption}: data key versions and re-encryption progress on GET,
+ * key rotation followed by a re-encryption run on POST.
+ */
+@Component
+@Endpoint(id = "encryption")
+public class EncryptionKeysEndpoint {
+
+    private final DataKeyService dataKeyService;
+    private final PatientReencryptionJob reencryptionJob;
+    private final EncryptionService encryptionService;
+
+    public EncryptionKeysEndpoint(DataKeyService dataKeyService,
+                                  PatientReencryptionJob reencryptionJob,
+                                  EncryptionService encryptionService) {
+        this.dataKeyService = dataKeyService;
+        this.reencryptionJob = reencryptionJob;
+        this.encryptionService = encryptionService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("activeVersion", encryptionService.getActiveKeyVersion());
+        status.put("keys", dataKeyService.listKeys());
+        status.put("reencryption", reencryptionJob.getProgress().orElse(null));
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rotate() {
+        dataKeyService.rotate();
+        reencryptionJob.start();
+        return status();
+    }
+}
@@ -7,12 +7,25 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
 import java.util.Base64;
-
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * AES-256-GCM for PII columns, keyed by versioned data keys.
+ * <p>
+ * Ciphertext is {@code v<version>:} followed by base64 of IV and ciphertext/tag; values
+ * without a prefix predate key versioning and use the legacy key from {@code app.encryption.key}
+ * (version 0). New values are always written with the highest installed version. Data keys
+ * are installed by {@link DataKeyService}, which is also asked to reload when a ciphertext
+ * names a version this node has not seen yet.
+ */
 @Service
 public class EncryptionService {
 
@@ -21,11 +34,20 @@ public class EncryptionService {
     private static final String ALGORITHM = "AES/GCM/NoPadding";
     private static final int GCM_TAG_LENGTH = 128;
     private static final int GCM_IV_LENGTH = 12;
+    private static final String VERSION_PREFIX = "v";
+    private static final char VERSION_SEPARATOR = ':';
+
+    public static final int LEGACY_KEY_VERSION = 0;
+
+    // SecureRandom is thread-safe; Cipher is not, so each thread keeps its own and re-inits it per call
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(EncryptionService::newCipher);
 
     @Value("${app.encryption.key}")
     private String encryptionKey;
 
-    private SecretKeySpec secretKey;
+    private volatile KeyRing keyRing;
+    private volatile Runnable keyReloader;
 
     @PostConstruct
     public void init() {
@@ -39,32 +61,94 @@ public class EncryptionService {
         byte[] key = new byte[32];
         System.arraycopy(keyBytes, 0, key, 0, Math.min(keyBytes.length, 32));
 
-        this.secretKey = new SecretKeySpec(key, "AES");
+        this.keyRing = new KeyRing(Map.of(LEGACY_KEY_VERSION, new SecretKeySpec(key, "AES")), LEGACY_KEY_VERSION);
         log.info("Encryption service initialized");
     }
 
+    /**
+     * Install the data keys by version; the highest version becomes the one new values are written with
+     */
+    public void installDataKeys(Map<Integer, SecretKey> dataKeys) {
+        Map<Integer, SecretKey> keys = new HashMap<>(dataKeys);
+        keys.put(LEGACY_KEY_VERSION, keyRing.keys().get(LEGACY_KEY_VERSION));
+        int active = keys.keySet().stream().mapToInt(Integer::intValue).max().orElse(LEGACY_KEY_VERSION);
+        this.keyRing = new KeyRing(Map.copyOf(keys), active);
+    }
+
+    /**
+     * Called when a ciphertext references an unknown key version, before giving up on it
+     */
+    public void setKeyReloader(Runnable keyReloader) {
+        this.keyReloader = keyReloader;
+    }
+
+    public int getActiveKeyVersion() {
+        return keyRing.activeVersion();
+    }
+
+    /**
+     * Key version a ciphertext was written with
+     */
+    public int keyVersion(String encryptedText) {
+        if (encryptedText == null || !encryptedText.startsWith(VERSION_PREFIX)) {
+            return LEGACY_KEY_VERSION;
+        }
+        int separator = encryptedText.indexOf(VERSION_SEPARATOR);
+        if (separator < 0) {
+            // Legacy base64 that happens to start with 'v'
+            return LEGACY_KEY_VERSION;
+        }
+        return Integer.parseInt(encryptedText, VERSION_PREFIX.length(), separator, 10);
+    }
+
+    /**
+     * Whether a ciphertext is written with the active key or a newer one. Only older versions are stale:
+     * a newer version means another node rotated after our last refresh, so we pick up its keys instead
+     * of rolling the value back to a retired one.
+     */
+    public boolean isCurrent(String encryptedText) {
+        if (encryptedText == null || encryptedText.isEmpty()) {
+            return true;
+        }
+        int version = keyVersion(encryptedText);
+        Runnable reloader = keyReloader;
+        if (version > getActiveKeyVersion() && reloader != null) {
+            reloader.run();
+        }
+        return version >= getActiveKeyVersion();
+    }
+
+    /**
+     * Decrypt with whatever key the value names and encrypt again with the active key
+     */
+    public String reencrypt(String encryptedText) {
+        return isCurrent(encryptedText) ? encryptedText : encrypt(decrypt(encryptedText));
+    }
+
     public String encrypt(String plainText) {
         if (plainText == null || plainText.isEmpty()) {
             return plainText;
         }
 
         try {
-            // Generate random IV
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            new SecureRandom().nextBytes(iv);
+            byte[] plain = plainText.getBytes(StandardCharsets.UTF_8);
+            KeyRing ring = keyRing;
+            Cipher cipher = CIPHER.get();
 
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey, parameterSpec);
-
-            byte[] encrypted = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
-
-            // Combine IV + encrypted data
-            byte[] combined = new byte[iv.length + encrypted.length];
-            System.arraycopy(iv, 0, combined, 0, iv.length);
-            System.arraycopy(encrypted, 0, combined, iv.length, encrypted.length);
-
-            return Base64.getEncoder().encodeToString(combined);
+            // Fresh random IV from the shared generator
+            byte[] iv = new byte[GCM_IV_LENGTH];
+            RANDOM.nextBytes(iv);
+            cipher.init(Cipher.ENCRYPT_MODE, ring.activeKey(), new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+
+            // IV + ciphertext/tag in one buffer, no intermediate copies
+            byte[] combined = new byte[GCM_IV_LENGTH + cipher.getOutputSize(plain.length)];
+            System.arraycopy(iv, 0, combined, 0, GCM_IV_LENGTH);
+            cipher.doFinal(plain, 0, plain.length, combined, GCM_IV_LENGTH);
+
+            String encoded = Base64.getEncoder().encodeToString(combined);
+            return ring.activeVersion() == LEGACY_KEY_VERSION
+                ? encoded
+                : VERSION_PREFIX + ring.activeVersion() + VERSION_SEPARATOR + encoded;
         } catch (Exception e) {
             log.error("Encryption failed", e);
             throw new RuntimeException("Encryption failed", e);
@@ -77,25 +161,55 @@ public class EncryptionService {
         }
 
         try {
-            byte[] combined = Base64.getDecoder().decode(encryptedText);
-
-            // Extract IV
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            System.arraycopy(combined, 0, iv, 0, iv.length);
-
-            // Extract encrypted data
-            byte[] encrypted = new byte[combined.length - GCM_IV_LENGTH];
-            System.arraycopy(combined, GCM_IV_LENGTH, encrypted, 0, encrypted.length);
-
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, parameterSpec);
-
-            byte[] decrypted = cipher.doFinal(encrypted);
+            int version = keyVersion(encryptedText);
+            SecretKey key = resolveKey(version);
+            String encoded = version == LEGACY_KEY_VERSION
+                ? encryptedText
+                : encryptedText.substring(encryptedText.indexOf(VERSION_SEPARATOR) + 1);
+
+            byte[] combined = Base64.getDecoder().decode(encoded);
+            if (combined.length < GCM_IV_LENGTH + GCM_TAG_LENGTH / 8) {
+                throw new IllegalArgumentException("Ciphertext too short");
+            }
+
+            // IV and ciphertext are read in place by offset
+            Cipher cipher = CIPHER.get();
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH, combined, 0, GCM_IV_LENGTH));
+
+            byte[] decrypted = cipher.doFinal(combined, GCM_IV_LENGTH, combined.length - GCM_IV_LENGTH);
             return new String(decrypted, StandardCharsets.UTF_8);
         } catch (Exception e) {
             log.error("Decryption failed", e);
             throw new RuntimeException("Decryption failed", e);
         }
     }
+
+    private SecretKey resolveKey(int version) {
+        SecretKey key = keyRing.keys().get(version);
+        Runnable reloader = keyReloader;
+        if (key == null && reloader != null) {
+            // Another node may have rotated since our last refresh
+            reloader.run();
+            key = keyRing.keys().get(version);
+        }
+        if (key == null) {
+            throw new IllegalStateException("Unknown data key version " + version);
+        }
+        return key;
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES/GCM is not available", e);
+        }
+    }
+
+    private record KeyRing(Map<Integer, SecretKey> keys, int activeVersion) {
+
+        SecretKey activeKey() {
+            return keys.get(activeVersion);
+        }
+    }
 }
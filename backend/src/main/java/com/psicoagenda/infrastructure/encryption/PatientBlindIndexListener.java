@@ -0,0 +1,29 @@
+package com.psicoagenda.infrastructure.encryption;
+
+import com.psicoagenda.domain.entity.Patient;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Keeps a patient's phone/email blind indexes in step with the plaintext values,
+ * right before they go through {@link SealedStringConverter} on write.
+ */
+public class PatientBlindIndexListener {
+
+    private static BlindIndexService blindIndexService;
+
+    // Static setter for Spring to inject the service, as for the converter
+    public static void setBlindIndexService(BlindIndexService service) {
+        blindIndexService = service;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void updateBlindIndexes(Patient patient) {
+        if (blindIndexService == null || patient.isAnonymized()) {
+            return;
+        }
+        patient.setPhoneBidx(blindIndexService.phoneIndex(patient.getPhone()));
+        patient.setEmailBidx(blindIndexService.emailIndex(patient.getEmail()));
+    }
+}
@@ -0,0 +1,205 @@
+package com.psicoagenda.infrastructure.encryption;
+
+import com.psicoagenda.infrastructure.scheduler.JobLock;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Rewrites patient phone/email with the active data key after a rotation.
+ * <p>
+ * Rows are read in keyset-paginated batches of raw ciphertext, so memory stays bounded
+ * and Hibernate is not involved. Each batch and its checkpoint commit together: a run
+ * interrupted by a restart resumes after the last committed id. Rows changed concurrently
+ * are left alone by the conditional update and picked up by the next run; values that
+ * cannot be decrypted are counted and skipped.
+ */
+@Component
+public class PatientReencryptionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PatientReencryptionJob.class);
+
+    private static final String JOB_NAME = "patient-reencryption";
+    private static final UUID START_ID = new UUID(0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EncryptionService encryptionService;
+    private final JobLock jobLock;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+
+    @Value("${app.encryption.reencrypt.batch-size:200}")
+    private int batchSize;
+
+    private volatile boolean running = true;
+
+    public PatientReencryptionJob(JdbcTemplate jdbcTemplate,
+                                  EncryptionService encryptionService,
+                                  JobLock jobLock,
+                                  PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.encryptionService = encryptionService;
+        this.jobLock = jobLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, JOB_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Resume an interrupted run, or start one if rows may still use an older key
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        Optional<ReencryptionProgress> progress = getProgress();
+        if (progress.isEmpty() || progress.get().targetVersion() < encryptionService.getActiveKeyVersion()) {
+            start();
+        } else if (Status.RUNNING.name().equals(progress.get().status())) {
+            log.info("Resuming patient re-encryption after {}", progress.get().lastId());
+            executor.execute(this::run);
+        }
+    }
+
+    /**
+     * Start a new run from the first patient towards the active key version
+     */
+    public void start() {
+        int target = encryptionService.getActiveKeyVersion();
+        jdbcTemplate.update(
+            "INSERT INTO reencryption_checkpoint " +
+            "(job_name, target_version, last_id, processed, failed, status, started_at, updated_at) " +
+            "VALUES (?, ?, NULL, 0, 0, ?, NOW(), NOW()) " +
+            "ON CONFLICT (job_name) DO UPDATE SET target_version = EXCLUDED.target_version, last_id = NULL, " +
+            "processed = 0, failed = 0, status = EXCLUDED.status, started_at = NOW(), updated_at = NOW()",
+            JOB_NAME, target, Status.RUNNING.name());
+        log.info("Starting patient re-encryption to data key version {}", target);
+        executor.execute(this::run);
+    }
+
+    public Optional<ReencryptionProgress> getProgress() {
+        return jdbcTemplate.query(
+            "SELECT target_version, last_id, processed, failed, status, started_at, updated_at " +
+            "FROM reencryption_checkpoint WHERE job_name = ?",
+            (resultSet, rowNum) -> new ReencryptionProgress(
+                resultSet.getInt("target_version"),
+                resultSet.getObject("last_id", UUID.class),
+                resultSet.getLong("processed"),
+                resultSet.getLong("failed"),
+                resultSet.getString("status"),
+                resultSet.getTimestamp("started_at").toLocalDateTime(),
+                resultSet.getTimestamp("updated_at").toLocalDateTime()),
+            JOB_NAME).stream().findFirst();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        try {
+            // Only one node works through the table; the others skip
+            jobLock.runExclusively(JOB_NAME, this::reencryptAll);
+        } catch (Exception e) {
+            log.error("Patient re-encryption failed", e);
+        }
+    }
+
+    private void reencryptAll() {
+        while (running) {
+            // The checkpoint is reread per batch, so a rotation elsewhere restarts this run from the top
+            ReencryptionProgress progress = getProgress().orElse(null);
+            if (progress == null || !Status.RUNNING.name().equals(progress.status())) {
+                return;
+            }
+
+            UUID afterId = progress.lastId() != null ? progress.lastId() : START_ID;
+            List<PatientRow> rows = jdbcTemplate.query(
+                "SELECT id, phone, email FROM patient WHERE id > ? ORDER BY id LIMIT ?",
+                (resultSet, rowNum) -> new PatientRow(
+                    resultSet.getObject("id", UUID.class),
+                    resultSet.getString("phone"),
+                    resultSet.getString("email")),
+                afterId, batchSize);
+
+            Boolean advanced = transactionTemplate.execute(status -> processBatch(rows, afterId));
+
+            if (Boolean.TRUE.equals(advanced) && rows.size() < batchSize) {
+                log.info("Patient re-encryption to data key version {} completed", progress.targetVersion());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Re-encrypt one batch and move the checkpoint past it
+     * @return false if the run was restarted meanwhile and the checkpoint was left alone
+     */
+    private boolean processBatch(List<PatientRow> rows, UUID afterId) {
+        List<Object[]> updates = new ArrayList<>();
+        int failed = 0;
+        for (PatientRow row : rows) {
+            if (encryptionService.isCurrent(row.phone()) && encryptionService.isCurrent(row.email())) {
+                continue;
+            }
+            try {
+                updates.add(new Object[] {
+                    encryptionService.reencrypt(row.phone()),
+                    encryptionService.reencrypt(row.email()),
+                    row.id(), row.phone(), row.email()
+                });
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Could not re-encrypt patient {}: {}", row.id(), e.getMessage());
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "UPDATE patient SET phone = ?, email = ? " +
+                "WHERE id = ? AND phone IS NOT DISTINCT FROM ? AND email IS NOT DISTINCT FROM ?",
+                updates);
+        }
+
+        UUID lastId = rows.isEmpty() ? null : rows.get(rows.size() - 1).id();
+        int updated = jdbcTemplate.update(
+            "UPDATE reencryption_checkpoint SET last_id = COALESCE(?, last_id), processed = processed + ?, " +
+            "failed = failed + ?, status = ?, updated_at = NOW() " +
+            "WHERE job_name = ? AND last_id IS NOT DISTINCT FROM ?",
+            lastId, rows.size(), failed,
+            rows.size() < batchSize ? Status.COMPLETED.name() : Status.RUNNING.name(),
+            JOB_NAME, afterId.equals(START_ID) ? null : afterId);
+        // Rows already rewritten are simply current when the restarted run reaches them
+        return updated > 0;
+    }
+
+    private record PatientRow(UUID id, String phone, String email) {}
+
+    public record ReencryptionProgress(int targetVersion,
+                                       UUID lastId,
+                                       long processed,
+                                       long failed,
+                                       String status,
+                                       LocalDateTime startedAt,
+                                       LocalDateTime updatedAt) {}
+
+    private enum Status { RUNNING, COMPLETED }
+}
@@ -0,0 +1,89 @@
+package com.psicoagenda.infrastructure.encryption;
+
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * An encrypted attribute value that is only decrypted when it is first read.
+ * <p>
+ * Values loaded from the database keep their ciphertext and decrypt on the first
+ * {@link #reveal()}; values set by the application keep their plaintext and are encrypted
+ * by {@link SealedStringConverter} on write. An unchanged value is written back with its
+ * original ciphertext, so loading and flushing an entity costs no AES work at all.
+ */
+public final class SealedString {
+
+    private final String ciphertext;
+    private final UnaryOperator<String> decryptor;
+    private volatile String plaintext;
+
+    private SealedString(String ciphertext, String plaintext, UnaryOperator<String> decryptor) {
+        this.ciphertext = ciphertext;
+        this.plaintext = plaintext;
+        this.decryptor = decryptor;
+    }
+
+    /**
+     * Wrap a plaintext value, or null
+     */
+    public static SealedString of(String plaintext) {
+        return plaintext == null ? null : new SealedString(null, plaintext, null);
+    }
+
+    /**
+     * Wrap a stored ciphertext that will be decrypted on first access
+     */
+    public static SealedString ofCiphertext(String ciphertext, UnaryOperator<String> decryptor) {
+        return ciphertext == null ? null : new SealedString(ciphertext, null, Objects.requireNonNull(decryptor));
+    }
+
+    /**
+     * Null-safe {@link #reveal()}
+     */
+    public static String reveal(SealedString value) {
+        return value == null ? null : value.reveal();
+    }
+
+    /**
+     * The plaintext, decrypting it on the first call
+     */
+    public String reveal() {
+        String value = plaintext;
+        if (value == null) {
+            value = decryptor.apply(ciphertext);
+            plaintext = value;
+        }
+        return value;
+    }
+
+    public boolean isRevealed() {
+        return plaintext != null;
+    }
+
+    /**
+     * The stored ciphertext, or null if this value was created from plaintext
+     */
+    String ciphertext() {
+        return ciphertext;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SealedString other)) return false;
+        // Equal ciphertexts are equal values; different ones may still be (random IVs)
+        if (ciphertext != null && ciphertext.equals(other.ciphertext)) return true;
+        return reveal().equals(other.reveal());
+    }
+
+    @Override
+    public int hashCode() {
+        return reveal().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        // Never leak the value into logs
+        return "SealedString[***]";
+    }
+}
@@ -0,0 +1,43 @@
+package com.psicoagenda.infrastructure.encryption;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Maps encrypted columns to {@link SealedString} handles without decrypting them on load.
+ * Handles are immutable, so Hibernate neither copies them for dirty checking nor
+ * re-encrypts unchanged values on flush. Within a request, decryption goes through
+ * {@link DecryptionCache}, so separately loaded copies of a value are decrypted once.
+ */
+@Converter
+@Immutable
+public class SealedStringConverter implements AttributeConverter<SealedString, String> {
+
+    private static EncryptionService encryptionService;
+
+    // Static setter for Spring to inject the service
+    public static void setEncryptionService(EncryptionService service) {
+        encryptionService = service;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(SealedString attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        if (attribute.ciphertext() != null) {
+            return attribute.ciphertext();
+        }
+        return encryptionService == null ? attribute.reveal() : encryptionService.encrypt(attribute.reveal());
+    }
+
+    @Override
+    public SealedString convertToEntityAttribute(String dbData) {
+        if (dbData == null || encryptionService == null) {
+            return SealedString.of(dbData);
+        }
+        return SealedString.ofCiphertext(dbData,
+            ciphertext -> DecryptionCache.decrypt(ciphertext, encryptionService::decrypt));
+    }
+}
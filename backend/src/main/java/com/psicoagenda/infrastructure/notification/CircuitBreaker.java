@@ -0,0 +1,108 @@
+package com.psicoagenda.infrastructure.notification;
+
+import java.time.Duration;
+import java.util.function.BiConsumer;
+
+/**
+ * Consecutive-failure circuit breaker.
+ * <p>
+ * CLOSED lets every call through and opens after {@code failureThreshold} failures in a row.
+ * OPEN rejects calls until {@code openDuration} has passed, then moves to HALF_OPEN and lets a
+ * single trial call through: its success closes the circuit, its failure opens it again.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final BiConsumer<State, State> transitionListener;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, BiConsumer<State, State> transitionListener) {
+        if (failureThreshold < 1 || openDuration.isNegative() || openDuration.isZero()) {
+            throw new IllegalArgumentException("Failure threshold and open duration must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.transitionListener = transitionListener;
+    }
+
+    /**
+     * Whether a call may go ahead now. In HALF_OPEN only the trial call is allowed; the caller
+     * must report its outcome through {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                    yield false;
+                }
+                transitionTo(State.HALF_OPEN);
+                trialInFlight = true;
+                yield true;
+            }
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        if (state != State.CLOSED) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    /**
+     * Give back a permission whose call never reached the provider (e.g. the local queue was
+     * full). Neither outcome is recorded; in HALF_OPEN another trial call may go ahead.
+     */
+    public synchronized void releasePermission() {
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAtNanos = System.nanoTime();
+            transitionTo(State.OPEN);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Time left before an open circuit lets a trial call through, zero otherwise
+     */
+    public synchronized Duration remainingOpenTime() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openDurationNanos - (System.nanoTime() - openedAtNanos)));
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        transitionListener.accept(previous, next);
+    }
+}
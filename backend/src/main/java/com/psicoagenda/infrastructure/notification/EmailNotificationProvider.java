@@ -2,14 +2,22 @@ package com.psicoagenda.infrastructure.notification;
 
 import com.psicoagenda.domain.entity.Appointment;
 import com.psicoagenda.domain.enums.NotificationTrigger;
+import com.psicoagenda.infrastructure.notification.NotificationTemplateService.RenderedNotification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Component
 public class EmailNotificationProvider implements NotificationProvider {
@@ -19,6 +27,8 @@ public class EmailNotificationProvider implements NotificationProvider {
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
 
     private final JavaMailSender mailSender;
+    private final PooledSmtpSender pooledSender;
+    private final NotificationTemplateService templateService;
 
     @Value("${app.notifications.enabled}")
     private boolean enabled;
@@ -29,8 +39,15 @@ public class EmailNotificationProvider implements NotificationProvider {
     @Value("${app.notifications.from-name}")
     private String fromName;
 
-    public EmailNotificationProvider(JavaMailSender mailSender) {
+    @Value("${app.notifications.email.send-timeout-seconds:10}")
+    private long sendTimeoutSeconds;
+
+    public EmailNotificationProvider(JavaMailSender mailSender,
+                                     ObjectProvider<PooledSmtpSender> pooledSender,
+                                     NotificationTemplateService templateService) {
         this.mailSender = mailSender;
+        this.pooledSender = pooledSender.getIfAvailable();
+        this.templateService = templateService;
     }
 
     @Override
@@ -47,13 +64,7 @@ public class EmailNotificationProvider implements NotificationProvider {
         }
 
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromName + " <" + fromEmail + ">");
-            message.setTo(recipientEmail);
-            message.setSubject(getSubject(trigger));
-            message.setText(getBody(appointment, trigger));
-
-            mailSender.send(message);
+            send(recipientEmail, templateService.render(trigger, templateModel(appointment)));
             log.info("Email sent to {} for trigger {}", recipientEmail, trigger);
             return true;
         } catch (Exception e) {
@@ -62,54 +73,68 @@ public class EmailNotificationProvider implements NotificationProvider {
         }
     }
 
-    private String getSubject(NotificationTrigger trigger) {
-        return switch (trigger) {
-            case BOOKING_CONFIRMATION -> "Confirmacao de Agendamento";
-            case REMINDER_24H, REMINDER_2H -> "Lembrete de Compromisso";
-            case CANCELLATION -> "Cancelamento de Agendamento";
-            case RESCHEDULE -> "Reagendamento Confirmado";
-        };
+    @Override
+    public boolean sendRendered(String recipientEmail, RenderedNotification content) throws Exception {
+        if (!enabled) {
+            log.debug("Email notifications are disabled");
+            return false;
+        }
+        send(recipientEmail, content);
+        log.info("Email sent to {}: {}", recipientEmail, content.subject());
+        return true;
+    }
+
+    /**
+     * Send already rendered content
+     */
+    public void send(String recipientEmail, RenderedNotification content) throws Exception {
+        if (pooledSender != null) {
+            MimeMessage message = buildMessage(new MimeMessage(pooledSender.getSession()), recipientEmail, content);
+            CompletableFuture<Void> result = pooledSender.submit(message);
+            try {
+                result.get(sendTimeoutSeconds, TimeUnit.SECONDS);
+            } catch (TimeoutException | InterruptedException e) {
+                // Still queued: cancelling keeps the worker from sending it after we report a failure
+                // (interrupted when NotificationService gives up on this provider call first)
+                result.cancel(false);
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                throw e;
+            }
+        } else {
+            mailSender.send(buildMessage(mailSender.createMimeMessage(), recipientEmail, content));
+        }
+    }
+
+    /**
+     * Fill a message with the rendered content, as multipart text + HTML when an HTML variant exists
+     */
+    private MimeMessage buildMessage(MimeMessage message, String recipientEmail, RenderedNotification content)
+            throws Exception {
+        MimeMessageHelper helper = new MimeMessageHelper(message, content.html() != null, StandardCharsets.UTF_8.name());
+        helper.setFrom(fromEmail, fromName);
+        helper.setTo(recipientEmail);
+        helper.setSubject(content.subject());
+        if (content.html() != null) {
+            helper.setText(content.text(), content.html());
+        } else {
+            helper.setText(content.text());
+        }
+        return message;
     }
 
-    private String getBody(Appointment appointment, NotificationTrigger trigger) {
-        String patientName = appointment.getPatient().getName();
-        String date = appointment.getStartDateTime().format(DATE_FORMATTER);
-        String time = appointment.getStartDateTime().format(TIME_FORMATTER);
-
-        // Neutral messages - no mention of psychology
-        return switch (trigger) {
-            case BOOKING_CONFIRMATION -> String.format(
-                "Ola %s,\n\n" +
-                "Seu agendamento foi confirmado para %s as %s.\n\n" +
-                "Caso precise cancelar ou reagendar, utilize os links enviados anteriormente.\n\n" +
-                "Atenciosamente,\n%s",
-                patientName, date, time, fromName
-            );
-            case REMINDER_24H -> String.format(
-                "Ola %s,\n\n" +
-                "Este e um lembrete do seu compromisso amanha, %s, as %s.\n\n" +
-                "Atenciosamente,\n%s",
-                patientName, date, time, fromName
-            );
-            case REMINDER_2H -> String.format(
-                "Ola %s,\n\n" +
-                "Lembrete: voce tem um compromisso hoje as %s.\n\n" +
-                "Atenciosamente,\n%s",
-                patientName, time, fromName
-            );
-            case CANCELLATION -> String.format(
-                "Ola %s,\n\n" +
-                "Seu agendamento para %s as %s foi cancelado.\n\n" +
-                "Atenciosamente,\n%s",
-                patientName, date, time, fromName
-            );
-            case RESCHEDULE -> String.format(
-                "Ola %s,\n\n" +
-                "Seu agendamento foi reagendado para %s as %s.\n\n" +
-                "Atenciosamente,\n%s",
-                patientName, date, time, fromName
-            );
-        };
+    /**
+     * Values available to the templates under notification-templates/ (keep messages neutral -
+     * no mention of psychology)
+     */
+    private Map<String, String> templateModel(Appointment appointment) {
+        return Map.of(
+            "nome", appointment.getPatient().getName(),
+            "data", appointment.getStartDateTime().format(DATE_FORMATTER),
+            "hora", appointment.getStartDateTime().format(TIME_FORMATTER),
+            "remetente", fromName
+        );
     }
 
     @Override
@@ -0,0 +1,188 @@
+package com.psicoagenda.infrastructure.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+/**
+ * One notification provider together with its send executor, rate limit and circuit breaker.
+ * <p>
+ * Sends that find the token bucket empty are not dropped: their notification log is
+ * queued here and a drainer thread hands them back at the allowed rate. Queue depth,
+ * deferral latency and the number of deferrals are published per channel.
+ */
+final class NotificationChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationChannel.class);
+
+    private static final int EXECUTOR_QUEUE_CAPACITY = 100;
+    private static final long MIN_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final NotificationProvider provider;
+    private final ExecutorService executor;
+    private final TokenBucket bucket;
+    private final CircuitBreaker circuitBreaker;
+    private final BlockingQueue<DeferredSend> deferred;
+    private final BiConsumer<NotificationChannel, UUID> deferredHandler;
+    private final Thread drainer;
+    private final Timer deferralLatency;
+    private final Counter deferrals;
+
+    private volatile boolean running = true;
+
+    NotificationChannel(NotificationProvider provider,
+                        int threads,
+                        TokenBucket bucket,
+                        CircuitBreaker circuitBreaker,
+                        int deferredCapacity,
+                        BiConsumer<NotificationChannel, UUID> deferredHandler,
+                        MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.bucket = bucket;
+        this.circuitBreaker = circuitBreaker;
+        this.deferred = new ArrayBlockingQueue<>(deferredCapacity);
+        this.deferredHandler = deferredHandler;
+        this.executor = createExecutor(getType(), threads);
+
+        String channel = getType().toLowerCase();
+        Gauge.builder("notification.deferred.queue", deferred, BlockingQueue::size)
+            .description("Notifications waiting for a rate limit token")
+            .tag("channel", channel)
+            .register(meterRegistry);
+        this.deferralLatency = Timer.builder("notification.deferred.latency")
+            .description("Time a deferred notification waited before being sent")
+            .tag("channel", channel)
+            .register(meterRegistry);
+        this.deferrals = Counter.builder("notification.deferred")
+            .description("Notifications deferred by the rate limit")
+            .tag("channel", channel)
+            .register(meterRegistry);
+
+        this.drainer = new Thread(this::drain, "notify-" + channel + "-drainer");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    NotificationProvider getProvider() {
+        return provider;
+    }
+
+    String getType() {
+        return provider.getType();
+    }
+
+    CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Take a send permit if the rate limit allows one right now. New sends queue up
+     * behind already deferred ones so they cannot jump the line.
+     */
+    boolean tryAcquire() {
+        return deferred.isEmpty() && bucket.tryAcquire();
+    }
+
+    /**
+     * Return a permit taken with {@link #tryAcquire()} (or by the drainer) that did not lead to a send
+     */
+    void release() {
+        bucket.release();
+    }
+
+    Future<Boolean> submit(Callable<Boolean> send) {
+        return executor.submit(send);
+    }
+
+    /**
+     * Queue a notification log for a later send; false when the queue is full
+     */
+    boolean defer(UUID notificationLogId) {
+        if (!running || !deferred.offer(new DeferredSend(notificationLogId, System.nanoTime()))) {
+            return false;
+        }
+        deferrals.increment();
+        return true;
+    }
+
+    void shutdown() {
+        running = false;
+        drainer.interrupt();
+        executor.shutdown();
+        if (!deferred.isEmpty()) {
+            log.warn("{} channel stopped with {} deferred notifications still pending", getType(), deferred.size());
+        }
+    }
+
+    private void drain() {
+        while (running) {
+            DeferredSend next;
+            try {
+                next = deferred.take();
+                awaitToken();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            deferralLatency.record(System.nanoTime() - next.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            Runnable send = () -> handle(next.notificationLogId());
+            try {
+                executor.execute(send);
+            } catch (RejectedExecutionException e) {
+                // Executor saturated by direct sends: slow the drainer down by sending inline
+                send.run();
+            }
+        }
+    }
+
+    private void handle(UUID notificationLogId) {
+        try {
+            deferredHandler.accept(this, notificationLogId);
+        } catch (Exception e) {
+            log.error("Failed to send deferred {} notification {}", getType(), notificationLogId, e);
+        }
+    }
+
+    private void awaitToken() throws InterruptedException {
+        while (!bucket.tryAcquire()) {
+            LockSupport.parkNanos(Math.max(bucket.nanosUntilAvailable(), MIN_PARK_NANOS));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private static ExecutorService createExecutor(String type, int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads, threads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(EXECUTOR_QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "notify-" + type.toLowerCase() + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private record DeferredSend(UUID notificationLogId, long enqueuedNanos) {}
+}
@@ -0,0 +1,72 @@
+package com.psicoagenda.infrastructure.notification;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link CircuitBreaker} per notification channel, published as the
+ * {@code notificationCircuits} health component and as metrics.
+ * <p>
+ * An open circuit means notifications for that channel are failing fast into the retry
+ * queue; the application itself keeps serving, so health stays UP and the per-channel
+ * states are reported as details.
+ */
+@Component("notificationCircuitsHealthIndicator")
+public class NotificationCircuitBreakers implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationCircuitBreakers.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public NotificationCircuitBreakers(MeterRegistry meterRegistry,
+                                       @Value("${app.notifications.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                       @Value("${app.notifications.circuit-breaker.open-seconds:60}") long openSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = Duration.ofSeconds(openSeconds);
+    }
+
+    public CircuitBreaker forChannel(String type) {
+        return breakers.computeIfAbsent(type, this::create);
+    }
+
+    @Override
+    public Health health() {
+        Map<String, String> states = new TreeMap<>();
+        breakers.forEach((type, breaker) -> states.put(type.toLowerCase(), breaker.getState().name()));
+        return Health.up().withDetails(states).build();
+    }
+
+    private CircuitBreaker create(String type) {
+        String channel = type.toLowerCase();
+        CircuitBreaker breaker = new CircuitBreaker(failureThreshold, openDuration, (from, to) -> {
+            if (to == CircuitBreaker.State.OPEN) {
+                log.warn("{} notification circuit opened ({} -> {}), failing fast for {}", type, from, to, openDuration);
+            } else {
+                log.info("{} notification circuit {} -> {}", type, from, to);
+            }
+            meterRegistry.counter("notification.circuit.transitions", "channel", channel, "to", to.name().toLowerCase())
+                .increment();
+        });
+
+        Gauge.builder("notification.circuit.state", breaker, b -> b.getState().ordinal())
+            .description("Circuit state: 0 closed, 1 open, 2 half-open")
+            .tag("channel", channel)
+            .register(meterRegistry);
+        return breaker;
+    }
+}
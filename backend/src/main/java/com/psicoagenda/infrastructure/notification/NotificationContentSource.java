@@ -0,0 +1,22 @@
+package com.psicoagenda.infrastructure.notification;
+
+import com.psicoagenda.domain.enums.NotificationTrigger;
+import com.psicoagenda.domain.enums.NotificationType;
+import com.psicoagenda.infrastructure.notification.NotificationTemplateService.RenderedNotification;
+
+import java.time.LocalDate;
+
+/**
+ * Content of a notification that covers a date rather than an appointment, such as the
+ * daily digest. {@link NotificationService#sendForDate} renders it again on every attempt.
+ */
+public interface NotificationContentSource {
+
+    NotificationTrigger getTrigger();
+
+    NotificationType getChannel();
+
+    String getRecipient();
+
+    RenderedNotification render(LocalDate date);
+}
@@ -2,6 +2,7 @@ package com.psicoagenda.infrastructure.notification;
 
 import com.psicoagenda.domain.entity.Appointment;
 import com.psicoagenda.domain.enums.NotificationTrigger;
+import com.psicoagenda.infrastructure.notification.NotificationTemplateService.RenderedNotification;
 
 /**
  * Interface for notification providers.
@@ -17,6 +18,14 @@ public interface NotificationProvider {
      */
     boolean sendNotification(Appointment appointment, NotificationTrigger trigger);
 
+    /**
+     * Send already rendered content that is not tied to an appointment
+     * @return true if sent successfully, false if this channel cannot carry it
+     */
+    default boolean sendRendered(String recipient, RenderedNotification content) throws Exception {
+        return false;
+    }
+
     /**
      * Get the type of this provider
      */
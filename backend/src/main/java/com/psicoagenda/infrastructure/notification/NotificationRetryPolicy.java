@@ -0,0 +1,50 @@
+package com.psicoagenda.infrastructure.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter for failed notifications.
+ * <p>
+ * The n-th retry waits {@code base * 2^(n-1)}, capped at {@code max-delay}, of which a random
+ * half is jittered away so that a batch failing together during an outage does not retry
+ * in lockstep.
+ */
+@Component
+public class NotificationRetryPolicy {
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    public NotificationRetryPolicy(@Value("${app.notifications.retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${app.notifications.retry.base-delay-seconds:60}") long baseDelaySeconds,
+                                   @Value("${app.notifications.retry.max-delay-seconds:3600}") long maxDelaySeconds) {
+        if (maxAttempts < 1 || baseDelaySeconds < 1 || maxDelaySeconds < baseDelaySeconds) {
+            throw new IllegalArgumentException("Invalid notification retry configuration");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = Duration.ofSeconds(baseDelaySeconds).toMillis();
+        this.maxDelayMillis = Duration.ofSeconds(maxDelaySeconds).toMillis();
+    }
+
+    /**
+     * True once no further attempt should be made
+     */
+    public boolean isExhausted(int attempts) {
+        return attempts >= maxAttempts;
+    }
+
+    /**
+     * Delay before the next attempt, given how many attempts have been made so far
+     */
+    public Duration backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        long delay = Math.min(maxDelayMillis, baseDelayMillis << exponent);
+        long half = delay / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+}
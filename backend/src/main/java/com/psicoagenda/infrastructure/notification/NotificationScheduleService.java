@@ -0,0 +1,136 @@
+package com.psicoagenda.infrastructure.notification;
+
+import com.psicoagenda.domain.entity.Appointment;
+import com.psicoagenda.domain.entity.NotificationSchedule;
+import com.psicoagenda.domain.enums.NotificationTrigger;
+import com.psicoagenda.domain.repository.NotificationScheduleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the precomputed reminder schedule in sync with appointments and
+ * dispatches the entries that have come due.
+ */
+@Service
+@Transactional
+public class NotificationScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationScheduleService.class);
+
+    private static final Map<NotificationTrigger, Duration> REMINDER_OFFSETS = new EnumMap<>(Map.of(
+        NotificationTrigger.REMINDER_24H, Duration.ofHours(24),
+        NotificationTrigger.REMINDER_2H, Duration.ofHours(2)
+    ));
+
+    private final NotificationScheduleRepository notificationScheduleRepository;
+    private final NotificationService notificationService;
+    private final ObjectProvider<ReminderScheduleListener> listeners;
+
+    public NotificationScheduleService(NotificationScheduleRepository notificationScheduleRepository,
+                                       NotificationService notificationService,
+                                       ObjectProvider<ReminderScheduleListener> listeners) {
+        this.notificationScheduleRepository = notificationScheduleRepository;
+        this.notificationService = notificationService;
+        this.listeners = listeners;
+    }
+
+    /**
+     * (Re)compute the reminders of an appointment, replacing any previous entries.
+     * Reminders whose due time has already passed are not scheduled.
+     */
+    public void scheduleReminders(Appointment appointment) {
+        notificationScheduleRepository.deleteByAppointmentId(appointment.getId());
+        notifyAfterCommit(listener -> listener.onRemindersCancelled(appointment.getId()));
+
+        if (!appointment.isCancellable()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<NotificationTrigger, Duration> reminder : REMINDER_OFFSETS.entrySet()) {
+            LocalDateTime dueAt = appointment.getStartDateTime().minus(reminder.getValue());
+            if (dueAt.isBefore(now)) {
+                continue;
+            }
+
+            NotificationSchedule entry = notificationScheduleRepository.save(NotificationSchedule.builder()
+                .appointment(appointment)
+                .triggerType(reminder.getKey())
+                .dueAt(dueAt)
+                .build());
+            notifyAfterCommit(listener ->
+                listener.onReminderScheduled(entry.getId(), appointment.getId(), entry.getDueAt()));
+        }
+    }
+
+    /**
+     * Drop all pending reminders of an appointment
+     */
+    public void cancelReminders(UUID appointmentId) {
+        int removed = notificationScheduleRepository.deleteByAppointmentId(appointmentId);
+        if (removed > 0) {
+            log.debug("Removed {} scheduled reminders for appointment {}", removed, appointmentId);
+            notifyAfterCommit(listener -> listener.onRemindersCancelled(appointmentId));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> findDue(LocalDateTime now, int limit) {
+        return notificationScheduleRepository.findDueIds(now, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Send a due reminder and remove it from the schedule. Entries whose appointment
+     * was cancelled or has already started are discarded without sending.
+     */
+    public void dispatch(UUID scheduleId) {
+        NotificationSchedule entry = notificationScheduleRepository.findByIdWithAppointment(scheduleId)
+            .orElse(null);
+        if (entry == null) {
+            // Removed by a cancellation or reschedule since it was picked up
+            return;
+        }
+
+        Appointment appointment = entry.getAppointment();
+        if (appointment.isCancellable() && appointment.getStartDateTime().isAfter(LocalDateTime.now())) {
+            notificationService.sendNotification(appointment, entry.getTriggerType());
+            log.info("Sent {} reminder for appointment {}", entry.getTriggerType(), appointment.getId());
+        } else {
+            log.debug("Discarding stale {} reminder for appointment {}", entry.getTriggerType(), appointment.getId());
+        }
+
+        notificationScheduleRepository.delete(entry);
+    }
+
+    private void notifyAfterCommit(Consumer<ReminderScheduleListener> callback) {
+        if (listeners.stream().findAny().isEmpty()) {
+            return;
+        }
+
+        Runnable notification = () -> listeners.orderedStream().forEach(callback);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notification.run();
+                }
+            });
+        } else {
+            notification.run();
+        }
+    }
+}
@@ -6,13 +6,37 @@ import com.psicoagenda.domain.enums.NotificationStatus;
 import com.psicoagenda.domain.enums.NotificationTrigger;
 import com.psicoagenda.domain.enums.NotificationType;
 import com.psicoagenda.domain.repository.NotificationLogRepository;
+import com.psicoagenda.infrastructure.notification.NotificationTemplateService.RenderedNotification;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @Transactional
@@ -20,58 +44,458 @@ public class NotificationService {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
-    private final List<NotificationProvider> providers;
+    private static final String RATE_LIMIT_PREFIX = "app.notifications.rate-limit.";
+
+    // A deferred send still PENDING or SENDING after this long was lost (e.g. restart) and is retried
+    private static final Duration DEFERRED_SEND_LEASE = Duration.ofMinutes(15);
+    // How long a claimed retry is hidden from other nodes while it is being sent
+    private static final Duration RETRY_CLAIM_LEASE = Duration.ofMinutes(5);
+    private static final Duration RATE_LIMITED_RETRY_DELAY = Duration.ofSeconds(30);
+
     private final NotificationLogRepository notificationLogRepository;
+    private final NotificationRetryPolicy retryPolicy;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<NotificationContentSource> contentSources;
+    private final Map<String, NotificationChannel> channels = new HashMap<>();
+
+    @Value("${app.notifications.provider-timeout-seconds:15}")
+    private long providerTimeoutSeconds;
 
     public NotificationService(List<NotificationProvider> providers,
-                               NotificationLogRepository notificationLogRepository) {
-        this.providers = providers;
+                               NotificationLogRepository notificationLogRepository,
+                               NotificationRetryPolicy retryPolicy,
+                               NotificationCircuitBreakers circuitBreakers,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               Environment environment,
+                               ObjectProvider<NotificationContentSource> contentSources,
+                               @Value("${app.notifications.provider-threads:4}") int providerThreads) {
         this.notificationLogRepository = notificationLogRepository;
+        this.contentSources = contentSources;
+        this.retryPolicy = retryPolicy;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // One bounded executor, rate limit and circuit breaker per channel, so a slow,
+        // throttled or failing channel cannot starve the others
+        for (NotificationProvider provider : providers) {
+            String key = provider.getType().toLowerCase();
+            double permitsPerSecond = rateLimitProperty(environment, key, "permits-per-second", Double.class, 5.0);
+            int burst = rateLimitProperty(environment, key, "burst", Integer.class, 20);
+            int deferredCapacity = rateLimitProperty(environment, key, "deferred-capacity", Integer.class, 1000);
+
+            channels.put(provider.getType(), new NotificationChannel(provider, providerThreads,
+                new TokenBucket(permitsPerSecond, burst), circuitBreakers.forChannel(provider.getType()),
+                deferredCapacity, this::sendDeferred, meterRegistry));
+        }
     }
 
+    /**
+     * Send a notification through every enabled provider concurrently. Each provider gets
+     * its own timeout, and the resulting logs are written together once all have finished.
+     * Channels over their rate limit keep the log as PENDING and send it once a token frees up;
+     * channels with an open circuit fail fast and leave the send to the retry job.
+     * A trigger is sent once per appointment start: after a reschedule it is sent again.
+     */
     public void sendNotification(Appointment appointment, NotificationTrigger trigger) {
-        for (NotificationProvider provider : providers) {
-            if (provider.isEnabled()) {
-                sendWithProvider(appointment, trigger, provider);
+        // Check if already sent for this start; only the latest one counts, so moving back
+        // to an earlier start is announced too
+        boolean alreadySent = notificationLogRepository
+            .findFirstByAppointmentIdAndTriggerTypeOrderByCreatedAtDesc(appointment.getId(), trigger)
+            .filter(previous -> appointment.getStartDateTime().equals(previous.getScheduledFor()))
+            .isPresent();
+        if (alreadySent) {
+            log.debug("Notification {} already sent for appointment {} at {}",
+                trigger, appointment.getId(), appointment.getStartDateTime());
+            return;
+        }
+
+        // Providers run outside this thread's persistence context: load what they read up front
+        Hibernate.initialize(appointment.getPatient());
+
+        List<ProviderSend> sends = new ArrayList<>();
+        for (NotificationChannel channel : channels.values()) {
+            if (channel.getProvider().isEnabled()) {
+                sends.add(submit(appointment, trigger, channel));
             }
         }
+
+        if (sends.isEmpty()) {
+            return;
+        }
+
+        List<NotificationLog> notificationLogs = new ArrayList<>(sends.size());
+        List<ProviderSend> deferred = new ArrayList<>();
+        for (ProviderSend send : sends) {
+            if (send.result() != null) {
+                notificationLogs.add(awaitResult(send));
+            } else {
+                // Settled without calling the provider: deferred, or failed fast
+                notificationLogs.add(send.notificationLog());
+                if (send.notificationLog().getStatus() == NotificationStatus.PENDING) {
+                    deferred.add(send);
+                }
+            }
+        }
+
+        notificationLogRepository.saveAll(notificationLogs);
+        deferred.forEach(this::deferAfterCommit);
     }
 
-    private void sendWithProvider(Appointment appointment, NotificationTrigger trigger,
-                                   NotificationProvider provider) {
-        NotificationType type = NotificationType.valueOf(provider.getType());
+    /**
+     * Send a notification covering a date rather than an appointment (e.g. the daily digest),
+     * once per trigger and date. It is logged and sent like a claimed retry, so a failed
+     * attempt is picked up by the retry job with the usual backoff.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void sendForDate(NotificationTrigger trigger, LocalDate date) {
+        NotificationContentSource source = contentSource(trigger);
+        UUID notificationLogId = transactionTemplate.execute(status -> {
+            if (notificationLogRepository.existsByTriggerTypeAndReferenceDate(trigger, date)) {
+                log.debug("Notification {} already sent for {}", trigger, date);
+                return null;
+            }
+            NotificationLog notificationLog = NotificationLog.builder()
+                .notificationType(source.getChannel())
+                .triggerType(trigger)
+                .referenceDate(date)
+                .status(NotificationStatus.SENDING)
+                .recipient(source.getRecipient())
+                .nextAttemptAt(LocalDateTime.now().plus(RETRY_CLAIM_LEASE))
+                .build();
+            return notificationLogRepository.save(notificationLog).getId();
+        });
+        if (notificationLogId != null) {
+            retry(notificationLogId);
+        }
+    }
+
+    /**
+     * Claim a batch of notifications due for a retry. Claimed rows move to SENDING with a short
+     * lease, so other nodes polling at the same time and the deferral drainers leave them alone.
+     */
+    public List<UUID> claimDueRetries(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> ids = notificationLogRepository.lockDueRetryIds(now, limit);
+        if (!ids.isEmpty()) {
+            notificationLogRepository.claimForSending(ids, now.plus(RETRY_CLAIM_LEASE));
+        }
+        return ids;
+    }
 
-        // Check if already sent
-        if (notificationLogRepository.existsByAppointmentIdAndTriggerType(appointment.getId(), trigger)) {
-            log.debug("Notification {} already sent for appointment {}", trigger, appointment.getId());
+    /**
+     * Send a claimed notification again through its own channel. The provider is awaited
+     * outside any transaction; the outcome is saved afterwards. Exhausted notifications move
+     * to DEAD_LETTER.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void retry(UUID notificationLogId) {
+        NotificationLog notificationLog = transactionTemplate.execute(status -> loadForRetry(notificationLogId));
+        if (notificationLog == null) {
             return;
         }
 
+        NotificationChannel channel = channels.get(notificationLog.getNotificationType().name());
+        Future<Boolean> result;
+        try {
+            result = channel.submit(() -> deliver(channel, notificationLog));
+        } catch (RejectedExecutionException e) {
+            // Local back-pressure, not a provider failure: the breaker is left alone
+            channel.getCircuitBreaker().releasePermission();
+            channel.release();
+            notificationLog.setNextAttemptAt(LocalDateTime.now().plus(RATE_LIMITED_RETRY_DELAY));
+            save(notificationLog);
+            return;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(providerTimeoutSeconds);
+        awaitResult(new ProviderSend(channel, notificationLog, result, deadline));
+        save(notificationLog);
+
+        meterRegistry.counter("notification.retry",
+            "channel", channel.getType().toLowerCase(),
+            "outcome", notificationLog.getStatus().name().toLowerCase()).increment();
+        if (notificationLog.getStatus() == NotificationStatus.DEAD_LETTER) {
+            log.warn("Notification {} moved to dead letter after {} attempts: {}",
+                notificationLogId, notificationLog.getAttempts(), notificationLog.getErrorMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(NotificationChannel::shutdown);
+    }
+
+    private ProviderSend submit(Appointment appointment, NotificationTrigger trigger, NotificationChannel channel) {
+        NotificationProvider provider = channel.getProvider();
+        NotificationType type = NotificationType.valueOf(provider.getType());
+
         NotificationLog notificationLog = NotificationLog.builder()
             .appointment(appointment)
+            .scheduledFor(appointment.getStartDateTime())
             .notificationType(type)
             .triggerType(trigger)
             .status(NotificationStatus.PENDING)
             .recipient(getRecipient(appointment, type))
             .build();
 
+        if (!StringUtils.hasText(notificationLog.getRecipient())) {
+            markFailed(notificationLog, "No recipient for " + type);
+            return new ProviderSend(channel, notificationLog, null, 0);
+        }
+
+        if (!channel.tryAcquire()) {
+            log.debug("{} rate limit reached, deferring {} for appointment {}",
+                provider.getType(), trigger, appointment.getId());
+            notificationLog.setNextAttemptAt(LocalDateTime.now().plus(DEFERRED_SEND_LEASE));
+            return new ProviderSend(channel, notificationLog, null, 0);
+        }
+
+        if (!channel.getCircuitBreaker().tryAcquirePermission()) {
+            channel.release();
+            log.debug("{} circuit is open, failing {} for appointment {} fast",
+                provider.getType(), trigger, appointment.getId());
+            markFailed(notificationLog, "Circuit open for " + type);
+            return new ProviderSend(channel, notificationLog, null, 0);
+        }
+
+        Future<Boolean> result;
         try {
-            boolean success = provider.sendNotification(appointment, trigger);
+            result = channel.submit(() -> provider.sendNotification(appointment, trigger));
+        } catch (RejectedExecutionException e) {
+            // Local back-pressure, not a provider failure: no attempt is counted and the breaker
+            // is left alone; the retry job sends it shortly
+            log.warn("{} notification queue is full, retrying {} for appointment {} later",
+                provider.getType(), trigger, appointment.getId());
+            channel.getCircuitBreaker().releasePermission();
+            channel.release();
+            notificationLog.setStatus(NotificationStatus.FAILED);
+            notificationLog.setErrorMessage("Notification queue is full");
+            notificationLog.setNextAttemptAt(LocalDateTime.now().plus(RATE_LIMITED_RETRY_DELAY));
+            return new ProviderSend(channel, notificationLog, null, 0);
+        }
 
-            if (success) {
-                notificationLog.setStatus(NotificationStatus.SENT);
-                notificationLog.setSentAt(LocalDateTime.now());
-            } else {
-                notificationLog.setStatus(NotificationStatus.FAILED);
-                notificationLog.setErrorMessage("Provider returned false");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(providerTimeoutSeconds);
+        return new ProviderSend(channel, notificationLog, result, deadline);
+    }
+
+    private NotificationLog awaitResult(ProviderSend send) {
+        NotificationLog notificationLog = send.notificationLog();
+        CircuitBreaker circuitBreaker = send.channel().getCircuitBreaker();
+        try {
+            long remaining = Math.max(0, send.deadlineNanos() - System.nanoTime());
+            boolean success = send.result().get(remaining, TimeUnit.NANOSECONDS);
+            applyResult(notificationLog, success);
+            recordOutcome(circuitBreaker, success);
+            return notificationLog;
+        } catch (TimeoutException e) {
+            send.result().cancel(true);
+            log.warn("{} provider timed out after {}s", send.channel().getType(), providerTimeoutSeconds);
+            markFailed(notificationLog, "Provider timed out after " + providerTimeoutSeconds + "s");
+        } catch (ExecutionException e) {
+            log.error("Failed to send notification", e.getCause());
+            markFailed(notificationLog, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            markFailed(notificationLog, "Interrupted while waiting for provider");
+        }
+        circuitBreaker.onFailure();
+        return notificationLog;
+    }
+
+    /**
+     * Load a claimed notification that can be sent now. Notifications that cannot are
+     * rescheduled or dropped here and null is returned.
+     */
+    private NotificationLog loadForRetry(UUID notificationLogId) {
+        NotificationLog notificationLog = notificationLogRepository.findByIdWithAppointment(notificationLogId)
+            .orElse(null);
+        if (notificationLog == null || notificationLog.getStatus() != NotificationStatus.SENDING) {
+            return null;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (isOutdated(notificationLog, now)) {
+            log.debug("Dropping retry of notification {}: no longer relevant", notificationLogId);
+            markOutdated(notificationLog);
+            return null;
+        }
+
+        NotificationChannel channel = channels.get(notificationLog.getNotificationType().name());
+        if (channel == null || !channel.getProvider().isEnabled()) {
+            // Left on its claim lease: retried once the channel is back
+            return null;
+        }
+        if (!channel.tryAcquire()) {
+            notificationLog.setNextAttemptAt(now.plus(RATE_LIMITED_RETRY_DELAY));
+            return null;
+        }
+        if (!channel.getCircuitBreaker().tryAcquirePermission()) {
+            // Not counted as an attempt: wait for the circuit to allow a trial call
+            channel.release();
+            Duration wait = channel.getCircuitBreaker().remainingOpenTime();
+            notificationLog.setNextAttemptAt(now.plus(wait.compareTo(RATE_LIMITED_RETRY_DELAY) > 0
+                ? wait : RATE_LIMITED_RETRY_DELAY));
+            return null;
+        }
+        return notificationLog;
+    }
+
+    /**
+     * Whether the session (or day) a notification is about has already happened, or the
+     * appointment was rescheduled since; either way the message is no longer useful
+     */
+    private boolean isOutdated(NotificationLog notificationLog, LocalDateTime now) {
+        Appointment appointment = notificationLog.getAppointment();
+        if (appointment == null) {
+            return notificationLog.getReferenceDate().isBefore(now.toLocalDate());
+        }
+        return !appointment.getStartDateTime().isAfter(now)
+            || !appointment.getStartDateTime().equals(notificationLog.getScheduledFor());
+    }
+
+    private void markOutdated(NotificationLog notificationLog) {
+        notificationLog.setStatus(NotificationStatus.FAILED);
+        notificationLog.setErrorMessage("Outdated");
+        notificationLog.setNextAttemptAt(null);
+    }
+
+    /**
+     * Hand a PENDING log to its channel's deferral queue once the row is visible to other threads
+     */
+    private void deferAfterCommit(ProviderSend send) {
+        UUID notificationLogId = send.notificationLog().getId();
+        NotificationChannel channel = send.channel();
+        Runnable enqueue = () -> {
+            if (!channel.defer(notificationLogId)) {
+                log.warn("{} deferral queue is full, failing notification {}", channel.getType(), notificationLogId);
+                transactionTemplate.executeWithoutResult(status ->
+                    notificationLogRepository.findById(notificationLogId).ifPresent(notificationLog ->
+                        markFailed(notificationLog, "Rate limit deferral queue is full")));
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue.run();
+                }
+            });
+        } else {
+            enqueue.run();
+        }
+    }
+
+    /**
+     * Called by a channel's drainer once the rate limit lets a deferred notification through.
+     * The row is claimed first, so it is sent either here or by the retry job, never both.
+     */
+    private void sendDeferred(NotificationChannel channel, UUID notificationLogId) {
+        NotificationLog notificationLog = transactionTemplate.execute(status -> {
+            LocalDateTime leaseUntil = LocalDateTime.now().plus(DEFERRED_SEND_LEASE);
+            if (notificationLogRepository.claimPending(notificationLogId, leaseUntil) == 0) {
+                // Already handled, e.g. by the retry job after the lease ran out
+                channel.release();
+                return null;
+            }
+            NotificationLog claimed = notificationLogRepository.findByIdWithAppointment(notificationLogId)
+                .orElse(null);
+            if (claimed != null && isOutdated(claimed, LocalDateTime.now())) {
+                channel.release();
+                markOutdated(claimed);
+                return null;
             }
+            if (claimed != null && !channel.getCircuitBreaker().tryAcquirePermission()) {
+                channel.release();
+                markFailed(claimed, "Circuit open for " + channel.getType());
+                return null;
+            }
+            return claimed;
+        });
+        if (notificationLog == null) {
+            return;
+        }
+
+        CircuitBreaker circuitBreaker = channel.getCircuitBreaker();
+        try {
+            boolean success = channel.getProvider()
+                .sendNotification(notificationLog.getAppointment(), notificationLog.getTriggerType());
+            applyResult(notificationLog, success);
+            recordOutcome(circuitBreaker, success);
         } catch (Exception e) {
-            log.error("Failed to send notification", e);
+            log.error("Failed to send deferred notification", e);
+            markFailed(notificationLog, e.getMessage());
+            circuitBreaker.onFailure();
+        }
+        save(notificationLog);
+    }
+
+    /**
+     * Hand a claimed notification to its provider; runs on the channel's executor
+     */
+    private boolean deliver(NotificationChannel channel, NotificationLog notificationLog) throws Exception {
+        if (notificationLog.getAppointment() != null) {
+            return channel.getProvider()
+                .sendNotification(notificationLog.getAppointment(), notificationLog.getTriggerType());
+        }
+        RenderedNotification content = contentSource(notificationLog.getTriggerType())
+            .render(notificationLog.getReferenceDate());
+        return channel.getProvider().sendRendered(notificationLog.getRecipient(), content);
+    }
+
+    private NotificationContentSource contentSource(NotificationTrigger trigger) {
+        return contentSources.stream()
+            .filter(source -> source.getTrigger() == trigger)
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("No content source for " + trigger));
+    }
+
+    private void save(NotificationLog notificationLog) {
+        transactionTemplate.executeWithoutResult(status -> notificationLogRepository.save(notificationLog));
+    }
+
+    private void applyResult(NotificationLog notificationLog, boolean success) {
+        if (success) {
+            notificationLog.setAttempts(notificationLog.getAttempts() + 1);
+            notificationLog.setStatus(NotificationStatus.SENT);
+            notificationLog.setSentAt(LocalDateTime.now());
+            notificationLog.setErrorMessage(null);
+            notificationLog.setNextAttemptAt(null);
+        } else {
+            markFailed(notificationLog, "Provider returned false");
+        }
+    }
+
+    /**
+     * Record a failed attempt and schedule the next one, or dead-letter the notification
+     * once the retry policy is exhausted
+     */
+    private void markFailed(NotificationLog notificationLog, String errorMessage) {
+        int attempts = notificationLog.getAttempts() + 1;
+        notificationLog.setAttempts(attempts);
+        notificationLog.setErrorMessage(errorMessage);
+
+        if (!StringUtils.hasText(notificationLog.getRecipient())) {
+            // Nothing to deliver to, retrying cannot help
             notificationLog.setStatus(NotificationStatus.FAILED);
-            notificationLog.setErrorMessage(e.getMessage());
+            notificationLog.setNextAttemptAt(null);
+        } else if (retryPolicy.isExhausted(attempts)) {
+            notificationLog.setStatus(NotificationStatus.DEAD_LETTER);
+            notificationLog.setNextAttemptAt(null);
+        } else {
+            notificationLog.setStatus(NotificationStatus.FAILED);
+            notificationLog.setNextAttemptAt(LocalDateTime.now().plus(retryPolicy.backoff(attempts)));
         }
+    }
 
-        notificationLogRepository.save(notificationLog);
+    private static void recordOutcome(CircuitBreaker circuitBreaker, boolean success) {
+        if (success) {
+            circuitBreaker.onSuccess();
+        } else {
+            circuitBreaker.onFailure();
+        }
     }
 
     private String getRecipient(Appointment appointment, NotificationType type) {
@@ -80,4 +504,15 @@ public class NotificationService {
             case SMS, WHATSAPP -> appointment.getPatient().getPhone();
         };
     }
+
+    private static <T> T rateLimitProperty(Environment environment, String channel, String name,
+                                           Class<T> targetType, T defaultValue) {
+        T fallback = environment.getProperty(RATE_LIMIT_PREFIX + name, targetType, defaultValue);
+        return environment.getProperty(RATE_LIMIT_PREFIX + "channels." + channel + "." + name, targetType, fallback);
+    }
+
+    private record ProviderSend(NotificationChannel channel,
+                                NotificationLog notificationLog,
+                                Future<Boolean> result,
+                                long deadlineNanos) {}
 }
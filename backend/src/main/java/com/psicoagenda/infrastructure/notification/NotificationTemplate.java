@@ -0,0 +1,91 @@
+package com.psicoagenda.infrastructure.notification;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A notification template compiled once into alternating literal and placeholder parts,
+ * so rendering is a single pass of appends into a presized buffer.
+ * <p>
+ * Placeholders are written {@code {{name}}}. HTML templates escape interpolated values,
+ * except for {@code {{{name}}}} placeholders, which insert markup the caller already escaped.
+ */
+public final class NotificationTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final String RAW_OPEN = "{{{";
+    private static final String RAW_CLOSE = "}}}";
+
+    // literals.length == variables.length + 1
+    private final String[] literals;
+    private final String[] variables;
+    private final boolean[] escaped;
+    private final int literalLength;
+
+    private NotificationTemplate(String[] literals, String[] variables, boolean[] escaped) {
+        this.literals = literals;
+        this.variables = variables;
+        this.escaped = escaped;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static NotificationTemplate compile(String source, boolean escapeHtml) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        List<Boolean> escaped = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                break;
+            }
+            boolean raw = source.startsWith(RAW_OPEN, open);
+            String openToken = raw ? RAW_OPEN : OPEN;
+            String closeToken = raw ? RAW_CLOSE : CLOSE;
+            int close = source.indexOf(closeToken, open + openToken.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            String name = source.substring(open + openToken.length(), close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder at offset " + open);
+            }
+            literals.add(source.substring(position, open));
+            variables.add(name);
+            escaped.add(escapeHtml && !raw);
+            position = close + closeToken.length();
+        }
+        literals.add(source.substring(position));
+
+        boolean[] escapedFlags = new boolean[escaped.size()];
+        for (int i = 0; i < escapedFlags.length; i++) {
+            escapedFlags[i] = escaped.get(i);
+        }
+        return new NotificationTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new), escapedFlags);
+    }
+
+    /**
+     * Render with the given values; unknown placeholders render empty
+     */
+    public String render(Map<String, String> model) {
+        StringBuilder out = new StringBuilder(literalLength + variables.length * 16);
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            String value = model.get(variables[i]);
+            if (value != null) {
+                out.append(escaped[i] ? HtmlUtils.htmlEscape(value) : value);
+            }
+        }
+        out.append(literals[variables.length]);
+        return out.toString();
+    }
+}
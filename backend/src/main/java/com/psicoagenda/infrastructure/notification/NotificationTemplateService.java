@@ -0,0 +1,188 @@
+package com.psicoagenda.infrastructure.notification;
+
+import com.psicoagenda.domain.enums.NotificationTrigger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads, compiles and caches notification templates per name, locale and variant.
+ * <p>
+ * Templates are looked up as {@code <locale>/<name>.subject.txt}, {@code .txt} and
+ * {@code .html}, first in the optional external {@code location} and then on the classpath,
+ * falling back from e.g. {@code pt_BR} to {@code pt}. Cached templates are checked for
+ * changes at most every {@code reload-interval-seconds} and recompiled when the source moved
+ * or was modified, so templates can be edited without a restart.
+ */
+@Service
+public class NotificationTemplateService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationTemplateService.class);
+
+    private static final String CLASSPATH_LOCATION = "classpath:notification-templates/";
+
+    private final ResourceLoader resourceLoader;
+    private final List<String> locations = new ArrayList<>();
+    private final Locale defaultLocale;
+    private final long reloadIntervalNanos;
+    private final Map<TemplateKey, CachedTemplate> cache = new ConcurrentHashMap<>();
+
+    public NotificationTemplateService(ResourceLoader resourceLoader,
+                                       @Value("${app.notifications.templates.location:}") String location,
+                                       @Value("${app.notifications.templates.locale:pt-BR}") String defaultLocale,
+                                       @Value("${app.notifications.templates.reload-interval-seconds:30}") long reloadIntervalSeconds) {
+        this.resourceLoader = resourceLoader;
+        if (StringUtils.hasText(location)) {
+            locations.add(location.endsWith("/") ? location : location + "/");
+        }
+        locations.add(CLASSPATH_LOCATION);
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale);
+        this.reloadIntervalNanos = TimeUnit.SECONDS.toNanos(reloadIntervalSeconds);
+    }
+
+    /**
+     * Render a notification in the default locale
+     */
+    public RenderedNotification render(NotificationTrigger trigger, Map<String, String> model) {
+        return render(trigger, defaultLocale, model);
+    }
+
+    public RenderedNotification render(NotificationTrigger trigger, Locale locale, Map<String, String> model) {
+        return render(trigger.name().toLowerCase(), locale, model);
+    }
+
+    /**
+     * Render a template that is not tied to an appointment trigger, e.g. the daily digest
+     */
+    public RenderedNotification render(String name, Map<String, String> model) {
+        return render(name, defaultLocale, model);
+    }
+
+    public RenderedNotification render(String name, Locale locale, Map<String, String> model) {
+        NotificationTemplate subject = require(name, locale, Variant.SUBJECT);
+        NotificationTemplate text = require(name, locale, Variant.TEXT);
+        NotificationTemplate html = get(new TemplateKey(name, locale, Variant.HTML));
+
+        return new RenderedNotification(
+            subject.render(model).strip(),
+            text.render(model),
+            html != null ? html.render(model) : null
+        );
+    }
+
+    private NotificationTemplate require(String name, Locale locale, Variant variant) {
+        NotificationTemplate template = get(new TemplateKey(name, locale, variant));
+        if (template == null) {
+            throw new IllegalStateException("Missing " + variant.name().toLowerCase()
+                + " template for " + name + " (" + locale + ")");
+        }
+        return template;
+    }
+
+    private NotificationTemplate get(TemplateKey key) {
+        long now = System.nanoTime();
+        CachedTemplate cached = cache.get(key);
+        if (cached != null && (reloadIntervalNanos <= 0 || now - cached.checkedAtNanos() < reloadIntervalNanos)) {
+            return cached.template();
+        }
+        return cache.compute(key, (k, current) -> refresh(k, current, now)).template();
+    }
+
+    private CachedTemplate refresh(TemplateKey key, CachedTemplate current, long now) {
+        // Another thread may have refreshed while this one waited for the entry
+        if (current != null && now - current.checkedAtNanos() < reloadIntervalNanos) {
+            return current;
+        }
+
+        Resource resource = resolve(key);
+        if (resource == null) {
+            return new CachedTemplate(null, null, 0, now);
+        }
+
+        String source = resource.getDescription();
+        long lastModified = lastModified(resource);
+        if (current != null && source.equals(current.source()) && lastModified == current.lastModified()) {
+            return new CachedTemplate(current.template(), source, lastModified, now);
+        }
+
+        try (InputStream in = resource.getInputStream()) {
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            NotificationTemplate template = NotificationTemplate.compile(content, key.variant() == Variant.HTML);
+            if (current != null) {
+                log.info("Reloaded notification template {}", source);
+            }
+            return new CachedTemplate(template, source, lastModified, now);
+        } catch (IOException | IllegalArgumentException e) {
+            // Keep serving the last good version rather than breaking every send
+            log.error("Failed to load notification template {}", source, e);
+            return current != null
+                ? new CachedTemplate(current.template(), current.source(), current.lastModified(), now)
+                : new CachedTemplate(null, null, 0, now);
+        }
+    }
+
+    private Resource resolve(TemplateKey key) {
+        String fileName = key.name() + key.variant().suffix;
+        for (String location : locations) {
+            for (String localeDir : localeCandidates(key.locale())) {
+                Resource resource = resourceLoader.getResource(location + localeDir + "/" + fileName);
+                if (resource.exists()) {
+                    return resource;
+                }
+            }
+        }
+        return null;
+    }
+
+    private List<String> localeCandidates(Locale locale) {
+        List<String> candidates = new ArrayList<>(3);
+        candidates.add(locale.toString());
+        if (!locale.getCountry().isEmpty()) {
+            candidates.add(locale.getLanguage());
+        }
+        if (!locale.equals(defaultLocale)) {
+            candidates.add(defaultLocale.toString());
+        }
+        return candidates;
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    public record RenderedNotification(String subject, String text, String html) {}
+
+    private enum Variant {
+        SUBJECT(".subject.txt"),
+        TEXT(".txt"),
+        HTML(".html");
+
+        private final String suffix;
+
+        Variant(String suffix) {
+            this.suffix = suffix;
+        }
+    }
+
+    private record TemplateKey(String name, Locale locale, Variant variant) {}
+
+    private record CachedTemplate(NotificationTemplate template, String source, long lastModified, long checkedAtNanos) {}
+}
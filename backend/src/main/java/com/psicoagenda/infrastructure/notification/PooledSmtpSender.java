@@ -0,0 +1,224 @@
+package com.psicoagenda.infrastructure.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends email over a small pool of long-lived, authenticated SMTP connections.
+ * <p>
+ * Messages are queued and each worker owns one {@link Transport}: it takes whatever
+ * is waiting (up to {@code batch-size}) and sends it over its open connection, so the
+ * connect, STARTTLS and AUTH round trips are paid once per connection instead of once
+ * per message. A broken connection is reopened and the failed message retried once.
+ * Idle connections are closed after {@code idle-timeout-seconds}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.email.pooled", havingValue = "true")
+public class PooledSmtpSender {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledSmtpSender.class);
+
+    private final MailProperties mailProperties;
+    private final Session session;
+    private final BlockingQueue<QueuedMessage> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService workers;
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final Counter reconnects;
+    private final int batchSize;
+    private final long idleTimeoutSeconds;
+
+    private volatile boolean running = true;
+
+    public PooledSmtpSender(MailProperties mailProperties,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.notifications.email.pool-size:2}") int poolSize,
+                            @Value("${app.notifications.email.batch-size:20}") int batchSize,
+                            @Value("${app.notifications.email.idle-timeout-seconds:60}") long idleTimeoutSeconds) {
+        this.mailProperties = mailProperties;
+        this.batchSize = batchSize;
+        this.idleTimeoutSeconds = idleTimeoutSeconds;
+
+        Properties properties = new Properties();
+        properties.putAll(mailProperties.getProperties());
+        this.session = Session.getInstance(properties);
+
+        Gauge.builder("notification.smtp.pool.size", openConnections, AtomicInteger::get)
+            .description("Open pooled SMTP connections")
+            .register(meterRegistry);
+        Gauge.builder("notification.smtp.pool.max", () -> poolSize)
+            .description("Configured SMTP connection pool size")
+            .register(meterRegistry);
+        Gauge.builder("notification.smtp.queue", queue, BlockingQueue::size)
+            .description("Email messages waiting for a pooled connection")
+            .register(meterRegistry);
+        this.reconnects = Counter.builder("notification.smtp.reconnects")
+            .description("SMTP connections reopened after a failure")
+            .register(meterRegistry);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "smtp-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < poolSize; i++) {
+            workers.execute(new Worker());
+        }
+        log.info("Pooled SMTP sender started with {} connections to {}:{}",
+            poolSize, mailProperties.getHost(), mailProperties.getPort());
+    }
+
+    /**
+     * Session used to build messages for this sender
+     */
+    public Session getSession() {
+        return session;
+    }
+
+    /**
+     * Queue a message; the future completes once it has been accepted by the SMTP server.
+     * Cancelling the future before a worker picks the message up drops it unsent.
+     */
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        QueuedMessage queued = new QueuedMessage(message, new CompletableFuture<>());
+        if (!running) {
+            queued.result().completeExceptionally(new IllegalStateException("SMTP sender is shut down"));
+        } else {
+            queue.add(queued);
+        }
+        return queued.result();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.shutdownNow();
+        QueuedMessage pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new IllegalStateException("SMTP sender is shut down"));
+        }
+    }
+
+    private record QueuedMessage(MimeMessage message, CompletableFuture<Void> result) {}
+
+    private class Worker implements Runnable {
+
+        private Transport transport;
+
+        @Override
+        public void run() {
+            List<QueuedMessage> batch = new ArrayList<>(batchSize);
+            try {
+                while (running) {
+                    QueuedMessage first = queue.poll(idleTimeoutSeconds, TimeUnit.SECONDS);
+                    if (first == null) {
+                        close();
+                        continue;
+                    }
+
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    sendBatch(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.forEach(m -> m.result().completeExceptionally(new IllegalStateException("SMTP sender stopped")));
+                close();
+            }
+        }
+
+        private void sendBatch(List<QueuedMessage> batch) {
+            for (QueuedMessage queued : batch) {
+                if (queued.result().isCancelled()) {
+                    // The caller timed out and reported the send as failed; it will be retried from there
+                    continue;
+                }
+                try {
+                    send(queued.message());
+                    queued.result().complete(null);
+                } catch (MessagingException firstFailure) {
+                    // The connection may have been dropped by the server: reconnect and retry once
+                    log.warn("SMTP send failed, reconnecting: {}", firstFailure.getMessage());
+                    close();
+                    reconnects.increment();
+                    try {
+                        send(queued.message());
+                        queued.result().complete(null);
+                    } catch (MessagingException retryFailure) {
+                        close();
+                        queued.result().completeExceptionally(retryFailure);
+                    }
+                } catch (RuntimeException e) {
+                    queued.result().completeExceptionally(e);
+                }
+            }
+        }
+
+        private void send(MimeMessage message) throws MessagingException {
+            ensureConnected();
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+        }
+
+        private void ensureConnected() throws MessagingException {
+            if (transport != null && transport.isConnected()) {
+                return;
+            }
+            close();
+            // Only a connected transport is kept and counted, so a failed connect leaves nothing to close
+            Transport connecting = session.getTransport(mailProperties.getProtocol());
+            String username = mailProperties.getUsername();
+            String password = mailProperties.getPassword();
+            connecting.connect(mailProperties.getHost(),
+                mailProperties.getPort() != null ? mailProperties.getPort() : -1,
+                StringUtils.hasLength(username) ? username : null,
+                StringUtils.hasLength(username) ? password : null);
+            transport = connecting;
+            openConnections.incrementAndGet();
+        }
+
+        private void close() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Error closing SMTP connection", e);
+            } finally {
+                transport = null;
+                openConnections.decrementAndGet();
+            }
+        }
+    }
+}
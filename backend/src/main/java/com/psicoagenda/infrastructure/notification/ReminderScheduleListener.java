@@ -0,0 +1,21 @@
+package com.psicoagenda.infrastructure.notification;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Callback for components that mirror the reminder schedule in memory.
+ * Invoked after the transaction that changed the schedule has committed.
+ */
+public interface ReminderScheduleListener {
+
+    /**
+     * A reminder was added to the schedule
+     */
+    void onReminderScheduled(UUID scheduleId, UUID appointmentId, LocalDateTime dueAt);
+
+    /**
+     * All reminders of an appointment were removed from the schedule
+     */
+    void onRemindersCancelled(UUID appointmentId);
+}
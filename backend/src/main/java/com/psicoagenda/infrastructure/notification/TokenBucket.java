@@ -0,0 +1,74 @@
+package com.psicoagenda.infrastructure.notification;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket. Tokens refill continuously at {@code permitsPerSecond}
+ * up to {@code burst}; each acquire takes one token. The bucket state is an immutable
+ * snapshot swapped with compare-and-set, so concurrent callers never block.
+ */
+public final class TokenBucket {
+
+    private final double burst;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.burst = burst;
+        this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.state = new AtomicReference<>(new State(burst, System.nanoTime()));
+    }
+
+    /**
+     * Take a token if one is available
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            State current = state.get();
+            long now = System.nanoTime();
+            double tokens = refill(current, now);
+            if (tokens < 1) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give back a token that was acquired but not used, without exceeding the burst
+     */
+    public void release() {
+        while (true) {
+            State current = state.get();
+            long now = System.nanoTime();
+            if (state.compareAndSet(current, new State(Math.min(burst, refill(current, now) + 1), now))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Time until the next token becomes available, zero if one is available now
+     */
+    public long nanosUntilAvailable() {
+        State current = state.get();
+        double tokens = refill(current, System.nanoTime());
+        if (tokens >= 1) {
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    private double refill(State current, long now) {
+        long elapsed = Math.max(0, now - current.timestampNanos());
+        return Math.min(burst, current.tokens() + elapsed * tokensPerNano);
+    }
+
+    private record State(double tokens, long timestampNanos) {}
+}
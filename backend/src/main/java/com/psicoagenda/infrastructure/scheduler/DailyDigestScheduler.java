@@ -0,0 +1,49 @@
+package com.psicoagenda.infrastructure.scheduler;
+
+import com.psicoagenda.application.service.DailyDigestService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+public class DailyDigestScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyDigestScheduler.class);
+
+    private final DailyDigestService dailyDigestService;
+    private final JobLock jobLock;
+
+    @Value("${app.notifications.enabled}")
+    private boolean notificationsEnabled;
+
+    @Value("${app.notifications.digest.enabled:true}")
+    private boolean digestEnabled;
+
+    public DailyDigestScheduler(DailyDigestService dailyDigestService, JobLock jobLock) {
+        this.dailyDigestService = dailyDigestService;
+        this.jobLock = jobLock;
+    }
+
+    /**
+     * Email the practitioner tomorrow's agenda - runs every evening by default
+     */
+    @Scheduled(cron = "${app.notifications.digest.cron:0 0 19 * * *}")
+    public void sendTomorrowDigest() {
+        if (!notificationsEnabled || !digestEnabled) {
+            return;
+        }
+
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        jobLock.runExclusively("daily-digest", () -> {
+            try {
+                dailyDigestService.sendDigest(tomorrow);
+            } catch (Exception e) {
+                log.error("Failed to send daily digest for {}", tomorrow, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package com.psicoagenda.infrastructure.scheduler;
+
+import com.psicoagenda.application.service.DailyStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DailyStatsRepairScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyStatsRepairScheduler.class);
+
+    private final DailyStatsService dailyStatsService;
+    private final JobLock jobLock;
+
+    public DailyStatsRepairScheduler(DailyStatsService dailyStatsService, JobLock jobLock) {
+        this.dailyStatsService = dailyStatsService;
+        this.jobLock = jobLock;
+    }
+
+    /**
+     * Reconcile the daily statistics rollup with appointments and payments - runs nightly by default
+     */
+    @Scheduled(cron = "${app.stats.repair-cron:0 30 3 * * *}")
+    public void repairDailyStats() {
+        jobLock.runExclusively("daily-stats-repair", () -> {
+            try {
+                dailyStatsService.repair();
+            } catch (Exception e) {
+                log.error("Daily stats repair failed", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,103 @@
+package com.psicoagenda.infrastructure.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster-wide mutual exclusion for scheduled jobs, built on Postgres session advisory locks.
+ * <p>
+ * Each run tries {@code pg_try_advisory_lock} on one pooled connection and holds that
+ * connection until the job is done, so only one replica executes a given job at a time and
+ * the others skip the run instead of waiting. If a node dies mid-run its session ends and
+ * Postgres releases the lock, so there is no lease to expire.
+ */
+@Component
+public class JobLock {
+
+    private static final Logger log = LoggerFactory.getLogger(JobLock.class);
+
+    // First half of the two-int advisory lock key, keeps job locks apart from any other advisory lock use
+    private static final int LOCK_NAMESPACE = 0x50534741;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.scheduler.lock.enabled:true}")
+    private boolean enabled;
+
+    public JobLock(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Run the job if no other node is running it right now
+     * @return true if the job ran here, false if the run was skipped
+     */
+    public boolean runExclusively(String jobName, Runnable job) {
+        if (!enabled) {
+            job.run();
+            return true;
+        }
+
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            int key = jobName.hashCode();
+
+            long start = System.nanoTime();
+            boolean acquired = tryLock(connection, key);
+            Timer.builder("scheduler.lock.acquire")
+                .description("Time to try the job's advisory lock")
+                .tag("job", jobName)
+                .tag("acquired", String.valueOf(acquired))
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (!acquired) {
+                meterRegistry.counter("scheduler.lock.skipped", "job", jobName).increment();
+                log.debug("Skipping {}: running on another node", jobName);
+                return false;
+            }
+
+            try {
+                job.run();
+                return true;
+            } finally {
+                unlock(connection, key, jobName);
+            }
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+
+    private boolean tryLock(Connection connection, int key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection connection, int key, String jobName) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?, ?)")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, key);
+            statement.execute();
+        } catch (SQLException e) {
+            // The lock goes away with the session at the latest
+            log.warn("Failed to release job lock for {}", jobName, e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.psicoagenda.infrastructure.scheduler;
+
+import com.psicoagenda.infrastructure.notification.NotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class NotificationRetryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetryScheduler.class);
+
+    private final NotificationService notificationService;
+    private final JobLock jobLock;
+
+    @Value("${app.notifications.enabled}")
+    private boolean notificationsEnabled;
+
+    @Value("${app.notifications.retry.batch-size:50}")
+    private int batchSize;
+
+    public NotificationRetryScheduler(NotificationService notificationService, JobLock jobLock) {
+        this.notificationService = notificationService;
+        this.jobLock = jobLock;
+    }
+
+    /**
+     * Retry failed notifications whose backoff has elapsed - runs every minute, on one node
+     * at a time. Each batch is claimed in its own transaction: rows move to SENDING, which
+     * also keeps the deferral drainers on every node away from them.
+     */
+    @Scheduled(cron = "30 * * * * *") // Every minute, offset from the reminder job
+    public void retryFailedNotifications() {
+        if (!notificationsEnabled) {
+            return;
+        }
+
+        jobLock.runExclusively("notification-retries", this::retryDueNotifications);
+    }
+
+    private void retryDueNotifications() {
+        int processed = 0;
+        int retriedInBatch;
+        List<UUID> due;
+        do {
+            retriedInBatch = 0;
+            due = notificationService.claimDueRetries(batchSize);
+            for (UUID notificationLogId : due) {
+                try {
+                    notificationService.retry(notificationLogId);
+                    retriedInBatch++;
+                } catch (Exception e) {
+                    log.error("Failed to retry notification {}", notificationLogId, e);
+                }
+            }
+            processed += retriedInBatch;
+        } while (due.size() == batchSize && retriedInBatch > 0);
+
+        if (processed > 0) {
+            log.debug("Notification retry job completed. Retried {} notifications", processed);
+        }
+    }
+}
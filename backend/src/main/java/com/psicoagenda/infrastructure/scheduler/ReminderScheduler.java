@@ -1,98 +1,71 @@
 package com.psicoagenda.infrastructure.scheduler;
 
-import com.psicoagenda.domain.entity.Appointment;
-import com.psicoagenda.domain.enums.NotificationTrigger;
-import com.psicoagenda.domain.repository.AppointmentRepository;
-import com.psicoagenda.domain.repository.NotificationLogRepository;
-import com.psicoagenda.infrastructure.notification.NotificationService;
+import com.psicoagenda.infrastructure.notification.NotificationScheduleService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @Component
+@ConditionalOnProperty(name = "app.notifications.reminder-dispatch", havingValue = "poll", matchIfMissing = true)
 public class ReminderScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
 
-    private final AppointmentRepository appointmentRepository;
-    private final NotificationLogRepository notificationLogRepository;
-    private final NotificationService notificationService;
+    private final NotificationScheduleService notificationScheduleService;
+    private final JobLock jobLock;
 
     @Value("${app.notifications.enabled}")
     private boolean notificationsEnabled;
 
-    public ReminderScheduler(AppointmentRepository appointmentRepository,
-                             NotificationLogRepository notificationLogRepository,
-                             NotificationService notificationService) {
-        this.appointmentRepository = appointmentRepository;
-        this.notificationLogRepository = notificationLogRepository;
-        this.notificationService = notificationService;
-    }
-
-    /**
-     * Send 24-hour reminders - runs every hour
-     */
-    @Scheduled(cron = "0 0 * * * *") // Every hour at minute 0
-    public void send24HourReminders() {
-        if (!notificationsEnabled) {
-            return;
-        }
-
-        log.debug("Running 24-hour reminder job");
-
-        LocalDateTime now = LocalDateTime.now();
-        // Find appointments between 23 and 25 hours from now
-        LocalDateTime start = now.plusHours(23);
-        LocalDateTime end = now.plusHours(25);
-
-        List<Appointment> appointments = appointmentRepository.findUpcomingForReminders(start, end);
+    @Value("${app.notifications.reminder-batch-size:200}")
+    private int batchSize;
 
-        for (Appointment appointment : appointments) {
-            // Check if reminder was already sent (idempotent)
-            if (!notificationLogRepository.existsByAppointmentIdAndTriggerType(
-                appointment.getId(), NotificationTrigger.REMINDER_24H)) {
-
-                notificationService.sendNotification(appointment, NotificationTrigger.REMINDER_24H);
-                log.info("Sent 24h reminder for appointment {}", appointment.getId());
-            }
-        }
-
-        log.debug("24-hour reminder job completed. Processed {} appointments", appointments.size());
+    public ReminderScheduler(NotificationScheduleService notificationScheduleService, JobLock jobLock) {
+        this.notificationScheduleService = notificationScheduleService;
+        this.jobLock = jobLock;
     }
 
     /**
-     * Send 2-hour reminders - runs every 15 minutes
+     * Send reminders that have come due - runs every minute.
+     * Only the precomputed schedule is read, through its due_at index.
      */
-    @Scheduled(cron = "0 */15 * * * *") // Every 15 minutes
-    public void send2HourReminders() {
+    @Scheduled(cron = "0 * * * * *") // Every minute
+    public void sendDueReminders() {
         if (!notificationsEnabled) {
             return;
         }
 
-        log.debug("Running 2-hour reminder job");
-
-        LocalDateTime now = LocalDateTime.now();
-        // Find appointments between 1h45m and 2h15m from now
-        LocalDateTime start = now.plusMinutes(105);
-        LocalDateTime end = now.plusMinutes(135);
-
-        List<Appointment> appointments = appointmentRepository.findUpcomingForReminders(start, end);
-
-        for (Appointment appointment : appointments) {
-            // Check if reminder was already sent (idempotent)
-            if (!notificationLogRepository.existsByAppointmentIdAndTriggerType(
-                appointment.getId(), NotificationTrigger.REMINDER_2H)) {
+        jobLock.runExclusively("reminders", this::drainDueReminders);
+    }
 
-                notificationService.sendNotification(appointment, NotificationTrigger.REMINDER_2H);
-                log.info("Sent 2h reminder for appointment {}", appointment.getId());
+    private void drainDueReminders() {
+        int processed = 0;
+        int dispatchedInBatch;
+        List<UUID> due;
+        do {
+            dispatchedInBatch = 0;
+            due = notificationScheduleService.findDue(LocalDateTime.now(), batchSize);
+            for (UUID scheduleId : due) {
+                try {
+                    notificationScheduleService.dispatch(scheduleId);
+                    dispatchedInBatch++;
+                } catch (Exception e) {
+                    log.error("Failed to dispatch scheduled reminder {}", scheduleId, e);
+                }
             }
-        }
+            processed += dispatchedInBatch;
+            // Keep draining only while full batches are making progress
+        } while (due.size() == batchSize && dispatchedInBatch > 0);
 
-        log.debug("2-hour reminder job completed. Processed {} appointments", appointments.size());
+        if (processed > 0) {
+            log.debug("Reminder job completed. Processed {} scheduled reminders", processed);
+        }
     }
 }
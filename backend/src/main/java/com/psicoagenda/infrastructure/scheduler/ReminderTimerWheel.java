@@ -0,0 +1,173 @@
+package com.psicoagenda.infrastructure.scheduler;
+
+import com.psicoagenda.domain.entity.NotificationSchedule;
+import com.psicoagenda.domain.repository.NotificationScheduleRepository;
+import com.psicoagenda.infrastructure.notification.NotificationScheduleService;
+import com.psicoagenda.infrastructure.notification.ReminderScheduleListener;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process reminder dispatch for single-node installs.
+ * <p>
+ * Holds the reminders due within the next {@code horizon-hours} in a hashed timer wheel,
+ * so each one fires at its due second without polling. The wheel is rebuilt from
+ * notification_schedule with a single range query at startup, kept in sync by the
+ * appointment write paths through {@link ReminderScheduleListener}, and its horizon is
+ * extended hourly with another range query.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.reminder-dispatch", havingValue = "timer-wheel")
+public class ReminderTimerWheel implements ReminderScheduleListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderTimerWheel.class);
+
+    private static final Duration TICK = Duration.ofSeconds(1);
+    private static final int WHEEL_SIZE = 512;
+    private static final Duration HORIZON_EXTENSION_INTERVAL = Duration.ofHours(1);
+    private static final Duration FAILED_DISPATCH_DELAY = Duration.ofMinutes(1);
+
+    private final NotificationScheduleRepository notificationScheduleRepository;
+    private final ObjectProvider<NotificationScheduleService> notificationScheduleService;
+    private final ExecutorService dispatchExecutor;
+    private final HashedTimerWheel wheel;
+    private final Map<UUID, Map<UUID, HashedTimerWheel.Timeout>> timeoutsByAppointment = new ConcurrentHashMap<>();
+    private final Object horizonLock = new Object();
+
+    private LocalDateTime loadedUntil;
+
+    @Value("${app.notifications.enabled}")
+    private boolean notificationsEnabled;
+
+    @Value("${app.notifications.timer-wheel.horizon-hours:48}")
+    private int horizonHours;
+
+    public ReminderTimerWheel(NotificationScheduleRepository notificationScheduleRepository,
+                              ObjectProvider<NotificationScheduleService> notificationScheduleService) {
+        this.notificationScheduleRepository = notificationScheduleRepository;
+        this.notificationScheduleService = notificationScheduleService;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatchExecutor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "reminder-dispatch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.wheel = new HashedTimerWheel(TICK, WHEEL_SIZE, dispatchExecutor, "reminder-timer-wheel");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        wheel.start();
+
+        synchronized (horizonLock) {
+            LocalDateTime until = LocalDateTime.now().plusHours(horizonHours);
+            List<NotificationSchedule> entries = notificationScheduleRepository.findByDueAtBefore(until);
+            entries.forEach(this::track);
+            loadedUntil = until;
+            log.info("Reminder timer wheel loaded {} reminders due before {}", entries.size(), until);
+        }
+
+        scheduleHorizonExtension();
+    }
+
+    @PreDestroy
+    public void stop() {
+        wheel.stop();
+        dispatchExecutor.shutdown();
+    }
+
+    @Override
+    public void onReminderScheduled(UUID scheduleId, UUID appointmentId, LocalDateTime dueAt) {
+        synchronized (horizonLock) {
+            // Reminders beyond the horizon are picked up by a later extension
+            if (loadedUntil != null && dueAt.isBefore(loadedUntil)) {
+                track(scheduleId, appointmentId, dueAt);
+            }
+        }
+    }
+
+    @Override
+    public void onRemindersCancelled(UUID appointmentId) {
+        Map<UUID, HashedTimerWheel.Timeout> timeouts = timeoutsByAppointment.remove(appointmentId);
+        if (timeouts != null) {
+            timeouts.values().forEach(HashedTimerWheel.Timeout::cancel);
+        }
+    }
+
+    /**
+     * Number of reminders currently held by the wheel
+     */
+    public int pendingReminders() {
+        return wheel.pendingTimeouts();
+    }
+
+    private void scheduleHorizonExtension() {
+        wheel.schedule(Instant.now().plus(HORIZON_EXTENSION_INTERVAL), this::extendHorizon);
+    }
+
+    private void extendHorizon() {
+        try {
+            synchronized (horizonLock) {
+                LocalDateTime until = LocalDateTime.now().plusHours(horizonHours);
+                List<NotificationSchedule> entries = notificationScheduleRepository
+                    .findByDueAtGreaterThanEqualAndDueAtBefore(loadedUntil, until);
+                entries.forEach(this::track);
+                loadedUntil = until;
+                log.debug("Reminder timer wheel horizon extended to {} ({} new reminders)", until, entries.size());
+            }
+        } catch (Exception e) {
+            log.error("Failed to extend reminder timer wheel horizon", e);
+        } finally {
+            scheduleHorizonExtension();
+        }
+    }
+
+    private void track(NotificationSchedule entry) {
+        track(entry.getId(), entry.getAppointment().getId(), entry.getDueAt());
+    }
+
+    private void track(UUID scheduleId, UUID appointmentId, LocalDateTime dueAt) {
+        Instant deadline = dueAt.atZone(ZoneId.systemDefault()).toInstant();
+        timeoutsByAppointment
+            .computeIfAbsent(appointmentId, id -> new ConcurrentHashMap<>())
+            .computeIfAbsent(scheduleId, id -> wheel.schedule(deadline, () -> fire(scheduleId, appointmentId)));
+    }
+
+    private void fire(UUID scheduleId, UUID appointmentId) {
+        timeoutsByAppointment.computeIfPresent(appointmentId, (id, timeouts) -> {
+            timeouts.remove(scheduleId);
+            return timeouts.isEmpty() ? null : timeouts;
+        });
+
+        if (!notificationsEnabled) {
+            return;
+        }
+
+        try {
+            notificationScheduleService.getObject().dispatch(scheduleId);
+        } catch (Exception e) {
+            log.error("Failed to dispatch scheduled reminder {}, retrying in {}", scheduleId, FAILED_DISPATCH_DELAY, e);
+            track(scheduleId, appointmentId, LocalDateTime.now().plus(FAILED_DISPATCH_DELAY));
+        }
+    }
+}
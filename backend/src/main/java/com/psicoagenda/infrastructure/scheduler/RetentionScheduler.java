@@ -1,5 +1,6 @@
 package com.psicoagenda.infrastructure.scheduler;
 
+import com.psicoagenda.application.service.PatientAutocompleteIndex;
 import com.psicoagenda.domain.entity.Patient;
 import com.psicoagenda.domain.repository.PatientRepository;
 import org.slf4j.Logger;
@@ -18,6 +19,8 @@ public class RetentionScheduler {
     private static final Logger log = LoggerFactory.getLogger(RetentionScheduler.class);
 
     private final PatientRepository patientRepository;
+    private final PatientAutocompleteIndex autocompleteIndex;
+    private final JobLock jobLock;
 
     @Value("${app.retention.enabled}")
     private boolean retentionEnabled;
@@ -25,8 +28,12 @@ public class RetentionScheduler {
     @Value("${app.retention.months}")
     private int retentionMonths;
 
-    public RetentionScheduler(PatientRepository patientRepository) {
+    public RetentionScheduler(PatientRepository patientRepository,
+                              PatientAutocompleteIndex autocompleteIndex,
+                              JobLock jobLock) {
         this.patientRepository = patientRepository;
+        this.autocompleteIndex = autocompleteIndex;
+        this.jobLock = jobLock;
     }
 
     /**
@@ -42,6 +49,10 @@ public class RetentionScheduler {
             return;
         }
 
+        jobLock.runExclusively("retention", this::anonymizeExpiredPatients);
+    }
+
+    private void anonymizeExpiredPatients() {
         log.info("Running retention/anonymization job");
 
         LocalDateTime cutoffDate = LocalDateTime.now().minusMonths(retentionMonths);
@@ -53,6 +64,7 @@ public class RetentionScheduler {
         for (Patient patient : patientsToAnonymize) {
             try {
                 patientRepository.anonymizePatient(patient.getId());
+                autocompleteIndex.remove(patient.getId());
                 anonymizedCount++;
                 log.info("Anonymized patient: {}", patient.getId());
             } catch (Exception e) {
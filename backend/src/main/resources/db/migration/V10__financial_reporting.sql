@@ -0,0 +1,12 @@
+-- How a payment was received, for the financial report; unknown for payments recorded before.
+ALTER TABLE payment ADD COLUMN payment_method VARCHAR(20);
+
+-- Covering indexes for the financial report: paid revenue is scanned by payment date and
+-- receivables by appointment, without visiting the payment heap.
+CREATE INDEX idx_payment_paid_at_report ON payment(paid_at)
+    INCLUDE (amount, payment_method, appointment_id)
+    WHERE status = 'PAID';
+
+CREATE INDEX idx_payment_unpaid_report ON payment(appointment_id)
+    INCLUDE (amount)
+    WHERE status = 'UNPAID';
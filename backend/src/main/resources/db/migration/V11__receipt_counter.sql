@@ -0,0 +1,29 @@
+-- Last receipt number handed out per year. Numbers are taken with an upsert on the year's row
+-- inside the payment transaction, so the row lock serializes concurrent payments and a rollback
+-- gives the number back.
+
+CREATE TABLE receipt_counter (
+    receipt_year INTEGER PRIMARY KEY,
+    last_number BIGINT NOT NULL
+);
+
+-- Receipts duplicated by the previous count-based generator keep their number on the first
+-- payment and get a -2, -3... suffix on the others, so the number can be made unique
+UPDATE payment p
+SET receipt_number = p.receipt_number || '-' || d.occurrence
+FROM (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY receipt_number ORDER BY paid_at NULLS LAST, created_at, id) AS occurrence
+    FROM payment
+    WHERE receipt_number IS NOT NULL
+) d
+WHERE d.id = p.id AND d.occurrence > 1;
+
+CREATE UNIQUE INDEX idx_payment_receipt_number ON payment(receipt_number) WHERE receipt_number IS NOT NULL;
+
+-- Continue after the receipts already issued in the REC-yyyy-nnnnn format
+INSERT INTO receipt_counter (receipt_year, last_number)
+SELECT CAST(SUBSTRING(receipt_number FROM 5 FOR 4) AS INTEGER),
+       MAX(CAST(SUBSTRING(receipt_number FROM 10) AS BIGINT))
+FROM payment
+WHERE receipt_number ~ '^REC-[0-9]{4}-[0-9]{1,18}$'
+GROUP BY 1;
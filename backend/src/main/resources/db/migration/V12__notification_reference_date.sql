@@ -0,0 +1,8 @@
+-- Notifications that cover a date rather than an appointment (the daily digest) go through the
+-- same log, rate limits and retries; they are keyed by trigger and date instead.
+
+ALTER TABLE notification_log ALTER COLUMN appointment_id DROP NOT NULL;
+ALTER TABLE notification_log ADD COLUMN reference_date DATE;
+
+CREATE UNIQUE INDEX idx_notification_reference_date ON notification_log(trigger_type, reference_date)
+    WHERE reference_date IS NOT NULL;
@@ -0,0 +1,8 @@
+-- Appointment start a notification was sent for. A reschedule moves the appointment to a new start,
+-- so its reminders and notices are sent again instead of being taken for duplicates.
+
+ALTER TABLE notification_log ADD COLUMN scheduled_for TIMESTAMP;
+
+UPDATE notification_log n SET scheduled_for = a.start_datetime
+FROM appointment a
+WHERE n.appointment_id = a.id;
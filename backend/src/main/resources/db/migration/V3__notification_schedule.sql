@@ -0,0 +1,31 @@
+-- Precomputed reminder schedule, polled by due_at instead of scanning appointments
+
+CREATE TABLE notification_schedule (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    appointment_id UUID NOT NULL REFERENCES appointment(id) ON DELETE CASCADE,
+    trigger_type VARCHAR(30) NOT NULL,
+    due_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_notification_schedule_appointment_trigger UNIQUE (appointment_id, trigger_type)
+);
+
+CREATE INDEX idx_notification_schedule_due ON notification_schedule(due_at);
+CREATE INDEX idx_notification_schedule_appointment ON notification_schedule(appointment_id);
+
+CREATE TRIGGER update_notification_schedule_updated_at BEFORE UPDATE ON notification_schedule FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- Backfill reminders for appointments that are already booked
+INSERT INTO notification_schedule (appointment_id, trigger_type, due_at)
+SELECT a.id, r.trigger_type, a.start_datetime - r.offset_interval
+FROM appointment a
+CROSS JOIN (VALUES
+    ('REMINDER_24H', INTERVAL '24 hours'),
+    ('REMINDER_2H', INTERVAL '2 hours')
+) AS r(trigger_type, offset_interval)
+WHERE a.status IN ('CONFIRMED', 'SCHEDULED')
+  AND a.start_datetime - r.offset_interval > CURRENT_TIMESTAMP
+  AND NOT EXISTS (
+      SELECT 1 FROM notification_log nl
+      WHERE nl.appointment_id = a.id AND nl.trigger_type = r.trigger_type
+  );
@@ -0,0 +1,19 @@
+-- Retry bookkeeping for failed notifications
+
+ALTER TABLE notification_log ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE notification_log ADD COLUMN next_attempt_at TIMESTAMP;
+
+-- Only rows waiting for a retry carry next_attempt_at, so the index stays small
+CREATE INDEX idx_notification_retry_due ON notification_log(next_attempt_at) WHERE next_attempt_at IS NOT NULL;
+
+-- Every existing row was sent (or tried) once
+UPDATE notification_log SET attempts = 1 WHERE status IN ('SENT', 'FAILED');
+
+-- Give failures for upcoming appointments another chance
+UPDATE notification_log nl
+SET next_attempt_at = CURRENT_TIMESTAMP
+FROM appointment a
+WHERE nl.appointment_id = a.id
+  AND nl.status = 'FAILED'
+  AND nl.recipient IS NOT NULL AND nl.recipient <> ''
+  AND a.start_datetime > CURRENT_TIMESTAMP;
@@ -0,0 +1,8 @@
+-- Blind indexes (keyed HMAC of normalized values) for equality lookups on encrypted phone/email.
+-- Existing rows are filled in by the application at startup, it holds the HMAC key.
+
+ALTER TABLE patient ADD COLUMN phone_bidx VARCHAR(64);
+ALTER TABLE patient ADD COLUMN email_bidx VARCHAR(64);
+
+CREATE INDEX idx_patient_phone_bidx ON patient(phone_bidx);
+CREATE INDEX idx_patient_email_bidx ON patient(email_bidx);
@@ -0,0 +1,20 @@
+-- Versioned data keys for envelope encryption of PII columns. Keys are stored wrapped
+-- (AESWrap) by the key-encryption key, which never touches the database.
+
+CREATE TABLE data_key (
+    version INT PRIMARY KEY,
+    wrapped_key VARCHAR(128) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Progress of background re-encryption runs, so an interrupted run resumes where it stopped
+CREATE TABLE reencryption_checkpoint (
+    job_name VARCHAR(64) PRIMARY KEY,
+    target_version INT NOT NULL,
+    last_id UUID,
+    processed BIGINT NOT NULL DEFAULT 0,
+    failed BIGINT NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
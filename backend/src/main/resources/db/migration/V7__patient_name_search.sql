@@ -0,0 +1,14 @@
+-- Accent-insensitive trigram search on patient names.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE because its dictionary could change; pinning the dictionary
+-- makes this wrapper safe to declare IMMUTABLE so it can be used in an index expression.
+CREATE OR REPLACE FUNCTION immutable_unaccent(text) RETURNS text AS $$
+    SELECT public.unaccent('public.unaccent'::regdictionary, $1)
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT;
+
+CREATE INDEX idx_patient_name_trgm ON patient
+    USING gin (immutable_unaccent(lower(name)) gin_trgm_ops)
+    WHERE active = true;
@@ -0,0 +1,11 @@
+-- Composite indexes matching the (sort key, id) order of the keyset-paginated admin lists,
+-- so each page is an index range scan starting right after the previous page's last row.
+
+CREATE INDEX idx_patient_active_name_id ON patient(name, id) WHERE active = true;
+
+DROP INDEX IF EXISTS idx_appointment_start;
+CREATE INDEX idx_appointment_start_id ON appointment(start_datetime, id);
+
+CREATE INDEX idx_payment_status_appointment ON payment(status, appointment_id);
+
+CREATE INDEX idx_recurring_active_start_id ON recurring_series(start_date DESC, id DESC) WHERE active = true;
@@ -0,0 +1,35 @@
+-- Per-day rollup of appointment outcomes and revenue, kept up to date by the services on every
+-- appointment/payment transition and reconciled nightly. Appointment counts and pending revenue
+-- are dated by the appointment's start, paid revenue by the payment date.
+
+CREATE TABLE daily_stats (
+    stat_date DATE PRIMARY KEY,
+    booked INTEGER NOT NULL DEFAULT 0,
+    cancelled INTEGER NOT NULL DEFAULT 0,
+    cancelled_late INTEGER NOT NULL DEFAULT 0,
+    no_show INTEGER NOT NULL DEFAULT 0,
+    revenue_paid DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    revenue_pending DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO daily_stats (stat_date, booked, cancelled, cancelled_late, no_show, revenue_paid, revenue_pending)
+SELECT stat_date, SUM(booked), SUM(cancelled), SUM(cancelled_late), SUM(no_show),
+       SUM(revenue_paid), SUM(revenue_pending)
+FROM (
+    SELECT CAST(a.start_datetime AS DATE) AS stat_date,
+           CASE WHEN a.status IN ('SCHEDULED', 'CONFIRMED', 'ATTENDED') THEN 1 ELSE 0 END AS booked,
+           CASE WHEN a.status = 'CANCELLED' THEN 1 ELSE 0 END AS cancelled,
+           CASE WHEN a.status = 'CANCELLED_LATE' THEN 1 ELSE 0 END AS cancelled_late,
+           CASE WHEN a.status = 'NO_SHOW' THEN 1 ELSE 0 END AS no_show,
+           0 AS revenue_paid,
+           CASE WHEN p.status = 'UNPAID' THEN p.amount ELSE 0 END AS revenue_pending
+    FROM appointment a
+    LEFT JOIN payment p ON p.appointment_id = a.id
+    UNION ALL
+    SELECT CAST(COALESCE(p.paid_at, a.start_datetime) AS DATE), 0, 0, 0, 0, p.amount, 0
+    FROM payment p
+    JOIN appointment a ON a.id = p.appointment_id
+    WHERE p.status = 'PAID'
+) contributions
+GROUP BY stat_date;
@@ -0,0 +1,104 @@
+package com.psicoagenda.integration;
+
+import com.psicoagenda.application.service.ReceiptNumberService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Testcontainers
+class ReceiptNumberConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int PER_THREAD = 25;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("psicoagenda_test")
+        .withUsername("test")
+        .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> String.valueOf(THREADS + 4));
+        registry.add("app.notifications.enabled", () -> "false");
+    }
+
+    @Autowired
+    private ReceiptNumberService receiptNumberService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void next_ConcurrentTransactions_ShouldCommitUniqueContiguousNumbers() throws Exception {
+        // Arrange: a year nobody else uses; every third transaction rolls back
+        int year = 2099;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Set<String> committed = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < PER_THREAD; i++) {
+                    boolean rollback = i % 3 == 2;
+                    String number = transaction.execute(status -> {
+                        String taken = receiptNumberService.next(year);
+                        if (rollback) {
+                            status.setRollbackOnly();
+                        }
+                        return taken;
+                    });
+                    if (!rollback) {
+                        assertTrue(committed.add(number), "Duplicate receipt number " + number);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert: numbers 1..n with no gap left by the rolled-back transactions
+        int expected = THREADS * (PER_THREAD - PER_THREAD / 3);
+        assertEquals(expected, committed.size());
+        for (int n = 1; n <= expected; n++) {
+            assertTrue(committed.contains(String.format("REC-%d-%05d", year, n)), "Missing receipt number " + n);
+        }
+        assertEquals(String.format("REC-%d-%05d", year, expected + 1), receiptNumberService.peek(year));
+    }
+
+    @Test
+    void next_WithoutTransaction_ShouldFail() {
+        assertThrows(Exception.class, () -> receiptNumberService.next(2098));
+    }
+}
@@ -0,0 +1,101 @@
+package com.psicoagenda.unit;
+
+import com.psicoagenda.infrastructure.notification.CircuitBreaker;
+import com.psicoagenda.infrastructure.notification.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final List<State> transitions = new ArrayList<>();
+
+    @Test
+    void onFailure_ThresholdReached_ShouldOpenAndRejectCalls() {
+        // Arrange
+        CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofMinutes(1), (from, to) -> transitions.add(to));
+
+        // Act
+        breaker.onFailure();
+        breaker.onFailure();
+        boolean allowedBeforeOpen = breaker.tryAcquirePermission();
+        breaker.onFailure();
+
+        // Assert
+        assertTrue(allowedBeforeOpen);
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(List.of(State.OPEN), transitions);
+    }
+
+    @Test
+    void onSuccess_ShouldResetConsecutiveFailures() {
+        // Arrange
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofMinutes(1), (from, to) -> transitions.add(to));
+
+        // Act
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        // Assert
+        assertEquals(State.CLOSED, breaker.getState());
+        assertTrue(transitions.isEmpty());
+    }
+
+    @Test
+    void halfOpen_ShouldAllowSingleTrialAndCloseOnSuccess() throws InterruptedException {
+        // Arrange
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofMillis(20), (from, to) -> transitions.add(to));
+        breaker.onFailure();
+        Thread.sleep(40);
+
+        // Act
+        boolean trial = breaker.tryAcquirePermission();
+        boolean second = breaker.tryAcquirePermission();
+        breaker.onSuccess();
+
+        // Assert
+        assertTrue(trial);
+        assertFalse(second);
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(List.of(State.OPEN, State.HALF_OPEN, State.CLOSED), transitions);
+    }
+
+    @Test
+    void halfOpen_TrialFails_ShouldReopen() throws InterruptedException {
+        // Arrange
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofMillis(20), (from, to) -> transitions.add(to));
+        breaker.onFailure();
+        Thread.sleep(40);
+        assertTrue(breaker.tryAcquirePermission());
+
+        // Act
+        breaker.onFailure();
+
+        // Assert
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void halfOpen_ReleasedTrial_ShouldAllowAnotherTrialWithoutReopening() throws InterruptedException {
+        // Arrange
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofMillis(20), (from, to) -> transitions.add(to));
+        breaker.onFailure();
+        Thread.sleep(40);
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        // Act
+        breaker.releasePermission();
+
+        // Assert
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+}
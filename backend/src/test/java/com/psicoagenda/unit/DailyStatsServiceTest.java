@@ -0,0 +1,74 @@
+package com.psicoagenda.unit;
+
+import com.psicoagenda.application.service.DailyStatsService;
+import com.psicoagenda.application.service.DailyStatsService.Delta;
+import com.psicoagenda.application.service.DailyStatsService.Snapshot;
+import com.psicoagenda.domain.enums.AppointmentStatus;
+import com.psicoagenda.domain.enums.PaymentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyStatsServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 11);
+    private static final BigDecimal PRICE = new BigDecimal("150.00");
+
+    @Test
+    void diff_NewAppointment_ShouldCountBookedAndPendingRevenue() {
+        // Arrange
+        Snapshot created = new Snapshot(DAY, AppointmentStatus.CONFIRMED, PaymentStatus.UNPAID, PRICE, null);
+
+        // Act
+        List<Delta> deltas = DailyStatsService.diff(List.of(), List.of(created));
+
+        // Assert
+        assertEquals(List.of(new Delta(DAY, 1, 0, 0, 0, BigDecimal.ZERO, PRICE)), deltas);
+    }
+
+    @Test
+    void diff_LateCancellation_ShouldMoveBetweenBuckets() {
+        // Arrange
+        Snapshot before = new Snapshot(DAY, AppointmentStatus.CONFIRMED, PaymentStatus.UNPAID, PRICE, null);
+        Snapshot after = new Snapshot(DAY, AppointmentStatus.CANCELLED_LATE, PaymentStatus.UNPAID, PRICE, null);
+
+        // Act
+        List<Delta> deltas = DailyStatsService.diff(List.of(before), List.of(after));
+
+        // Assert
+        assertEquals(1, deltas.size());
+        assertEquals(-1, deltas.get(0).booked());
+        assertEquals(1, deltas.get(0).cancelledLate());
+        assertEquals(0, deltas.get(0).revenuePending().signum());
+    }
+
+    @Test
+    void diff_PaidLater_ShouldCountRevenueOnPaymentDate() {
+        // Arrange
+        LocalDate paidOn = DAY.plusDays(3);
+        Snapshot before = new Snapshot(DAY, AppointmentStatus.ATTENDED, PaymentStatus.UNPAID, PRICE, null);
+        Snapshot after = new Snapshot(DAY, AppointmentStatus.ATTENDED, PaymentStatus.PAID, PRICE, paidOn.atTime(10, 0));
+
+        // Act
+        List<Delta> deltas = DailyStatsService.diff(List.of(before), List.of(after));
+
+        // Assert
+        assertEquals(List.of(
+            new Delta(DAY, 0, 0, 0, 0, BigDecimal.ZERO, PRICE.negate()),
+            new Delta(paidOn, 0, 0, 0, 0, PRICE, BigDecimal.ZERO)
+        ), deltas);
+    }
+
+    @Test
+    void diff_UnchangedSnapshot_ShouldProduceNoDelta() {
+        // Arrange
+        Snapshot snapshot = new Snapshot(DAY, AppointmentStatus.NO_SHOW, PaymentStatus.WAIVED, PRICE, null);
+
+        // Act & Assert
+        assertTrue(DailyStatsService.diff(List.of(snapshot), List.of(snapshot)).isEmpty());
+    }
+}
@@ -0,0 +1,130 @@
+package com.psicoagenda.unit;
+
+import com.psicoagenda.application.dto.response.DashboardResponse;
+import com.psicoagenda.application.service.DashboardSnapshotCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardSnapshotCacheTest {
+
+    private final DashboardSnapshotCache cache = new DashboardSnapshotCache();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<DashboardResponse> loader = () -> dashboard(loads.incrementAndGet());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "ttlMillis", 60_000L);
+    }
+
+    @Test
+    void get_WithinTtl_ShouldServeSnapshot() {
+        // Act
+        DashboardResponse first = cache.get(loader);
+        DashboardResponse second = cache.get(loader);
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals(first.statistics(), second.statistics());
+        assertEquals(first.generatedAt(), second.generatedAt());
+    }
+
+    @Test
+    void get_AfterInvalidate_ShouldReload() {
+        // Arrange
+        cache.get(loader);
+
+        // Act
+        cache.invalidate();
+        DashboardResponse reloaded = cache.get(loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals(2, reloaded.statistics().totalAppointmentsToday());
+    }
+
+    @Test
+    void get_ConcurrentMisses_ShouldShareOneLoad() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<DashboardResponse> slowLoader = () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.get();
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // Act
+            List<Future<DashboardResponse>> results = List.of(
+                executor.submit(() -> cache.get(slowLoader)),
+                executor.submit(() -> cache.get(slowLoader)),
+                executor.submit(() -> cache.get(slowLoader)),
+                executor.submit(() -> cache.get(slowLoader)));
+            Thread.sleep(100);
+            release.countDown();
+
+            // Assert
+            for (Future<DashboardResponse> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS).statistics().totalAppointmentsToday());
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_LoaderThrowsError_ShouldFailWaitingCallers() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<DashboardResponse> failingLoader = () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new OutOfMemoryError("test");
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            List<Future<DashboardResponse>> results = List.of(
+                executor.submit(() -> cache.get(failingLoader)),
+                executor.submit(() -> cache.get(failingLoader)));
+            Thread.sleep(100);
+            release.countDown();
+
+            // Assert: both callers get the error instead of hanging, and the next call loads again
+            for (Future<DashboardResponse> result : results) {
+                ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(OutOfMemoryError.class, failure.getCause());
+            }
+            assertEquals(1, cache.get(loader).statistics().totalAppointmentsToday());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static DashboardResponse dashboard(long today) {
+        return new DashboardResponse(List.of(), List.of(),
+            new DashboardResponse.Statistics(today, 0, 0, BigDecimal.ZERO));
+    }
+}
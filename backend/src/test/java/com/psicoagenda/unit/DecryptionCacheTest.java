@@ -0,0 +1,80 @@
+package com.psicoagenda.unit;
+
+import com.psicoagenda.infrastructure.encryption.DecryptionCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecryptionCacheTest {
+
+    private final AtomicInteger decryptions = new AtomicInteger();
+    private final UnaryOperator<String> decryptor = ciphertext -> {
+        decryptions.incrementAndGet();
+        return "plain:" + ciphertext;
+    };
+
+    @AfterEach
+    void tearDown() {
+        DecryptionCache.close();
+    }
+
+    @Test
+    void decrypt_WithinOpenCache_ShouldDecryptRepeatedValueOnce() {
+        // Arrange
+        DecryptionCache.open();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertEquals("plain:abc", DecryptionCache.decrypt("abc", decryptor));
+        }
+
+        // Assert
+        assertEquals(1, decryptions.get());
+    }
+
+    @Test
+    void decrypt_WithoutOpenCache_ShouldNotRetainValues() {
+        // Act
+        DecryptionCache.decrypt("abc", decryptor);
+        DecryptionCache.decrypt("abc", decryptor);
+
+        // Assert
+        assertEquals(2, decryptions.get());
+    }
+
+    @Test
+    void close_ShouldDropCachedPlaintext() {
+        // Arrange
+        DecryptionCache.open();
+        DecryptionCache.decrypt("abc", decryptor);
+
+        // Act
+        DecryptionCache.close();
+        DecryptionCache.open();
+        DecryptionCache.decrypt("abc", decryptor);
+
+        // Assert
+        assertEquals(2, decryptions.get());
+    }
+
+    @Test
+    void decrypt_BeyondCapacity_ShouldEvictLeastRecentlyUsed() {
+        // Arrange
+        DecryptionCache.open();
+        DecryptionCache.decrypt("first", decryptor);
+        for (int i = 0; i < 1000; i++) {
+            DecryptionCache.decrypt("value-" + i, decryptor);
+        }
+        int before = decryptions.get();
+
+        // Act
+        DecryptionCache.decrypt("first", decryptor);
+
+        // Assert
+        assertEquals(before + 1, decryptions.get());
+    }
+}
@@ -0,0 +1,169 @@
+package com.psicoagenda.unit;
+
+import com.psicoagenda.infrastructure.encryption.EncryptionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncryptionServiceTest {
+
+    private EncryptionService encryptionService;
+
+    @BeforeEach
+    void setUp() {
+        encryptionService = new EncryptionService();
+        ReflectionTestUtils.setField(encryptionService, "encryptionKey", "test-encryption-key-with-32-chars!");
+        encryptionService.init();
+    }
+
+    @Test
+    void encryptDecrypt_ShouldRoundTrip() {
+        // Arrange
+        String plain = "maria.silva@example.com - (11) 98765-4321 ção";
+
+        // Act
+        String encrypted = encryptionService.encrypt(plain);
+
+        // Assert
+        assertNotEquals(plain, encrypted);
+        assertEquals(plain, encryptionService.decrypt(encrypted));
+    }
+
+    @Test
+    void encrypt_SamePlainText_ShouldUseFreshIv() {
+        // Act
+        String first = encryptionService.encrypt("11987654321");
+        String second = encryptionService.encrypt("11987654321");
+
+        // Assert
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void decrypt_TamperedCipherText_ShouldFail() {
+        // Arrange
+        byte[] bytes = Base64.getDecoder().decode(encryptionService.encrypt("11987654321"));
+        bytes[bytes.length - 1] ^= 1;
+        String tampered = Base64.getEncoder().encodeToString(bytes);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> encryptionService.decrypt(tampered));
+        // The thread's cipher must still be usable afterwards
+        assertEquals("ok", encryptionService.decrypt(encryptionService.encrypt("ok")));
+    }
+
+    @Test
+    void installDataKeys_ShouldWriteWithNewVersionAndStillReadLegacyValues() {
+        // Arrange
+        String legacy = encryptionService.encrypt("11987654321");
+
+        // Act
+        encryptionService.installDataKeys(Map.of(1, new SecretKeySpec(new byte[32], "AES")));
+        String versioned = encryptionService.encrypt("11987654321");
+
+        // Assert
+        assertEquals(1, encryptionService.getActiveKeyVersion());
+        assertTrue(versioned.startsWith("v1:"));
+        assertEquals("11987654321", encryptionService.decrypt(legacy));
+        assertEquals("11987654321", encryptionService.decrypt(versioned));
+        assertFalse(encryptionService.isCurrent(legacy));
+        assertTrue(encryptionService.isCurrent(encryptionService.reencrypt(legacy)));
+    }
+
+    @Test
+    void decrypt_UnknownVersion_ShouldReloadKeysOnce() {
+        // Arrange
+        SecretKeySpec dataKey = new SecretKeySpec(new byte[32], "AES");
+        encryptionService.installDataKeys(Map.of(2, dataKey));
+        String encrypted = encryptionService.encrypt("ok");
+        encryptionService.installDataKeys(Map.of());
+        AtomicInteger reloads = new AtomicInteger();
+        encryptionService.setKeyReloader(() -> {
+            reloads.incrementAndGet();
+            encryptionService.installDataKeys(Map.of(2, dataKey));
+        });
+
+        // Act & Assert
+        assertEquals("ok", encryptionService.decrypt(encrypted));
+        assertEquals(1, reloads.get());
+        assertThrows(RuntimeException.class, () -> encryptionService.decrypt("v9:" + encrypted.substring(3)));
+    }
+
+    @Test
+    void reencrypt_NewerVersion_ShouldRefreshKeysInsteadOfRollingBack() {
+        // Arrange
+        SecretKeySpec oldKey = new SecretKeySpec(new byte[32], "AES");
+        SecretKeySpec newKey = new SecretKeySpec(new byte[] {
+            1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16,
+            17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32}, "AES");
+        encryptionService.installDataKeys(Map.of(1, oldKey, 2, newKey));
+        String rotated = encryptionService.encrypt("11987654321");
+        // This node has not seen the rotation yet
+        encryptionService.installDataKeys(Map.of(1, oldKey));
+        AtomicInteger reloads = new AtomicInteger();
+        encryptionService.setKeyReloader(() -> {
+            reloads.incrementAndGet();
+            encryptionService.installDataKeys(Map.of(1, oldKey, 2, newKey));
+        });
+
+        // Act
+        String result = encryptionService.reencrypt(rotated);
+
+        // Assert
+        assertSame(rotated, result);
+        assertEquals(1, reloads.get());
+        assertEquals(2, encryptionService.getActiveKeyVersion());
+    }
+
+    @Test
+    void isCurrent_NewerVersionWithoutReloader_ShouldStillNotBeStale() {
+        // Arrange
+        encryptionService.installDataKeys(Map.of(3, new SecretKeySpec(new byte[32], "AES")));
+        String newer = encryptionService.encrypt("ok");
+        encryptionService.installDataKeys(Map.of(2, new SecretKeySpec(new byte[32], "AES")));
+
+        // Act & Assert
+        assertTrue(encryptionService.isCurrent(newer));
+        assertSame(newer, encryptionService.reencrypt(newer));
+    }
+
+    @Test
+    void encryptDecrypt_ConcurrentCallers_ShouldNotInterfere() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            int worker = i;
+            results.add(executor.submit(() -> {
+                for (int j = 0; j < 500; j++) {
+                    String plain = "patient-" + worker + "-" + j;
+                    if (!plain.equals(encryptionService.decrypt(encryptionService.encrypt(plain)))) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+
+        // Assert
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        executor.shutdown();
+    }
+}
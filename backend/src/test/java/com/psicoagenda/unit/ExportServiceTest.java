@@ -0,0 +1,83 @@
+package com.psicoagenda.unit;
+
+import com.psicoagenda.application.service.ExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ExportServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    private ExportService exportService;
+    private JdbcTemplate jdbcTemplate;
+    private ResultSet resultSet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        exportService = new ExportService(mock(DataSource.class), mock(PlatformTransactionManager.class), 500);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        ReflectionTestUtils.setField(exportService, "streamingJdbcTemplate", jdbcTemplate);
+
+        resultSet = mock(ResultSet.class);
+        when(resultSet.getTimestamp("start_datetime")).thenReturn(Timestamp.valueOf(START.withHour(14)));
+        when(resultSet.getString("session_type")).thenReturn("Individual");
+        when(resultSet.getBigDecimal("amount")).thenReturn(new BigDecimal("200.50"));
+        when(resultSet.getString("status")).thenReturn("PAID");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+    }
+
+    @Test
+    void writePayments_ShouldUseSpreadsheetConventions() throws Exception {
+        // Arrange
+        when(resultSet.getString("patient_name")).thenReturn("Ana; Souza");
+        when(resultSet.getString("notes")).thenReturn("disse \"ok\"");
+
+        // Act
+        String[] lines = export();
+
+        // Assert
+        assertEquals('\uFEFF', lines[0].charAt(0));
+        assertEquals("01/03/2024 14:00;\"Ana; Souza\";Individual;200,50;PAID;;;\"disse \"\"ok\"\"\"", lines[1]);
+    }
+
+    @Test
+    void writePayments_FormulaLikeText_ShouldBeEscaped() throws Exception {
+        // Arrange
+        when(resultSet.getString("patient_name")).thenReturn("=HYPERLINK(\"http://x\";\"y\")");
+        when(resultSet.getString("receipt_number")).thenReturn("-1");
+        when(resultSet.getString("notes")).thenReturn("@SUM(A1)");
+
+        // Act
+        String[] lines = export();
+
+        // Assert
+        assertEquals("01/03/2024 14:00;\"'=HYPERLINK(\"\"http://x\"\";\"\"y\"\")\";Individual;200,50;PAID;;"
+            + "\"'-1\";\"'@SUM(A1)\"", lines[1]);
+    }
+
+    private String[] export() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writePayments(START, START.plusMonths(1), out);
+        return out.toString(StandardCharsets.UTF_8).split("\r\n");
+    }
+}
@@ -0,0 +1,95 @@
+package com.psicoagenda.unit;
+
+import com.psicoagenda.application.dto.response.FinancialReportResponse;
+import com.psicoagenda.application.service.FinancialReportService;
+import com.psicoagenda.domain.repository.PaymentRepository;
+import com.psicoagenda.domain.repository.projection.RevenueRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FinancialReportServiceTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2023, 3);
+
+    @InjectMocks
+    private FinancialReportService financialReportService;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(financialReportService, "closedMonthTtlMillis", 3_600_000L);
+        lenient().when(paymentRepository.findReceivablesAging(any())).thenReturn(List.of());
+        lenient().when(paymentRepository.findPatientBalances(any(), anyInt())).thenReturn(List.of());
+        when(paymentRepository.findMonthlyRevenue(any(), any())).thenReturn(List.of(
+            new Row(2023, 3, "TOTAL", null, "300.00", 2),
+            new Row(2023, 3, "SESSION_TYPE", "Individual", "200.00", 1),
+            new Row(2023, 3, "SESSION_TYPE", "Casal", "100.00", 1),
+            new Row(2023, 3, "PAYMENT_METHOD", "PIX", "300.00", 2),
+            new Row(2022, 3, "TOTAL", null, "150.00", 1)));
+    }
+
+    @Test
+    void getFinancialReport_ShouldAggregateMonthsAndShares() {
+        // Act
+        FinancialReportResponse report = financialReportService.getFinancialReport(MARCH, MARCH.plusMonths(1));
+
+        // Assert
+        assertEquals(new BigDecimal("300.00"), report.totalRevenue());
+        assertEquals(new BigDecimal("150.00"), report.months().get(0).previousYearRevenue());
+        assertEquals(0, report.months().get(1).revenue().signum());
+        assertEquals("Individual", report.bySessionType().get(0).key());
+        assertEquals(new BigDecimal("0.6667"), report.bySessionType().get(0).share());
+        assertEquals(new BigDecimal("1.0000"), report.byPaymentMethod().get(0).share());
+    }
+
+    @Test
+    void getFinancialReport_ClosedMonths_ShouldBeQueriedOnce() {
+        // Act
+        financialReportService.getFinancialReport(MARCH, MARCH.plusMonths(1));
+        financialReportService.getFinancialReport(MARCH, MARCH.plusMonths(1));
+
+        // Assert
+        verify(paymentRepository, times(1)).findMonthlyRevenue(any(), any());
+    }
+
+    @Test
+    void getFinancialReport_AfterEviction_ShouldRequeryMonth() {
+        // Arrange
+        financialReportService.getFinancialReport(MARCH, MARCH);
+
+        // Act
+        financialReportService.evictMonth(MARCH.atDay(10).atTime(14, 0));
+        financialReportService.getFinancialReport(MARCH, MARCH);
+
+        // Assert
+        verify(paymentRepository, times(2)).findMonthlyRevenue(any(), any());
+    }
+
+    private record Row(int year, int month, String dimension, String key, String amount, long payments)
+        implements RevenueRow {
+
+        public int getYear() { return year; }
+        public int getMonth() { return month; }
+        public String getDimension() { return dimension; }
+        public String getKey() { return key; }
+        public BigDecimal getRevenue() { return new BigDecimal(amount); }
+        public long getPayments() { return payments; }
+    }
+}
@@ -0,0 +1,82 @@
+package com.psicoagenda.unit;
+
+import com.psicoagenda.infrastructure.scheduler.HashedTimerWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimerWheelTest {
+
+    private HashedTimerWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        // Small wheel so that deadlines span several rounds
+        wheel = new HashedTimerWheel(Duration.ofMillis(10), 8, Runnable::run, "test-timer-wheel");
+        wheel.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    void schedule_ShouldFireInDeadlineOrder() throws InterruptedException {
+        // Arrange
+        List<String> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        Instant now = Instant.now();
+
+        // Act
+        wheel.schedule(now.plusMillis(250), () -> { fired.add("late"); latch.countDown(); });
+        wheel.schedule(now.plusMillis(30), () -> { fired.add("early"); latch.countDown(); });
+        wheel.schedule(now.plusMillis(120), () -> { fired.add("middle"); latch.countDown(); });
+
+        // Assert
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("early", "middle", "late"), fired);
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+
+    @Test
+    void schedule_DeadlineInThePast_ShouldFireOnNextTick() throws InterruptedException {
+        // Arrange
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // Act
+        wheel.schedule(Instant.now().minusSeconds(60), latch::countDown);
+
+        // Assert
+        assertTrue(latch.await(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void cancel_ShouldPreventTaskFromRunning() throws InterruptedException {
+        // Arrange
+        CountDownLatch cancelledLatch = new CountDownLatch(1);
+        CountDownLatch controlLatch = new CountDownLatch(1);
+        Instant deadline = Instant.now().plusMillis(100);
+
+        HashedTimerWheel.Timeout timeout = wheel.schedule(deadline, cancelledLatch::countDown);
+        wheel.schedule(deadline.plusMillis(50), controlLatch::countDown);
+
+        // Act
+        timeout.cancel();
+
+        // Assert
+        assertTrue(controlLatch.await(2, TimeUnit.SECONDS));
+        assertEquals(1, cancelledLatch.getCount());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.isExpired());
+    }
+}
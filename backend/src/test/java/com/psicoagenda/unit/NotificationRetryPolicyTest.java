@@ -0,0 +1,44 @@
+package com.psicoagenda.unit;
+
+import com.psicoagenda.infrastructure.notification.NotificationRetryPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationRetryPolicyTest {
+
+    private final NotificationRetryPolicy policy = new NotificationRetryPolicy(5, 60, 3600);
+
+    @Test
+    void backoff_ShouldGrowExponentiallyWithinJitterBounds() {
+        for (int attempts = 1; attempts <= 4; attempts++) {
+            // Arrange
+            long expectedSeconds = 60L << (attempts - 1);
+
+            // Act
+            Duration delay = policy.backoff(attempts);
+
+            // Assert
+            assertTrue(delay.toMillis() >= expectedSeconds * 500, "attempt " + attempts + " too short: " + delay);
+            assertTrue(delay.toMillis() <= expectedSeconds * 1000, "attempt " + attempts + " too long: " + delay);
+        }
+    }
+
+    @Test
+    void backoff_ShouldBeCappedAtMaxDelay() {
+        // Act
+        Duration delay = policy.backoff(20);
+
+        // Assert
+        assertTrue(delay.compareTo(Duration.ofHours(1)) <= 0);
+        assertTrue(delay.compareTo(Duration.ofMinutes(30)) >= 0);
+    }
+
+    @Test
+    void isExhausted_ShouldStopAtMaxAttempts() {
+        assertFalse(policy.isExhausted(4));
+        assertTrue(policy.isExhausted(5));
+    }
+}
@@ -0,0 +1,130 @@
+package com.psicoagenda.unit;
+
+import com.psicoagenda.domain.entity.Appointment;
+import com.psicoagenda.domain.entity.NotificationLog;
+import com.psicoagenda.domain.entity.Patient;
+import com.psicoagenda.domain.enums.NotificationTrigger;
+import com.psicoagenda.domain.repository.NotificationLogRepository;
+import com.psicoagenda.infrastructure.notification.NotificationCircuitBreakers;
+import com.psicoagenda.infrastructure.notification.NotificationProvider;
+import com.psicoagenda.infrastructure.notification.NotificationRetryPolicy;
+import com.psicoagenda.infrastructure.notification.NotificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(3).withNano(0);
+
+    private NotificationService notificationService;
+    private NotificationLogRepository notificationLogRepository;
+    private NotificationProvider provider;
+    private final List<NotificationLog> saved = new ArrayList<>();
+    private Appointment appointment;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        notificationLogRepository = mock(NotificationLogRepository.class);
+        provider = mock(NotificationProvider.class);
+        when(provider.getType()).thenReturn("EMAIL");
+        when(provider.isEnabled()).thenReturn(true);
+        when(provider.sendNotification(any(), any())).thenReturn(true);
+
+        // The repository answers with the latest log written for the trigger, like the real query
+        when(notificationLogRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(notificationLogRepository.findFirstByAppointmentIdAndTriggerTypeOrderByCreatedAtDesc(any(), any()))
+            .thenAnswer(invocation -> latest(invocation.getArgument(1)));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        notificationService = new NotificationService(List.of(provider), notificationLogRepository,
+            new NotificationRetryPolicy(5, 60, 3600), new NotificationCircuitBreakers(meterRegistry, 5, 60),
+            mock(PlatformTransactionManager.class), meterRegistry, new MockEnvironment(),
+            mock(ObjectProvider.class), 1);
+        ReflectionTestUtils.setField(notificationService, "providerTimeoutSeconds", 5L);
+
+        appointment = Appointment.builder()
+            .patient(Patient.builder().name("Ana").email("ana@example.com").build())
+            .startDateTime(START)
+            .endDateTime(START.plusMinutes(50))
+            .build();
+        appointment.setId(UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationService.shutdown();
+    }
+
+    @Test
+    void sendNotification_SameStart_ShouldSendOnce() {
+        // Act
+        notificationService.sendNotification(appointment, NotificationTrigger.REMINDER_24H);
+        notificationService.sendNotification(appointment, NotificationTrigger.REMINDER_24H);
+
+        // Assert
+        verify(provider, times(1)).sendNotification(appointment, NotificationTrigger.REMINDER_24H);
+        assertEquals(START, saved.get(0).getScheduledFor());
+    }
+
+    @Test
+    void sendNotification_AfterReschedule_ShouldRemindAgainForNewStart() {
+        // Arrange
+        notificationService.sendNotification(appointment, NotificationTrigger.REMINDER_24H);
+
+        // Act
+        appointment.setStartDateTime(START.plusDays(2));
+        notificationService.sendNotification(appointment, NotificationTrigger.REMINDER_24H);
+
+        // Assert
+        verify(provider, times(2)).sendNotification(appointment, NotificationTrigger.REMINDER_24H);
+        assertEquals(START.plusDays(2), saved.get(1).getScheduledFor());
+    }
+
+    @Test
+    void sendNotification_EveryReschedule_ShouldSendItsNotice() {
+        // Act: moved away and back to the first new start
+        appointment.setStartDateTime(START.plusDays(1));
+        notificationService.sendNotification(appointment, NotificationTrigger.RESCHEDULE);
+        appointment.setStartDateTime(START.plusDays(2));
+        notificationService.sendNotification(appointment, NotificationTrigger.RESCHEDULE);
+        appointment.setStartDateTime(START.plusDays(1));
+        notificationService.sendNotification(appointment, NotificationTrigger.RESCHEDULE);
+
+        // Assert
+        verify(provider, times(3)).sendNotification(appointment, NotificationTrigger.RESCHEDULE);
+        verify(notificationLogRepository, times(3))
+            .findFirstByAppointmentIdAndTriggerTypeOrderByCreatedAtDesc(eq(appointment.getId()),
+                eq(NotificationTrigger.RESCHEDULE));
+    }
+
+    private Optional<NotificationLog> latest(NotificationTrigger trigger) {
+        for (int i = saved.size() - 1; i >= 0; i--) {
+            if (saved.get(i).getTriggerType() == trigger) {
+                return Optional.of(saved.get(i));
+            }
+        }
+        return Optional.empty();
+    }
+}
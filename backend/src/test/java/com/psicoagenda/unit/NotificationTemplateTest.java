@@ -0,0 +1,83 @@
+package com.psicoagenda.unit;
+
+import com.psicoagenda.domain.enums.NotificationTrigger;
+import com.psicoagenda.infrastructure.notification.NotificationTemplate;
+import com.psicoagenda.infrastructure.notification.NotificationTemplateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationTemplateTest {
+
+    @Test
+    void render_ShouldReplacePlaceholders() {
+        // Arrange
+        NotificationTemplate template = NotificationTemplate.compile("Ola {{nome}}, ate {{ data }}!", false);
+
+        // Act
+        String result = template.render(Map.of("nome", "Maria", "data", "10/05/2026"));
+
+        // Assert
+        assertEquals("Ola Maria, ate 10/05/2026!", result);
+    }
+
+    @Test
+    void render_Html_ShouldEscapeValues() {
+        // Arrange
+        NotificationTemplate template = NotificationTemplate.compile("<p>{{nome}}</p>", true);
+
+        // Act
+        String result = template.render(Map.of("nome", "<script>alert(1)</script>"));
+
+        // Assert
+        assertEquals("<p>&lt;script&gt;alert(1)&lt;/script&gt;</p>", result);
+    }
+
+    @Test
+    void compile_UnclosedPlaceholder_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> NotificationTemplate.compile("Ola {{nome", false));
+    }
+
+    @Test
+    void templateService_ShouldRenderBundledTemplatesForEveryTrigger() {
+        // Arrange
+        NotificationTemplateService service = new NotificationTemplateService(new DefaultResourceLoader(), "", "pt-BR", 30);
+        Map<String, String> model = Map.of("nome", "Maria", "data", "10/05/2026", "hora", "14:00", "remetente", "Agenda");
+
+        for (NotificationTrigger trigger : NotificationTrigger.values()) {
+            if (trigger == NotificationTrigger.DAILY_DIGEST) {
+                // Addressed to the practitioner, with its own model (see below)
+                continue;
+            }
+            // Act
+            NotificationTemplateService.RenderedNotification rendered = service.render(trigger, model);
+
+            // Assert
+            assertFalse(rendered.subject().isBlank());
+            assertTrue(rendered.text().contains("Maria"));
+            assertNotNull(rendered.html());
+            assertFalse(rendered.text().contains("{{"));
+        }
+    }
+
+    @Test
+    void templateService_ShouldRenderDailyDigest() {
+        // Arrange
+        NotificationTemplateService service = new NotificationTemplateService(new DefaultResourceLoader(), "", "pt-BR", 30);
+        Map<String, String> model = Map.of("data", "10/05/2026", "total", "1", "pendentes", "0",
+            "valor_pendente", "0", "agenda", "- 14:00-14:50 Maria\n", "agenda_html", "<ul><li>14:00-14:50 Maria</li></ul>",
+            "lacunas", "Nenhum horario livre.\n", "lacunas_html", "<p>Nenhum horário livre.</p>", "remetente", "Agenda");
+
+        // Act
+        NotificationTemplateService.RenderedNotification rendered = service.render(NotificationTrigger.DAILY_DIGEST, model);
+
+        // Assert
+        assertTrue(rendered.subject().contains("10/05/2026"));
+        assertTrue(rendered.text().contains("Maria"));
+        assertTrue(rendered.html().contains("<li>14:00-14:50 Maria</li>"));
+        assertFalse(rendered.text().contains("{{"));
+    }
+}
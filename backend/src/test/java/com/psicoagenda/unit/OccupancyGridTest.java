@@ -0,0 +1,73 @@
+package com.psicoagenda.unit;
+
+import com.psicoagenda.application.service.OccupancyGrid;
+import com.psicoagenda.domain.enums.AppointmentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyGridTest {
+
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 11);
+
+    @Test
+    void build_ShouldSubtractBlocksAndSplitBookingsByHour() {
+        // Arrange
+        OccupancyGrid.Builder builder = OccupancyGrid.builder(MONDAY, MONDAY.plusWeeks(1))
+            .availability(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(12, 0))
+            .block(MONDAY.atTime(11, 0), MONDAY.atTime(12, 0))
+            .appointment(MONDAY.atTime(9, 30), MONDAY.atTime(10, 20), AppointmentStatus.CONFIRMED)
+            .appointment(MONDAY.atTime(10, 30), MONDAY.atTime(11, 20), AppointmentStatus.CANCELLED)
+            .appointment(MONDAY.plusDays(1).atTime(8, 0), MONDAY.plusDays(1).atTime(9, 0), AppointmentStatus.NO_SHOW);
+
+        // Act
+        OccupancyGrid grid = builder.build();
+
+        // Assert
+        int nine = OccupancyGrid.cell(DayOfWeek.MONDAY, 9);
+        int ten = OccupancyGrid.cell(DayOfWeek.MONDAY, 10);
+        int eleven = OccupancyGrid.cell(DayOfWeek.MONDAY, 11);
+        int tuesdayEight = OccupancyGrid.cell(DayOfWeek.TUESDAY, 8);
+
+        assertEquals(60, grid.availableMinutes(nine));
+        assertEquals(30, grid.occupiedMinutes(nine));
+        assertEquals(1, grid.appointments(nine));
+        assertEquals(20, grid.occupiedMinutes(ten));
+        assertEquals(1, grid.cancelled(ten));
+        assertEquals(0, grid.availableMinutes(eleven));
+        assertEquals(0, grid.bookedMinutes(eleven));
+
+        // Outside the availability grid: booked but not occupied
+        assertEquals(0, grid.availableMinutes(tuesdayEight));
+        assertEquals(60, grid.bookedMinutes(tuesdayEight));
+        assertEquals(0, grid.occupiedMinutes(tuesdayEight));
+        assertEquals(1, grid.noShows(tuesdayEight));
+    }
+
+    @Test
+    void build_OverlappingWindowsOverYears_ShouldCountEachMinuteOnce() {
+        // Arrange
+        int weeks = 52 * 5;
+        OccupancyGrid.Builder builder = OccupancyGrid.builder(MONDAY, MONDAY.plusWeeks(weeks))
+            .availability(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0))
+            .availability(DayOfWeek.MONDAY, LocalTime.of(9, 30), LocalTime.of(11, 0));
+        for (int week = 0; week < weeks; week++) {
+            LocalDate day = MONDAY.plusWeeks(week);
+            builder.appointment(day.atTime(9, 0), day.atTime(10, 0), AppointmentStatus.ATTENDED);
+        }
+
+        // Act
+        OccupancyGrid grid = builder.build();
+
+        // Assert
+        assertEquals(weeks * 60L, grid.availableMinutes(OccupancyGrid.cell(DayOfWeek.MONDAY, 9)));
+        assertEquals(weeks * 60L, grid.availableMinutes(OccupancyGrid.cell(DayOfWeek.MONDAY, 10)));
+        assertEquals(weeks * 60L, grid.occupiedMinutes(OccupancyGrid.cell(DayOfWeek.MONDAY, 9)));
+        assertEquals(weeks, grid.appointments(OccupancyGrid.cell(DayOfWeek.MONDAY, 9)));
+    }
+}
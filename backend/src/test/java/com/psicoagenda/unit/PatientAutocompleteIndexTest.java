@@ -0,0 +1,76 @@
+package com.psicoagenda.unit;
+
+import com.psicoagenda.application.dto.response.PatientSuggestionResponse;
+import com.psicoagenda.application.service.PatientAutocompleteIndex;
+import com.psicoagenda.domain.repository.PatientRepository;
+import com.psicoagenda.domain.repository.projection.PatientName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PatientAutocompleteIndexTest {
+
+    private final UUID joao = UUID.randomUUID();
+    private final UUID joana = UUID.randomUUID();
+    private final UUID maria = UUID.randomUUID();
+
+    private PatientAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        PatientRepository patientRepository = mock(PatientRepository.class);
+        when(patientRepository.findActiveNames()).thenReturn(List.of(
+            new PatientName(joao, "João da Silva"),
+            new PatientName(joana, "Joana Souza"),
+            new PatientName(maria, "Maria Conceição")
+        ));
+        index = new PatientAutocompleteIndex(patientRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void search_ShouldMatchPrefixesIgnoringAccentsAndCase() {
+        // Act
+        List<PatientSuggestionResponse> results = index.search("JOA", 10);
+
+        // Assert
+        assertEquals(List.of(joana, joao), results.stream().map(PatientSuggestionResponse::id).toList());
+        assertEquals(maria, index.search("concei", 10).get(0).id());
+    }
+
+    @Test
+    void search_MultipleWords_ShouldRequireEveryWord() {
+        // Act
+        List<PatientSuggestionResponse> results = index.search("silva jo", 10);
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals("João da Silva", results.get(0).name());
+    }
+
+    @Test
+    void putAndRemove_ShouldUpdateIndexIncrementally() {
+        // Act
+        index.put(joao, "Pedro Alves");
+        index.remove(maria);
+
+        // Assert
+        assertTrue(index.search("silva", 10).isEmpty());
+        assertEquals(joao, index.search("ped", 10).get(0).id());
+        assertTrue(index.search("maria", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void search_ShouldRespectLimit() {
+        // Act & Assert
+        assertEquals(1, index.search("jo", 1).size());
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+}
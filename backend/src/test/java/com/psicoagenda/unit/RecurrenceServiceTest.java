@@ -40,7 +40,11 @@ class RecurrenceServiceTest {
     @Mock
     private com.psicoagenda.application.service.PatientService patientService;
     @Mock
+    private com.psicoagenda.infrastructure.notification.NotificationScheduleService notificationScheduleService;
+    @Mock
     private com.psicoagenda.infrastructure.audit.AuditService auditService;
+    @Mock
+    private com.psicoagenda.application.service.DailyStatsService dailyStatsService;
 
     @Test
     void generateOccurrences_Weekly_ShouldGenerateCorrectDates() {
@@ -0,0 +1,65 @@
+package com.psicoagenda.unit;
+
+import com.psicoagenda.infrastructure.encryption.SealedString;
+import com.psicoagenda.infrastructure.encryption.SealedStringConverter;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SealedStringTest {
+
+    @Test
+    void reveal_ShouldDecryptOnlyOnFirstAccess() {
+        // Arrange
+        AtomicInteger decryptions = new AtomicInteger();
+        UnaryOperator<String> decryptor = ciphertext -> {
+            decryptions.incrementAndGet();
+            return "plain:" + ciphertext;
+        };
+        SealedString sealed = SealedString.ofCiphertext("abc", decryptor);
+
+        // Act & Assert
+        assertFalse(sealed.isRevealed());
+        assertEquals(0, decryptions.get());
+        assertEquals("plain:abc", sealed.reveal());
+        assertEquals("plain:abc", sealed.reveal());
+        assertEquals(1, decryptions.get());
+    }
+
+    @Test
+    void equals_ShouldNotDecryptWhenCiphertextsMatch() {
+        // Arrange
+        AtomicInteger decryptions = new AtomicInteger();
+        UnaryOperator<String> decryptor = ciphertext -> {
+            decryptions.incrementAndGet();
+            return "same";
+        };
+
+        // Act & Assert
+        assertEquals(SealedString.ofCiphertext("abc", decryptor), SealedString.ofCiphertext("abc", decryptor));
+        assertEquals(0, decryptions.get());
+        assertEquals(SealedString.ofCiphertext("abc", decryptor), SealedString.ofCiphertext("xyz", decryptor));
+        assertNotEquals(SealedString.ofCiphertext("abc", decryptor), SealedString.of("other"));
+    }
+
+    @Test
+    void converter_ShouldWriteBackOriginalCiphertextWithoutDecrypting() {
+        // Arrange
+        SealedStringConverter converter = new SealedStringConverter();
+        SealedString sealed = SealedString.ofCiphertext("stored", ciphertext -> {
+            throw new AssertionError("should not decrypt");
+        });
+
+        // Act
+        String column = converter.convertToDatabaseColumn(sealed);
+
+        // Assert
+        assertEquals("stored", column);
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(SealedString.of(null));
+        assertFalse(sealed.toString().contains("stored"));
+    }
+}
@@ -49,27 +49,41 @@ export default function AgendamentosPage() {
       }
     }
   };
+  // Moves the selected day along with the week, so the list follows the arrows
+  const handleWeekChange = (weeks: number) => {
+    setWeekStart(addWeeks(weekStart, weeks));
+    setSelectedDate(addWeeks(selectedDate, weeks));
+  };
+
   const [appointments, setAppointments] = useState<Appointment[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [selectedAppointment, setSelectedAppointment] = useState<Appointment | null>(null);
 
   useEffect(() => {
     loadAppointments();
-  }, [weekStart, token]);
+  }, [selectedDate, token]);
+
+  // Only the selected day is listed, so only that day is fetched
+  function fetchDay(cursor?: string) {
+    return adminApi.getAppointments(
+      token!,
+      startOfDay(selectedDate).toISOString(),
+      endOfDay(selectedDate).toISOString(),
+      true,
+      cursor
+    );
+  }
 
   async function loadAppointments() {
     if (!token) return;
 
     setLoading(true);
     try {
-      const end = endOfWeek(weekStart, { weekStartsOn: 1 });
-      const data = await adminApi.getAppointments(
-        token,
-        weekStart.toISOString(),
-        end.toISOString(),
-        true
-      );
-      setAppointments(data);
+      const page = await fetchDay();
+      setAppointments(page.items);
+      setNextCursor(page.nextCursor);
     } catch (error) {
       console.error("Erro ao carregar agendamentos:", error);
     } finally {
@@ -77,6 +91,34 @@ export default function AgendamentosPage() {
     }
   }
 
+  async function loadMore() {
+    if (!token || !nextCursor) return;
+
+    setLoadingMore(true);
+    try {
+      const page = await fetchDay(nextCursor);
+      setAppointments((current) => [...current, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error("Erro ao carregar agendamentos:", error);
+    } finally {
+      setLoadingMore(false);
+    }
+  }
+
+  // List entries carry no patient contact data; fetch the full appointment when one is opened
+  const handleSelectAppointment = async (appointment: Appointment) => {
+    setSelectedAppointment(appointment);
+    if (!token) return;
+
+    try {
+      const details = await adminApi.getAppointment(token, appointment.id);
+      setSelectedAppointment((current) => (current?.id === details.id ? details : current));
+    } catch (error) {
+      console.error("Erro ao carregar agendamento:", error);
+    }
+  };
+
   const handleStatusChange = async (appointmentId: string, newStatus: AppointmentStatus) => {
     if (!token) return;
 
@@ -98,14 +140,6 @@ export default function AgendamentosPage() {
     }
   };
 
-  const dayAppointments = appointments.filter((apt) => {
-    const aptDate = new Date(apt.startDateTime);
-    return (
-      aptDate >= startOfDay(selectedDate) &&
-      aptDate <= endOfDay(selectedDate)
-    );
-  });
-
   return (
     <div className="space-y-6">
       <div className="flex items-center justify-between">
@@ -114,7 +148,7 @@ export default function AgendamentosPage() {
           <Button
             variant="outline"
             size="icon"
-            onClick={() => setWeekStart(addWeeks(weekStart, -1))}
+            onClick={() => handleWeekChange(-1)}
           >
             <ChevronLeft className="h-4 w-4" />
           </Button>
@@ -125,7 +159,7 @@ export default function AgendamentosPage() {
           <Button
             variant="outline"
             size="icon"
-            onClick={() => setWeekStart(addWeeks(weekStart, 1))}
+            onClick={() => handleWeekChange(1)}
           >
             <ChevronRight className="h-4 w-4" />
           </Button>
@@ -158,13 +192,13 @@ export default function AgendamentosPage() {
               <div className="flex justify-center py-8">
                 <Loader2 className="h-8 w-8 animate-spin text-primary" />
               </div>
-            ) : dayAppointments.length === 0 ? (
+            ) : appointments.length === 0 ? (
               <p className="text-muted-foreground text-center py-8">
                 Nenhum agendamento neste dia
               </p>
             ) : (
               <div className="space-y-3">
-                {dayAppointments
+                {[...appointments]
                   .sort((a, b) => new Date(a.startDateTime).getTime() - new Date(b.startDateTime).getTime())
                   .map((apt) => (
                     <div
@@ -174,7 +208,7 @@ export default function AgendamentosPage() {
                           ? "border-primary bg-primary/5"
                           : "hover:bg-gray-50"
                       }`}
-                      onClick={() => setSelectedAppointment(apt)}
+                      onClick={() => handleSelectAppointment(apt)}
                     >
                       <div className="flex items-center justify-between">
                         <div>
@@ -192,6 +226,14 @@ export default function AgendamentosPage() {
                       </div>
                     </div>
                   ))}
+                {nextCursor && (
+                  <div className="flex justify-center pt-2">
+                    <Button variant="outline" onClick={loadMore} disabled={loadingMore}>
+                      {loadingMore && <Loader2 className="h-4 w-4 mr-2 animate-spin" />}
+                      Carregar mais
+                    </Button>
+                  </div>
+                )}
               </div>
             )}
           </CardContent>
@@ -209,7 +251,9 @@ export default function AgendamentosPage() {
               <div>
                 <p className="text-sm text-muted-foreground">Paciente</p>
                 <p className="font-medium">{selectedAppointment.patient.name}</p>
-                <p className="text-sm">{selectedAppointment.patient.phone}</p>
+                {selectedAppointment.patient.phone && (
+                  <p className="text-sm">{selectedAppointment.patient.phone}</p>
+                )}
                 {selectedAppointment.patient.email && (
                   <p className="text-sm">{selectedAppointment.patient.email}</p>
                 )}
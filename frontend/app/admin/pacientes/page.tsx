@@ -2,6 +2,7 @@
 
 import { useEffect, useState } from "react";
 import { Card, CardContent, CardHeader, CardTitle } from "@/components/ui/card";
+import { Button } from "@/components/ui/button";
 import { Input } from "@/components/ui/input";
 import { useAuth } from "@/hooks/use-auth";
 import { adminApi, Patient } from "@/lib/api";
@@ -12,19 +13,33 @@ export default function PacientesPage() {
   const { token } = useAuth();
 
   const [patients, setPatients] = useState<Patient[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [search, setSearch] = useState("");
+  // Contact data is only loaded for the patients the admin opens
+  const [contacts, setContacts] = useState<Record<string, Patient>>({});
 
   useEffect(() => {
-    loadPatients();
-  }, [token]);
-
-  async function loadPatients() {
     if (!token) return;
+    // Wait for a pause in typing before searching on the server
+    const timeout = setTimeout(() => loadPatients(), search ? 300 : 0);
+    return () => clearTimeout(timeout);
+  }, [token, search]);
 
+  async function fetchPage(cursor?: string) {
+    const query = search.trim();
+    return query
+      ? adminApi.searchPatients(token!, query, cursor)
+      : adminApi.getPatientsPage(token!, cursor);
+  }
+
+  async function loadPatients() {
+    setLoading(true);
     try {
-      const data = await adminApi.getPatients(token);
-      setPatients(data);
+      const page = await fetchPage();
+      setPatients(page.items);
+      setNextCursor(page.nextCursor);
     } catch (error) {
       console.error("Erro ao carregar pacientes:", error);
     } finally {
@@ -32,9 +47,29 @@ export default function PacientesPage() {
     }
   }
 
-  const filteredPatients = patients.filter((p) =>
-    p.name.toLowerCase().includes(search.toLowerCase())
-  );
+  async function loadMore() {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    try {
+      const page = await fetchPage(nextCursor);
+      setPatients((current) => [...current, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error("Erro ao carregar pacientes:", error);
+    } finally {
+      setLoadingMore(false);
+    }
+  }
+
+  async function showContact(id: string) {
+    if (!token || contacts[id]) return;
+    try {
+      const patient = await adminApi.getPatient(token, id);
+      setContacts((current) => ({ ...current, [id]: patient }));
+    } catch (error) {
+      console.error("Erro ao carregar contato:", error);
+    }
+  }
 
   return (
     <div className="space-y-6">
@@ -60,31 +95,54 @@ export default function PacientesPage() {
             <div className="flex justify-center py-8">
               <Loader2 className="h-8 w-8 animate-spin text-primary" />
             </div>
-          ) : filteredPatients.length === 0 ? (
+          ) : patients.length === 0 ? (
             <p className="text-muted-foreground text-center py-8">
               Nenhum paciente encontrado
             </p>
           ) : (
             <div className="space-y-2">
-              {filteredPatients.map((patient) => (
-                <div
-                  key={patient.id}
-                  className="flex items-center justify-between p-4 border rounded-lg hover:bg-gray-50"
-                >
-                  <div>
-                    <p className="font-medium">{patient.name}</p>
-                    <p className="text-sm text-muted-foreground">
-                      {patient.anonymized ? "***" : formatPhoneDisplay(patient.phone)}
-                    </p>
-                    {patient.email && !patient.anonymized && (
-                      <p className="text-sm text-muted-foreground">{patient.email}</p>
+              {patients.map((patient) => {
+                const contact = contacts[patient.id];
+                return (
+                  <div
+                    key={patient.id}
+                    className="flex items-center justify-between p-4 border rounded-lg hover:bg-gray-50"
+                  >
+                    <div>
+                      <p className="font-medium">{patient.name}</p>
+                      {contact && !patient.anonymized && (
+                        <>
+                          {contact.phone && (
+                            <p className="text-sm text-muted-foreground">
+                              {formatPhoneDisplay(contact.phone)}
+                            </p>
+                          )}
+                          {contact.email && (
+                            <p className="text-sm text-muted-foreground">{contact.email}</p>
+                          )}
+                        </>
+                      )}
+                    </div>
+                    {patient.anonymized ? (
+                      <span className="text-xs text-muted-foreground">Anonimizado</span>
+                    ) : (
+                      !contact && (
+                        <Button variant="ghost" size="sm" onClick={() => showContact(patient.id)}>
+                          Ver contato
+                        </Button>
+                      )
                     )}
                   </div>
-                  {patient.anonymized && (
-                    <span className="text-xs text-muted-foreground">Anonimizado</span>
-                  )}
+                );
+              })}
+              {nextCursor && (
+                <div className="flex justify-center pt-2">
+                  <Button variant="outline" onClick={loadMore} disabled={loadingMore}>
+                    {loadingMore && <Loader2 className="h-4 w-4 mr-2 animate-spin" />}
+                    Carregar mais
+                  </Button>
                 </div>
-              ))}
+              )}
             </div>
           )}
         </CardContent>
@@ -9,14 +9,16 @@ import { useAuth } from "@/hooks/use-auth";
 import { adminApi, Payment } from "@/lib/api";
 import { useToast } from "@/hooks/use-toast";
 import { formatCurrency } from "@/lib/utils";
-import { Check, X, Loader2 } from "lucide-react";
+import { Check, X, Loader2, Download } from "lucide-react";
 
 export default function PagamentosPage() {
   const { token } = useAuth();
   const { toast } = useToast();
 
   const [payments, setPayments] = useState<Payment[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     loadPayments();
@@ -26,8 +28,9 @@ export default function PagamentosPage() {
     if (!token) return;
 
     try {
-      const data = await adminApi.getPendingPayments(token);
-      setPayments(data);
+      const page = await adminApi.getPendingPayments(token);
+      setPayments(page.items);
+      setNextCursor(page.nextCursor);
     } catch (error) {
       console.error("Erro ao carregar pagamentos:", error);
     } finally {
@@ -35,13 +38,33 @@ export default function PagamentosPage() {
     }
   }
 
+  async function loadMore() {
+    if (!token || !nextCursor) return;
+
+    setLoadingMore(true);
+    try {
+      const page = await adminApi.getPendingPayments(token, nextCursor);
+      setPayments((current) => [...current, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error("Erro ao carregar pagamentos:", error);
+    } finally {
+      setLoadingMore(false);
+    }
+  }
+
+  // A settled payment leaves the pending list; the pages already loaded stay as they are
+  function removePayment(appointmentId: string) {
+    setPayments((current) => current.filter((payment) => payment.appointmentId !== appointmentId));
+  }
+
   const handleMarkPaid = async (appointmentId: string) => {
     if (!token) return;
 
     try {
       await adminApi.markAsPaid(token, appointmentId);
       toast({ title: "Pagamento registrado" });
-      loadPayments();
+      removePayment(appointmentId);
     } catch (error: any) {
       toast({
         title: "Erro",
@@ -57,7 +80,7 @@ export default function PagamentosPage() {
     try {
       await adminApi.waivePayment(token, appointmentId, "Isencao");
       toast({ title: "Pagamento isento" });
-      loadPayments();
+      removePayment(appointmentId);
     } catch (error: any) {
       toast({
         title: "Erro",
@@ -67,15 +90,38 @@ export default function PagamentosPage() {
     }
   };
 
+  const handleExportYear = async () => {
+    if (!token) return;
+
+    const year = new Date().getFullYear();
+    try {
+      await adminApi.exportPayments(token, `${year}-01-01`, `${year + 1}-01-01`);
+    } catch (error: any) {
+      toast({
+        title: "Erro ao exportar",
+        description: error.message,
+        variant: "destructive",
+      });
+    }
+  };
+
   return (
     <div className="space-y-6">
-      <h1 className="text-2xl font-bold">Pagamentos Pendentes</h1>
+      <div className="flex items-center justify-between">
+        <h1 className="text-2xl font-bold">Pagamentos Pendentes</h1>
+        <Button variant="outline" onClick={handleExportYear}>
+          <Download className="h-4 w-4 mr-2" />
+          Exportar ano (CSV)
+        </Button>
+      </div>
 
       <Card>
         <CardHeader>
           <CardTitle>Pendentes</CardTitle>
           <CardDescription>
-            {payments.length} pagamento(s) aguardando
+            {nextCursor
+              ? `${payments.length} pagamento(s) carregados, há mais aguardando`
+              : `${payments.length} pagamento(s) aguardando`}
           </CardDescription>
         </CardHeader>
         <CardContent>
@@ -126,6 +172,14 @@ export default function PagamentosPage() {
                   </div>
                 </div>
               ))}
+              {nextCursor && (
+                <div className="flex justify-center pt-2">
+                  <Button variant="outline" onClick={loadMore} disabled={loadingMore}>
+                    {loadingMore && <Loader2 className="h-4 w-4 mr-2 animate-spin" />}
+                    Carregar mais
+                  </Button>
+                </div>
+              )}
             </div>
           )}
         </CardContent>
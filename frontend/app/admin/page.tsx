@@ -61,7 +61,15 @@ export default function AdminDashboardPage() {
 
   return (
     <div className="space-y-6">
-      <h1 className="text-2xl font-bold">Dashboard</h1>
+      <div className="flex items-baseline justify-between">
+        <h1 className="text-2xl font-bold">Dashboard</h1>
+        {dashboard && (
+          <p className="text-xs text-muted-foreground">
+            Atualizado às {format(new Date(dashboard.generatedAt), "HH:mm:ss", { locale: ptBR })}
+            {dashboard.cacheAgeMs >= 1000 && ` (há ${Math.round(dashboard.cacheAgeMs / 1000)}s)`}
+          </p>
+        )}
+      </div>
 
       {/* Stats */}
       <div className="grid gap-4 md:grid-cols-2 lg:grid-cols-4">
@@ -14,7 +14,7 @@ import {
 } from "@/components/ui/select";
 import { useAuth } from "@/hooks/use-auth";
 import { useToast } from "@/hooks/use-toast";
-import { adminApi, RecurringSeries, SessionType, Patient } from "@/lib/api";
+import { adminApi, RecurringSeries, SessionType, PatientSuggestion } from "@/lib/api";
 import {
   Plus,
   Trash2,
@@ -46,9 +46,13 @@ export default function RecorrenciasPage() {
   const { toast } = useToast();
 
   const [series, setSeries] = useState<RecurringSeries[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [sessionTypes, setSessionTypes] = useState<SessionType[]>([]);
-  const [patients, setPatients] = useState<Patient[]>([]);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
+  // Patients are looked up on the server as the admin types, never loaded as a whole
+  const [patientQuery, setPatientQuery] = useState("");
+  const [suggestions, setSuggestions] = useState<PatientSuggestion[]>([]);
   const [showForm, setShowForm] = useState(false);
   const [saving, setSaving] = useState(false);
   const [conflicts, setConflicts] = useState<string[]>([]);
@@ -67,18 +71,34 @@ export default function RecorrenciasPage() {
     loadData();
   }, [token]);
 
+  useEffect(() => {
+    const query = patientQuery.trim();
+    if (!token || !query || form.patientId) {
+      setSuggestions([]);
+      return;
+    }
+    // Wait for a pause in typing before asking the server
+    const timeout = setTimeout(async () => {
+      try {
+        setSuggestions(await adminApi.autocompletePatients(token, query));
+      } catch (error) {
+        console.error("Erro ao buscar pacientes:", error);
+      }
+    }, 300);
+    return () => clearTimeout(timeout);
+  }, [token, patientQuery, form.patientId]);
+
   async function loadData() {
     if (!token) return;
 
     try {
-      const [seriesData, typesData, patientsData] = await Promise.all([
+      const [seriesPage, typesData] = await Promise.all([
         adminApi.getRecurringSeries(token),
         adminApi.getSessionTypes(token),
-        adminApi.getPatients(token),
       ]);
-      setSeries(seriesData);
+      setSeries(seriesPage.items);
+      setNextCursor(seriesPage.nextCursor);
       setSessionTypes(typesData.filter((t) => t.active));
-      setPatients(patientsData);
     } catch (error) {
       console.error("Erro ao carregar dados:", error);
     } finally {
@@ -86,6 +106,27 @@ export default function RecorrenciasPage() {
     }
   }
 
+  async function loadMore() {
+    if (!token || !nextCursor) return;
+
+    setLoadingMore(true);
+    try {
+      const page = await adminApi.getRecurringSeries(token, nextCursor);
+      setSeries((current) => [...current, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error("Erro ao carregar séries:", error);
+    } finally {
+      setLoadingMore(false);
+    }
+  }
+
+  function selectPatient(patient: PatientSuggestion) {
+    setForm({ ...form, patientId: patient.id });
+    setPatientQuery(patient.name);
+    setSuggestions([]);
+  }
+
   function resetForm() {
     setForm({
       patientId: "",
@@ -96,6 +137,7 @@ export default function RecorrenciasPage() {
       startDate: format(addDays(new Date(), 1), "yyyy-MM-dd"),
       endDate: format(addDays(new Date(), 90), "yyyy-MM-dd"),
     });
+    setPatientQuery("");
     setConflicts([]);
     setShowForm(false);
   }
@@ -202,8 +244,8 @@ export default function RecorrenciasPage() {
     return FREQUENCIES.find((f) => f.value === freq)?.label || freq;
   }
 
-  function getPatientName(id: string) {
-    return patients.find((p) => p.id === id)?.name || "Paciente não encontrado";
+  function getPatientName(s: RecurringSeries) {
+    return s.patient?.name || "Paciente não encontrado";
   }
 
   function getSessionTypeName(id: string) {
@@ -231,22 +273,33 @@ export default function RecorrenciasPage() {
             <form onSubmit={handleSubmit} className="space-y-4">
               <div className="grid grid-cols-1 md:grid-cols-2 gap-4">
                 <div className="space-y-2">
-                  <Label>Paciente</Label>
-                  <Select
-                    value={form.patientId}
-                    onValueChange={(v) => setForm({ ...form, patientId: v })}
-                  >
-                    <SelectTrigger>
-                      <SelectValue placeholder="Selecione o paciente" />
-                    </SelectTrigger>
-                    <SelectContent>
-                      {patients.map((p) => (
-                        <SelectItem key={p.id} value={p.id}>
-                          {p.name}
-                        </SelectItem>
-                      ))}
-                    </SelectContent>
-                  </Select>
+                  <Label htmlFor="patient">Paciente</Label>
+                  <div className="relative">
+                    <Input
+                      id="patient"
+                      placeholder="Digite o nome do paciente..."
+                      autoComplete="off"
+                      value={patientQuery}
+                      onChange={(e) => {
+                        setPatientQuery(e.target.value);
+                        setForm({ ...form, patientId: "" });
+                      }}
+                    />
+                    {suggestions.length > 0 && (
+                      <div className="absolute z-10 mt-1 w-full rounded-md border bg-white shadow-md">
+                        {suggestions.map((p) => (
+                          <button
+                            key={p.id}
+                            type="button"
+                            className="block w-full px-3 py-2 text-left text-sm hover:bg-gray-50"
+                            onClick={() => selectPatient(p)}
+                          >
+                            {p.name}
+                          </button>
+                        ))}
+                      </div>
+                    )}
+                  </div>
                 </div>
 
                 <div className="space-y-2">
@@ -408,7 +461,7 @@ export default function RecorrenciasPage() {
                   <div className="flex items-center gap-4">
                     <RefreshCw className="h-5 w-5 text-primary" />
                     <div>
-                      <p className="font-medium">{getPatientName(s.patientId)}</p>
+                      <p className="font-medium">{getPatientName(s)}</p>
                       <p className="text-sm text-muted-foreground">
                         {getSessionTypeName(s.sessionTypeId)} •{" "}
                         {getDayLabel(s.dayOfWeek)} às {s.startTime || s.time}
@@ -441,6 +494,14 @@ export default function RecorrenciasPage() {
                   </div>
                 </div>
               ))}
+              {nextCursor && (
+                <div className="flex justify-center pt-2">
+                  <Button variant="outline" onClick={loadMore} disabled={loadingMore}>
+                    {loadingMore && <Loader2 className="h-4 w-4 mr-2 animate-spin" />}
+                    Carregar mais
+                  </Button>
+                </div>
+              )}
             </div>
           )}
         </CardContent>
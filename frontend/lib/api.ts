@@ -36,6 +36,34 @@ async function fetchApi<T>(
   return response.json();
 }
 
+// Appends the cursor of the page to fetch, if any, to a cursor-paginated admin list
+function withCursor(endpoint: string, cursor?: string): string {
+  if (!cursor) return endpoint;
+  const separator = endpoint.includes("?") ? "&" : "?";
+  return `${endpoint}${separator}cursor=${encodeURIComponent(cursor)}`;
+}
+
+// Downloads a streamed export as a file, named by the server's Content-Disposition
+async function downloadFile(endpoint: string, token: string, fallbackName: string): Promise<void> {
+  const response = await fetch(`${API_URL}${endpoint}`, {
+    headers: { Authorization: `Bearer ${token}` },
+  });
+
+  if (!response.ok) {
+    const error = await response.json().catch(() => ({ message: "Erro desconhecido" }));
+    throw new Error(error.message || `HTTP ${response.status}`);
+  }
+
+  const disposition = response.headers.get("Content-Disposition") || "";
+  const filename = /filename="?([^";]+)"?/.exec(disposition)?.[1] || fallbackName;
+  const url = URL.createObjectURL(await response.blob());
+  const link = document.createElement("a");
+  link.href = url;
+  link.download = filename;
+  link.click();
+  URL.revokeObjectURL(url);
+}
+
 // Public API
 export const publicApi = {
   getSessionTypes: () =>
@@ -98,9 +126,10 @@ export const adminApi = {
     fetchApi<Dashboard>("/api/admin/dashboard", { token }),
 
   // Appointments
-  getAppointments: (token: string, start: string, end: string, includeAll = false) =>
-    fetchApi<Appointment[]>(
-      `/api/admin/appointments?start=${start}&end=${end}&includeAll=${includeAll}`,
+  // One page of the appointments in [start, end]; the agenda asks for a single day
+  getAppointments: (token: string, start: string, end: string, includeAll = false, cursor?: string) =>
+    fetchApi<CursorPage<Appointment>>(
+      withCursor(`/api/admin/appointments?start=${start}&end=${end}&includeAll=${includeAll}&limit=100`, cursor),
       { token }
     ),
 
@@ -187,8 +216,8 @@ export const adminApi = {
     }),
 
   // Recurrence
-  getRecurringSeries: (token: string) =>
-    fetchApi<RecurringSeries[]>("/api/admin/recurrence", { token }),
+  getRecurringSeries: (token: string, cursor?: string) =>
+    fetchApi<CursorPage<RecurringSeries>>(withCursor("/api/admin/recurrence?limit=50", cursor), { token }),
 
   getRecurringSeriesById: (token: string, id: string) =>
     fetchApi<RecurringSeries>(`/api/admin/recurrence/${id}`, { token }),
@@ -227,15 +256,47 @@ export const adminApi = {
     }),
 
   // Payments
-  getPendingPayments: (token: string) =>
-    fetchApi<Payment[]>("/api/admin/payments/pending", { token }),
+  exportPayments: (token: string, start: string, end: string, gzip = false) =>
+    downloadFile(
+      `/api/admin/exports/payments?start=${start}&end=${end}&gzip=${gzip}`,
+      token,
+      `pagamentos_${start}_${end}.csv`
+    ),
 
-  markAsPaid: (token: string, appointmentId: string, receiptNumber?: string) =>
-    fetchApi<Payment>(
-      `/api/admin/payments/appointment/${appointmentId}/mark-paid${receiptNumber ? `?receiptNumber=${receiptNumber}` : ""}`,
-      { method: "POST", token }
+  exportAppointments: (token: string, start: string, end: string, gzip = false) =>
+    downloadFile(
+      `/api/admin/exports/appointments?start=${start}&end=${end}&gzip=${gzip}`,
+      token,
+      `agendamentos_${start}_${end}.csv`
     ),
 
+  getPendingPayments: (token: string, cursor?: string) =>
+    fetchApi<CursorPage<Payment>>(withCursor("/api/admin/payments/pending?limit=50", cursor), { token }),
+
+  markAsPaid: (token: string, appointmentId: string, receiptNumber?: string, paymentMethod?: PaymentMethod) => {
+    const params = new URLSearchParams();
+    if (receiptNumber) params.set("receiptNumber", receiptNumber);
+    if (paymentMethod) params.set("paymentMethod", paymentMethod);
+    const query = params.toString();
+    return fetchApi<Payment>(
+      `/api/admin/payments/appointment/${appointmentId}/mark-paid${query ? `?${query}` : ""}`,
+      { method: "POST", token }
+    );
+  },
+
+  // Days in [from, to), as yyyy-MM-dd
+  getOccupancy: (token: string, from: string, to: string) =>
+    fetchApi<Occupancy>(`/api/admin/reports/occupancy?from=${from}&to=${to}`, { token }),
+
+  // from/to as yyyy-MM; defaults to the current year up to this month
+  getFinancialReport: (token: string, from?: string, to?: string) => {
+    const params = new URLSearchParams();
+    if (from) params.set("from", from);
+    if (to) params.set("to", to);
+    const query = params.toString();
+    return fetchApi<FinancialReport>(`/api/admin/reports/financial${query ? `?${query}` : ""}`, { token });
+  },
+
   waivePayment: (token: string, appointmentId: string, reason?: string) =>
     fetchApi<Payment>(
       `/api/admin/payments/appointment/${appointmentId}/waive${reason ? `?reason=${reason}` : ""}`,
@@ -243,11 +304,24 @@ export const adminApi = {
     ),
 
   // Patients
-  getPatients: (token: string) =>
-    fetchApi<Patient[]>("/api/admin/patients", { token }),
+  // One page of patients by name, without contact data
+  getPatientsPage: (token: string, cursor?: string) =>
+    fetchApi<CursorPage<Patient>>(withCursor("/api/admin/patients?limit=50", cursor), { token }),
+
+  getPatient: (token: string, id: string) =>
+    fetchApi<Patient>(`/api/admin/patients/${id}`, { token }),
 
-  searchPatients: (token: string, name: string) =>
-    fetchApi<Patient[]>(`/api/admin/patients/search?name=${encodeURIComponent(name)}`, { token }),
+  autocompletePatients: (token: string, query: string, limit = 10) =>
+    fetchApi<PatientSuggestion[]>(
+      `/api/admin/patients/autocomplete?q=${encodeURIComponent(query)}&limit=${limit}`,
+      { token }
+    ),
+
+  searchPatients: (token: string, name: string, cursor?: string) =>
+    fetchApi<CursorPage<Patient>>(
+      withCursor(`/api/admin/patients/search?name=${encodeURIComponent(name)}`, cursor),
+      { token }
+    ),
 };
 
 // Types
@@ -302,10 +376,22 @@ export interface BookingConfirmation {
   message: string;
 }
 
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
+export interface PatientSuggestion {
+  id: string;
+  name: string;
+}
+
 export interface Patient {
   id: string;
   name: string;
-  phone: string;
+  // Left out of list and search results; load the patient to get them
+  phone?: string;
   email?: string;
   active: boolean;
   anonymized: boolean;
@@ -353,11 +439,75 @@ export interface Payment {
   status: PaymentStatus;
   amount: number;
   paidAt?: string;
+  paymentMethod?: PaymentMethod;
   receiptNumber?: string;
   notes?: string;
   appointment?: Appointment;
 }
 
+export type PaymentMethod = "PIX" | "CASH" | "CREDIT_CARD" | "DEBIT_CARD" | "BANK_TRANSFER" | "OTHER";
+
+export interface RevenueShare {
+  key: string;
+  revenue: number;
+  payments: number;
+  share: number;
+}
+
+export interface OccupancyCell {
+  dayOfWeek: DayOfWeek;
+  hour: number;
+  availableMinutes: number;
+  bookedMinutes: number;
+  occupiedMinutes: number;
+  utilization: number;
+  appointments: number;
+  cancellationRate: number;
+  noShowRate: number;
+}
+
+export interface Occupancy {
+  from: string;
+  to: string;
+  availableMinutes: number;
+  bookedMinutes: number;
+  occupiedMinutes: number;
+  utilization: number;
+  cells: OccupancyCell[];
+}
+
+export interface FinancialReport {
+  from: string;
+  to: string;
+  totalRevenue: number;
+  months: {
+    month: string;
+    revenue: number;
+    payments: number;
+    cumulativeRevenue: number;
+    previousYearRevenue: number;
+  }[];
+  bySessionType: RevenueShare[];
+  byPaymentMethod: RevenueShare[];
+  totalReceivables: number;
+  receivablesAging: {
+    range: string;
+    payments: number;
+    amount: number;
+    share: number;
+  }[];
+  patientBalances: {
+    rank: number;
+    patientId: string;
+    patientName: string;
+    sessions: number;
+    outstanding: number;
+    oldestDays: number;
+    cumulativeShare: number;
+  }[];
+  generatedAt: string;
+}
+
 export interface AuthResponse {
   accessToken: string;
   refreshToken: string;
@@ -379,6 +529,8 @@ export interface Dashboard {
     pendingPayments: number;
     revenueThisMonth: number;
   };
+  generatedAt: string;
+  cacheAgeMs: number;
 }
 
 export interface Availability {